@@ -47,7 +47,7 @@ public class ActionTimer {
      * @param deltaTime time difference between update calls.
      */
     void update(long deltaTime) {
-        if (!this.enabled) {
+        if (!this.enabled || this.closed) {
             return;
         }
 
@@ -104,6 +104,22 @@ public class ActionTimer {
         return this.elapsedTime;
     }
 
+    /**
+     * Specifies the elapsed time, e.g. when restoring a suspended timer.
+     * @param elapsedTime the elapsed time.
+     */
+    public void setElapsedTime(long elapsedTime) {
+        this.elapsedTime = elapsedTime;
+    }
+
+    /**
+     * Gets the interval.
+     * @return a long containing the interval.
+     */
+    public long getInterval() {
+        return this.interval;
+    }
+
     /**
      * Closes the timer and prevents it from running again.
      */
@@ -113,6 +129,8 @@ public class ActionTimer {
         }
         owner.remove(this);
         this.closed = true;
+        // Release the task and everything it references.
+        this.elapsed = null;
     }
 
     /**
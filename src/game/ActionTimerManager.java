@@ -4,6 +4,8 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.concurrent.Callable;
 
+import game.entities.Sprite;
+
 /**
  * This class is responsible for adding, removing, updating,
  * starting, and stopping action timers.
@@ -21,6 +23,10 @@ public class ActionTimerManager {
     private long lastUpdateTime;
     /** Whether this manager should process updates. */
     private boolean enabled;
+    /** Whether the next update should not advance the timers. */
+    private boolean resyncPending;
+    /** The number of live timers as of the last update. */
+    private volatile int timerCount;
 
     /**
      * Constructs an empty instance of ActionTimerManager.
@@ -31,6 +37,8 @@ public class ActionTimerManager {
         this.pendingRemoves = new ArrayList<ActionTimer>();
         this.lastUpdateTime = 0;
         this.enabled = true;
+        this.resyncPending = false;
+        this.timerCount = 0;
     }
 
     /**
@@ -56,6 +64,22 @@ public class ActionTimerManager {
         return action;
     }
 
+    /**
+     * Adds an action timer that is closed once the given sprite
+     * is removed.
+     * @param interval the time to wait before the task is invoked.
+     * @param autoReset determines if the timer should reset after completion.
+     * @param elapsed task invoked when time is up.
+     * @param owner the Sprite object whose lifetime bounds the timer.
+     * @return an ActionTimer object.
+     */
+    public synchronized ActionTimer add(long interval, boolean autoReset,
+            Callable<Boolean> elapsed, Sprite owner) {
+        ActionTimer action = this.add(interval, autoReset, elapsed);
+        owner.bindTimer(action);
+        return action;
+    }
+
     /**
      * Adds multiple action timers from the specified collection.
      * @param actions a collection containing action timers.
@@ -101,6 +125,15 @@ public class ActionTimerManager {
         this.enabled = true;
     }
 
+    /**
+     * Makes the next update only record its time without advancing the
+     * timers. This is used when the owning scene becomes current again,
+     * so the time it spent inactive isn't counted.
+     */
+    public synchronized void resync() {
+        this.resyncPending = true;
+    }
+
     /**
      * Updates the state of all action timers.
      * @param now The timestamp of the current frame given in nanoseconds.
@@ -108,6 +141,10 @@ public class ActionTimerManager {
     public synchronized void update(long now) {
         // Pass the delta time when updating action timers.
         long deltaTime = (now - this.lastUpdateTime);
+        if (this.resyncPending) {
+            deltaTime = 0;
+            this.resyncPending = false;
+        }
         if (this.enabled) {
             for (ActionTimer action : this.actions) {
                 action.update(deltaTime);
@@ -127,6 +164,16 @@ public class ActionTimerManager {
             this.actions.removeAll(this.pendingRemoves);
             this.pendingRemoves.clear();
         }
+
+        this.timerCount = this.actions.size();
+    }
+
+    /**
+     * Retrieves the number of live action timers as of the last update.
+     * @return an integer.
+     */
+    public int getTimerCount() {
+        return this.timerCount;
     }
 
 }
@@ -0,0 +1,177 @@
+package game;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This utility class runs file reads and writes on a single background
+ * thread so that they never stall the FX thread. Writes to the same
+ * file are coalesced, and each write replaces the target file
+ * atomically so that a crash never leaves a truncated file behind.
+ */
+public final class BackgroundIO {
+
+    /** The time to wait for pending writes when the game exits. */
+    private static final long SHUTDOWN_TIMEOUT =
+            TimeUnit.SECONDS.toMillis(2);
+
+    /** The executor running all background file operations. */
+    private static final ExecutorService EXECUTOR =
+            Executors.newSingleThreadExecutor(new ThreadFactory() {
+                @Override
+                public Thread newThread(Runnable r) {
+                    Thread thread = new Thread(r, "background-io");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+    /** The latest data waiting to be written, keyed by file path. */
+    private static final ConcurrentHashMap<Path, byte[]> PENDING_WRITES =
+            new ConcurrentHashMap<Path, byte[]>();
+
+    static {
+        // Give pending writes a chance to finish when the game exits.
+        Runtime.getRuntime().addShutdownHook(new Thread(new Runnable() {
+            @Override
+            public void run() {
+                BackgroundIO.flush(SHUTDOWN_TIMEOUT);
+            }
+        }, "background-io-shutdown"));
+    }
+
+    /**
+     * Runs the given task on the background thread, after all
+     * previously submitted reads and writes.
+     * @param <T> the result type of the task.
+     * @param task a Callable object.
+     * @return a Future object holding the result of the task.
+     */
+    public static <T> Future<T> submit(Callable<T> task) {
+        return EXECUTOR.submit(task);
+    }
+
+    /**
+     * Schedules the given data to be written to the given file. If an
+     * earlier write to the same file hasn't started yet, it is replaced
+     * by this one.
+     * @param path the path of the target file.
+     * @param data the complete file contents.
+     */
+    public static void write(Path path, byte[] data) {
+        Path target = path.toAbsolutePath();
+        // Only schedule a task if there isn't a pending one already;
+        // the pending task picks up the most recent data.
+        if (PENDING_WRITES.put(target, data) != null) {
+            return;
+        }
+        EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                byte[] latest = PENDING_WRITES.remove(target);
+                if (latest == null) {
+                    return;
+                }
+                try {
+                    writeAtomically(target, latest);
+                } catch (IOException e) {
+                    System.out.println("Failed to write " + target + ".");
+                    if (Game.DEBUG_MODE) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Schedules the given file to be deleted, after all previously
+     * submitted reads and writes. A pending write to the same file is
+     * dropped.
+     * @param path the path of the target file.
+     */
+    public static void delete(Path path) {
+        Path target = path.toAbsolutePath();
+        PENDING_WRITES.remove(target);
+        EXECUTOR.execute(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    Files.deleteIfExists(target);
+                } catch (IOException e) {
+                    System.out.println("Failed to delete " + target + ".");
+                    if (Game.DEBUG_MODE) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Waits for all previously scheduled operations to finish.
+     * @param timeoutMillis the maximum time to wait in milliseconds.
+     * @return a boolean indicating if all operations finished in time.
+     */
+    public static boolean flush(long timeoutMillis) {
+        Future<Boolean> marker = submit(new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                return true;
+            }
+        });
+        try {
+            return marker.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    /**
+     * Writes the given data to a temporary file, flushes it to disk,
+     * and renames it to the target file.
+     * @param target the path of the target file.
+     * @param data the complete file contents.
+     * @throws IOException if the file couldn't be written.
+     */
+    private static void writeAtomically(Path target, byte[] data)
+            throws IOException {
+        Path directory = target.getParent();
+        Path temp = Files.createTempFile(directory,
+                target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temp,
+                    StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer buffer = ByteBuffer.wrap(data);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                channel.force(true);
+            }
+            try {
+                Files.move(temp, target,
+                        StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target,
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+}
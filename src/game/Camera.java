@@ -0,0 +1,112 @@
+package game;
+
+import game.entities.Sprite;
+import javafx.geometry.Rectangle2D;
+
+/**
+ * This class represents the part of the level map that is visible
+ * in the game window. Its position is always kept inside the world.
+ */
+public final class Camera {
+
+    /** The x-coordinate position of the viewport in the world. */
+    private int x;
+    /** The y-coordinate position of the viewport in the world. */
+    private int y;
+    /** The width of the viewport. */
+    private int viewportWidth;
+    /** The height of the viewport. */
+    private int viewportHeight;
+    /** The width of the world. */
+    private int worldWidth;
+    /** The height of the world. */
+    private int worldHeight;
+
+    /**
+     * Constructs an instance of Camera with a window-sized viewport
+     * positioned at the origin.
+     * @param worldWidth the width of the world.
+     * @param worldHeight the height of the world.
+     */
+    public Camera(int worldWidth, int worldHeight) {
+        this.x = 0;
+        this.y = 0;
+        this.viewportWidth = Game.WINDOW_MAX_WIDTH;
+        this.viewportHeight = Game.WINDOW_MAX_HEIGHT;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+    }
+
+    /**
+     * Moves the viewport to the given position, keeping it inside
+     * the world.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     */
+    public void moveTo(int x, int y) {
+        this.x = Math.max(0,
+                Math.min(x, this.worldWidth - this.viewportWidth));
+        this.y = Math.max(0,
+                Math.min(y, this.worldHeight - this.viewportHeight));
+    }
+
+    /**
+     * Centers the viewport on the given sprite.
+     * @param target a Sprite object.
+     */
+    public void follow(Sprite target) {
+        Rectangle2D bounds = target.getBounds();
+        this.moveTo(
+                (int) (bounds.getMinX() + (bounds.getWidth() / 2))
+                    - (this.viewportWidth / 2),
+                (int) (bounds.getMinY() + (bounds.getHeight() / 2))
+                    - (this.viewportHeight / 2));
+    }
+
+    /**
+     * Checks whether the given area is inside the viewport, including
+     * the given margin around it.
+     * @param area a Rectangle2D object.
+     * @param margin extra space around the viewport.
+     * @return a boolean.
+     */
+    public boolean isVisible(Rectangle2D area, int margin) {
+        return area.getMaxX() > this.x - margin
+                && area.getMinX() < this.x + this.viewportWidth + margin
+                && area.getMaxY() > this.y - margin
+                && area.getMinY() < this.y + this.viewportHeight + margin;
+    }
+
+    /**
+     * Retrieves the x-coordinate position of the viewport.
+     * @return an integer.
+     */
+    public int getX() {
+        return this.x;
+    }
+
+    /**
+     * Retrieves the y-coordinate position of the viewport.
+     * @return an integer.
+     */
+    public int getY() {
+        return this.y;
+    }
+
+    /**
+     * Retrieves the width of the viewport.
+     * @return an integer.
+     */
+    public int getViewportWidth() {
+        return this.viewportWidth;
+    }
+
+    /**
+     * Retrieves the height of the viewport.
+     * @return an integer.
+     */
+    public int getViewportHeight() {
+        return this.viewportHeight;
+    }
+
+}
@@ -0,0 +1,185 @@
+package game;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * This class keeps track of the parts of the canvas that changed since
+ * the last repaint. Damaged areas are merged into a single bounding
+ * rectangle, which is clamped to the window and snapped to whole pixels.
+ */
+public final class DirtyRegion {
+
+    /** Extra space added around each damaged area (e.g., for strokes). */
+    private static final int DAMAGE_PADDING = 2;
+
+    /** Region bounds: minimum x-coordinate. */
+    private double minX;
+    /** Region bounds: minimum y-coordinate. */
+    private double minY;
+    /** Region bounds: maximum x-coordinate. */
+    private double maxX;
+    /** Region bounds: maximum y-coordinate. */
+    private double maxY;
+    /** Whether no area was damaged. */
+    private boolean empty;
+    /** Whether the whole canvas was damaged. */
+    private boolean full;
+
+    /**
+     * Constructs an instance of DirtyRegion with the whole canvas damaged.
+     */
+    public DirtyRegion() {
+        this.markAll();
+    }
+
+    /**
+     * Marks the given area as damaged.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     * @param width the width of the area.
+     * @param height the height of the area.
+     */
+    public void add(double x, double y, double width, double height) {
+        if (this.full || width <= 0 || height <= 0) {
+            return;
+        }
+        double newMinX = Math.max(Game.WINDOW_MIN_WIDTH,
+                Math.floor(x) - DAMAGE_PADDING);
+        double newMinY = Math.max(Game.WINDOW_MIN_HEIGHT,
+                Math.floor(y) - DAMAGE_PADDING);
+        double newMaxX = Math.min(Game.WINDOW_MAX_WIDTH,
+                Math.ceil(x + width) + DAMAGE_PADDING);
+        double newMaxY = Math.min(Game.WINDOW_MAX_HEIGHT,
+                Math.ceil(y + height) + DAMAGE_PADDING);
+        // The area is completely outside the window.
+        if (newMinX >= newMaxX || newMinY >= newMaxY) {
+            return;
+        }
+
+        if (this.empty) {
+            this.minX = newMinX;
+            this.minY = newMinY;
+            this.maxX = newMaxX;
+            this.maxY = newMaxY;
+            this.empty = false;
+        } else {
+            this.minX = Math.min(this.minX, newMinX);
+            this.minY = Math.min(this.minY, newMinY);
+            this.maxX = Math.max(this.maxX, newMaxX);
+            this.maxY = Math.max(this.maxY, newMaxY);
+        }
+    }
+
+    /**
+     * Marks the given area as damaged.
+     * @param area a Rectangle2D object.
+     */
+    public void add(Rectangle2D area) {
+        if (area == null) {
+            return;
+        }
+        this.add(area.getMinX(), area.getMinY(),
+                area.getWidth(), area.getHeight());
+    }
+
+    /**
+     * Marks the whole canvas as damaged.
+     */
+    public void markAll() {
+        this.minX = Game.WINDOW_MIN_WIDTH;
+        this.minY = Game.WINDOW_MIN_HEIGHT;
+        this.maxX = Game.WINDOW_MAX_WIDTH;
+        this.maxY = Game.WINDOW_MAX_HEIGHT;
+        this.empty = false;
+        this.full = true;
+    }
+
+    /**
+     * Marks the whole canvas as clean.
+     */
+    public void clear() {
+        this.empty = true;
+        this.full = false;
+    }
+
+    /**
+     * Checks whether the given area overlaps the damaged area.
+     * @param area a Rectangle2D object.
+     * @return a boolean.
+     */
+    public boolean intersects(Rectangle2D area) {
+        if (this.empty) {
+            return false;
+        }
+        if (this.full) {
+            return true;
+        }
+        return area.getMaxX() > this.minX && area.getMinX() < this.maxX
+                && area.getMaxY() > this.minY && area.getMinY() < this.maxY;
+    }
+
+    /**
+     * Retrieves whether no area was damaged.
+     * @return a boolean.
+     */
+    public boolean isEmpty() {
+        return this.empty;
+    }
+
+    /**
+     * Retrieves whether the whole canvas was damaged.
+     * @return a boolean.
+     */
+    public boolean isFull() {
+        return this.full;
+    }
+
+    /**
+     * Retrieves the minimum x-coordinate of the damaged area.
+     * @return a double.
+     */
+    public double getMinX() {
+        return this.minX;
+    }
+
+    /**
+     * Retrieves the minimum y-coordinate of the damaged area.
+     * @return a double.
+     */
+    public double getMinY() {
+        return this.minY;
+    }
+
+    /**
+     * Retrieves the maximum x-coordinate of the damaged area.
+     * @return a double.
+     */
+    public double getMaxX() {
+        return this.maxX;
+    }
+
+    /**
+     * Retrieves the maximum y-coordinate of the damaged area.
+     * @return a double.
+     */
+    public double getMaxY() {
+        return this.maxY;
+    }
+
+    /**
+     * Retrieves the width of the damaged area.
+     * @return a double.
+     */
+    public double getWidth() {
+        return this.empty ? 0 : this.maxX - this.minX;
+    }
+
+    /**
+     * Retrieves the height of the damaged area.
+     * @return a double.
+     */
+    public double getHeight() {
+        return this.empty ? 0 : this.maxY - this.minY;
+    }
+
+}
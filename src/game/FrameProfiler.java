@@ -0,0 +1,205 @@
+package game;
+
+import java.lang.management.ManagementFactory;
+
+import com.sun.management.ThreadMXBean;
+
+/**
+ * This class measures the memory allocated and the time spent by each
+ * phase of a frame on a single thread. The game marks its phases through the static
+ * {@link #begin(int)} and {@link #end()} methods, which do nothing
+ * unless a profiler was started on the calling thread. Phases may be
+ * nested; memory allocated by a nested phase isn't counted towards the
+ * enclosing phase.
+ */
+public final class FrameProfiler {
+
+    /** Phase: updating action timers. */
+    public static final int PHASE_TIMERS = 0;
+    /** Phase: updating entities, apart from their collision tests. */
+    public static final int PHASE_ENTITIES = 1;
+    /** Phase: collision tests. */
+    public static final int PHASE_COLLISION = 2;
+    /** Phase: updating the status overlay and motes. */
+    public static final int PHASE_OVERLAY = 3;
+    /** Total number of phases. */
+    public static final int TOTAL_PHASES = 4;
+
+    /** The name of each phase. */
+    private static final String[] PHASE_NAMES = {
+            "timers",
+            "entities",
+            "collision",
+            "overlay",
+    };
+    /** The deepest supported nesting of phases. */
+    private static final int MAX_DEPTH = 8;
+
+    /** The profiler that phases are currently reported to, or null. */
+    private static FrameProfiler active = null;
+
+    /** Source of the per-thread allocation counters. */
+    private final ThreadMXBean threads;
+    /** The thread being profiled. */
+    private final Thread owner;
+    /** Bytes allocated by each phase since the last reset. */
+    private final long[] phaseBytes;
+    /** Time spent by each phase since the last reset, in nanoseconds. */
+    private final long[] phaseTimes;
+    /** The phases currently entered, innermost last. */
+    private final int[] stack;
+    /** The number of phases currently entered. */
+    private int depth;
+    /** The allocation counter when the innermost phase last changed. */
+    private long mark;
+    /** The time when the innermost phase last changed. */
+    private long timeMark;
+
+    /**
+     * Constructs an instance of FrameProfiler for the calling thread.
+     */
+    private FrameProfiler() {
+        this.threads = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+        this.owner = Thread.currentThread();
+        this.phaseBytes = new long[TOTAL_PHASES];
+        this.phaseTimes = new long[TOTAL_PHASES];
+        this.stack = new int[MAX_DEPTH];
+        this.depth = 0;
+        this.mark = 0;
+        this.timeMark = 0;
+    }
+
+    /**
+     * Starts profiling the calling thread, replacing any profiler that
+     * was already started.
+     * @return a FrameProfiler object.
+     * @throws UnsupportedOperationException if the JVM can't measure
+     *                                       allocations per thread.
+     */
+    public static FrameProfiler start() {
+        FrameProfiler profiler = new FrameProfiler();
+        if (!profiler.threads.isThreadAllocatedMemorySupported()) {
+            throw new UnsupportedOperationException(
+                    "Thread allocation measurement is not supported.");
+        }
+        profiler.threads.setThreadAllocatedMemoryEnabled(true);
+        FrameProfiler.active = profiler;
+        return profiler;
+    }
+
+    /**
+     * Stops profiling.
+     */
+    public static void stop() {
+        FrameProfiler.active = null;
+    }
+
+    /**
+     * Marks the start of a phase on the calling thread.
+     * @param phase the phase (constant).
+     */
+    public static void begin(int phase) {
+        FrameProfiler profiler = FrameProfiler.active;
+        if (profiler != null && profiler.owner == Thread.currentThread()) {
+            profiler.push(phase);
+        }
+    }
+
+    /**
+     * Marks the end of the innermost phase on the calling thread.
+     */
+    public static void end() {
+        FrameProfiler profiler = FrameProfiler.active;
+        if (profiler != null && profiler.owner == Thread.currentThread()) {
+            profiler.pop();
+        }
+    }
+
+    /**
+     * Enters a phase, charging the memory allocated and the time spent
+     * so far to the enclosing phase.
+     * @param phase the phase (constant).
+     */
+    private void push(int phase) {
+        long now = this.getAllocatedBytes();
+        long time = System.nanoTime();
+        if (this.depth > 0 && this.depth <= MAX_DEPTH) {
+            int enclosing = this.stack[this.depth - 1];
+            this.phaseBytes[enclosing] += now - this.mark;
+            this.phaseTimes[enclosing] += time - this.timeMark;
+        }
+        if (this.depth < MAX_DEPTH) {
+            this.stack[this.depth] = phase;
+        }
+        this.depth++;
+        this.mark = now;
+        this.timeMark = time;
+    }
+
+    /**
+     * Leaves the innermost phase, charging the memory allocated and the
+     * time spent within it to that phase.
+     */
+    private void pop() {
+        if (this.depth == 0) {
+            return;
+        }
+        long now = this.getAllocatedBytes();
+        long time = System.nanoTime();
+        this.depth--;
+        if (this.depth < MAX_DEPTH) {
+            this.phaseBytes[this.stack[this.depth]] += now - this.mark;
+            this.phaseTimes[this.stack[this.depth]] += time - this.timeMark;
+        }
+        this.mark = now;
+        this.timeMark = time;
+    }
+
+    /**
+     * Retrieves the number of bytes allocated by the profiled thread
+     * since it started.
+     * @return a long.
+     */
+    public long getAllocatedBytes() {
+        return this.threads.getCurrentThreadAllocatedBytes();
+    }
+
+    /**
+     * Retrieves the number of bytes allocated by the given phase since
+     * the last reset.
+     * @param phase the phase (constant).
+     * @return a long.
+     */
+    public long getPhaseBytes(int phase) {
+        return this.phaseBytes[phase];
+    }
+
+    /**
+     * Retrieves the time spent by the given phase since the last reset.
+     * @param phase the phase (constant).
+     * @return a long containing the time in nanoseconds.
+     */
+    public long getPhaseTime(int phase) {
+        return this.phaseTimes[phase];
+    }
+
+    /**
+     * Clears the bytes and time counted for all phases.
+     */
+    public void reset() {
+        for (int i = 0; i < TOTAL_PHASES; i++) {
+            this.phaseBytes[i] = 0;
+            this.phaseTimes[i] = 0;
+        }
+    }
+
+    /**
+     * Retrieves the name of the given phase.
+     * @param phase the phase (constant).
+     * @return a String object.
+     */
+    public static String getPhaseName(int phase) {
+        return PHASE_NAMES[phase];
+    }
+
+}
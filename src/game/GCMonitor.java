@@ -0,0 +1,300 @@
+package game;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+
+import game.render.Renderer;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+
+/**
+ * This class listens for garbage collections and records their pauses
+ * and the heap occupancy after each of them. Frames that take longer
+ * than their budget are recorded as spikes, and a spike is tagged if it
+ * overlaps a collection pause. This tells apart spikes caused by the
+ * collector from those caused by the game logic or the JIT compiler.
+ * @implNote Collections are reported on a separate thread, usually after
+ *           the frame they overlapped has ended, so both spikes and
+ *           pauses are matched against the recent entries of the other.
+ */
+public final class GCMonitor {
+
+    /** The area covered by the debug overlay. */
+    public static final Rectangle2D OVERLAY_BOUNDS =
+            new Rectangle2D(4, 4, 320, 64);
+
+    /** The number of recent pauses and spikes kept for matching. */
+    private static final int HISTORY_SIZE = 64;
+    /** The font of the debug overlay. */
+    private static final Font OVERLAY_FONT = Font.font("Monospaced", 12);
+    /** The line height of the debug overlay. */
+    private static final int OVERLAY_LINE_HEIGHT = 14;
+
+    /** The longest frame which isn't counted as a spike. */
+    private final long frameBudget;
+    /** The offset from JVM uptime to {@code System.nanoTime()}. */
+    private final long uptimeOffset;
+    /** The names of the memory pools holding the heap. */
+    private final HashSet<String> heapPools;
+
+    /** Recent pauses: start times, in nanoseconds. */
+    private final long[] pauseStarts;
+    /** Recent pauses: end times, in nanoseconds. */
+    private final long[] pauseEnds;
+    /** Recent spikes: start times, in nanoseconds. */
+    private final long[] spikeStarts;
+    /** Recent spikes: end times, in nanoseconds. */
+    private final long[] spikeEnds;
+    /** Recent spikes: whether they overlapped a pause. */
+    private final boolean[] spikeTagged;
+    /** The total number of pauses ever recorded. */
+    private long pauseSequence;
+    /** The total number of spikes ever recorded. */
+    private long spikeSequence;
+
+    /** Statistics: number of pauses. */
+    private long pauseCount;
+    /** Statistics: total pause time, in nanoseconds. */
+    private long pauseTotal;
+    /** Statistics: longest pause, in nanoseconds. */
+    private long pauseMax;
+    /** Statistics: number of frame spikes. */
+    private long spikeCount;
+    /** Statistics: number of frame spikes overlapping a pause. */
+    private long gcSpikeCount;
+    /** Statistics: longest frame, in nanoseconds. */
+    private long spikeMax;
+    /** The heap occupancy after the last collection, in bytes. */
+    private long heapUsed;
+    /** The heap size after the last collection, in bytes. */
+    private long heapCommitted;
+    /** The name and cause of the last collection. */
+    private String lastCollection;
+
+    /**
+     * Constructs an instance of GCMonitor.
+     * @param frameBudget the longest frame which isn't counted as a
+     *                    spike, in nanoseconds.
+     */
+    public GCMonitor(long frameBudget) {
+        this.frameBudget = frameBudget;
+        this.uptimeOffset = System.nanoTime() - TimeUnit.MILLISECONDS
+                .toNanos(ManagementFactory.getRuntimeMXBean().getUptime());
+        this.heapPools = new HashSet<String>();
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                this.heapPools.add(pool.getName());
+            }
+        }
+
+        this.pauseStarts = new long[HISTORY_SIZE];
+        this.pauseEnds = new long[HISTORY_SIZE];
+        this.spikeStarts = new long[HISTORY_SIZE];
+        this.spikeEnds = new long[HISTORY_SIZE];
+        this.spikeTagged = new boolean[HISTORY_SIZE];
+        this.pauseSequence = 0;
+        this.spikeSequence = 0;
+        this.heapUsed = 0;
+        this.heapCommitted = 0;
+        this.lastCollection = "none";
+        this.reset();
+    }
+
+    /**
+     * Starts listening for garbage collections.
+     */
+    public void start() {
+        NotificationListener listener = new NotificationListener() {
+            @Override
+            public void handleNotification(Notification notification,
+                    Object handback) {
+                GarbageCollectionNotificationInfo info =
+                        GarbageCollectionNotificationInfo.from(
+                                (CompositeData) notification.getUserData());
+                recordCollection(info);
+            }
+        };
+        for (GarbageCollectorMXBean collector
+                : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                ((NotificationEmitter) collector).addNotificationListener(
+                        listener, PauseCounter.COLLECTION_FILTER, null);
+            }
+        }
+    }
+
+    /**
+     * Records a garbage collection and, if it was a pause, tags the
+     * recent frame spikes it overlapped.
+     * @param info the collection details.
+     */
+    private synchronized void recordCollection(
+            GarbageCollectionNotificationInfo info) {
+        GcInfo gcInfo = info.getGcInfo();
+        long used = 0;
+        long committed = 0;
+        for (Map.Entry<String, MemoryUsage> entry
+                : gcInfo.getMemoryUsageAfterGc().entrySet()) {
+            if (this.heapPools.contains(entry.getKey())) {
+                used += entry.getValue().getUsed();
+                committed += entry.getValue().getCommitted();
+            }
+        }
+        this.heapUsed = used;
+        this.heapCommitted = committed;
+        this.lastCollection = info.getGcName() + " (" + info.getGcCause()
+                + ")";
+        if (!PauseCounter.isPause(info)) {
+            return;
+        }
+
+        long start = this.uptimeOffset
+                + TimeUnit.MILLISECONDS.toNanos(gcInfo.getStartTime());
+        long duration = TimeUnit.MILLISECONDS.toNanos(gcInfo.getDuration());
+        long end = start + duration;
+
+        int index = (int) (this.pauseSequence % HISTORY_SIZE);
+        this.pauseStarts[index] = start;
+        this.pauseEnds[index] = end;
+        this.pauseSequence++;
+
+        this.pauseCount++;
+        this.pauseTotal += duration;
+        this.pauseMax = Math.max(this.pauseMax, duration);
+
+        // Tag the spikes which already ended before we were notified.
+        long spikes = Math.min(this.spikeSequence, HISTORY_SIZE);
+        for (int i = 0; i < spikes; i++) {
+            if (!this.spikeTagged[i] && overlaps(this.spikeStarts[i],
+                    this.spikeEnds[i], start, end)) {
+                this.spikeTagged[i] = true;
+                this.gcSpikeCount++;
+            }
+        }
+    }
+
+    /**
+     * Records the duration of a frame, which is counted as a spike if it
+     * exceeds the frame budget.
+     * @param start the time the frame started, in nanoseconds.
+     * @param end the time the frame ended, in nanoseconds.
+     */
+    public synchronized void recordFrame(long start, long end) {
+        long duration = end - start;
+        if (duration <= this.frameBudget) {
+            return;
+        }
+        this.spikeCount++;
+        this.spikeMax = Math.max(this.spikeMax, duration);
+
+        boolean tagged = false;
+        long pauses = Math.min(this.pauseSequence, HISTORY_SIZE);
+        for (int i = 0; i < pauses; i++) {
+            if (overlaps(start, end, this.pauseStarts[i],
+                    this.pauseEnds[i])) {
+                tagged = true;
+                break;
+            }
+        }
+        if (tagged) {
+            this.gcSpikeCount++;
+        }
+
+        int index = (int) (this.spikeSequence % HISTORY_SIZE);
+        this.spikeStarts[index] = start;
+        this.spikeEnds[index] = end;
+        this.spikeTagged[index] = tagged;
+        this.spikeSequence++;
+    }
+
+    /**
+     * Checks whether two time intervals overlap.
+     * @param start1 the start of the first interval.
+     * @param end1 the end of the first interval.
+     * @param start2 the start of the second interval.
+     * @param end2 the end of the second interval.
+     * @return a boolean.
+     */
+    private static boolean overlaps(long start1, long end1, long start2,
+            long end2) {
+        return start1 < end2 && start2 < end1;
+    }
+
+    /**
+     * Clears the statistics and the recent spikes. Recent pauses are
+     * kept, since they may still overlap the frame in progress.
+     */
+    public synchronized void reset() {
+        this.spikeSequence = 0;
+        this.pauseCount = 0;
+        this.pauseTotal = 0;
+        this.pauseMax = 0;
+        this.spikeCount = 0;
+        this.gcSpikeCount = 0;
+        this.spikeMax = 0;
+    }
+
+    /**
+     * Draws the statistics in the top left corner of the screen.
+     * @param gc a Renderer object.
+     */
+    public void draw(Renderer gc) {
+        String[] lines;
+        synchronized (this) {
+            lines = new String[] {
+                    String.format(Locale.ROOT,
+                            "GC: %d pauses, %.1f ms total, %.1f ms max",
+                            this.pauseCount, this.pauseTotal / 1e6,
+                            this.pauseMax / 1e6),
+                    String.format(Locale.ROOT,
+                            "Spikes: %d (%d during GC), %.1f ms max",
+                            this.spikeCount, this.gcSpikeCount,
+                            this.spikeMax / 1e6),
+                    String.format(Locale.ROOT,
+                            "Heap: %d / %d MiB after GC",
+                            this.heapUsed >> 20, this.heapCommitted >> 20),
+                    "Last: " + this.lastCollection,
+            };
+        }
+        gc.save();
+        gc.setGlobalAlpha(0.7);
+        gc.setFill(Color.BLACK);
+        gc.fillRect(OVERLAY_BOUNDS.getMinX(), OVERLAY_BOUNDS.getMinY(),
+                OVERLAY_BOUNDS.getWidth(), OVERLAY_BOUNDS.getHeight());
+        gc.setGlobalAlpha(1);
+        gc.setFill(Color.WHITE);
+        gc.setFont(OVERLAY_FONT);
+        for (int i = 0; i < lines.length; i++) {
+            gc.fillText(lines[i], OVERLAY_BOUNDS.getMinX() + 4,
+                    OVERLAY_BOUNDS.getMinY() + OVERLAY_LINE_HEIGHT * (i + 1));
+        }
+        gc.restore();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return String.format(Locale.ROOT,
+                "pauses=%d, total=%.1f ms, max=%.1f ms, spikes=%d, "
+                + "during GC=%d, max frame=%.1f ms, heap=%d/%d MiB",
+                this.pauseCount, this.pauseTotal / 1e6, this.pauseMax / 1e6,
+                this.spikeCount, this.gcSpikeCount, this.spikeMax / 1e6,
+                this.heapUsed >> 20, this.heapCommitted >> 20);
+    }
+
+}
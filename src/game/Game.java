@@ -2,23 +2,35 @@ package game;
 
 import java.io.File;
 import java.io.FileOutputStream;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.PrintWriter;
+import java.net.InetAddress;
 import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.FileSystemNotFoundException;
 import java.nio.file.Files;
 import java.nio.file.Path;
-import java.util.ArrayList;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
 import java.util.Hashtable;
 import java.util.List;
-import java.util.ListIterator;
-import java.util.Random;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import game.scenes.GameScene;
-import game.scenes.MainMenuScene;
+import game.scenes.LevelScene;
+import game.scenes.LevelSnapshot;
+import game.scenes.Scenes;
+import javafx.beans.value.ChangeListener;
+import javafx.beans.value.ObservableValue;
 import javafx.scene.media.AudioClip;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
@@ -62,23 +74,44 @@ public final class Game {
     public static final boolean FLAG_DIRECTIONAL_SHOOTING = false;
     /** Flag: is the game loop's refresh rate fixed? */
     public static final boolean FLAG_FREEZE_REFRESH_RATE = true;
+    /** Flag: should the input latency of each scene be reported? */
+    public static final boolean FLAG_INPUT_LATENCY_REPORT =
+            Boolean.getBoolean("deadwood.input.latency");
+    /** Flag: should the game exit after reporting its startup time? */
+    public static final boolean FLAG_STARTUP_BENCHMARK =
+            Boolean.getBoolean("deadwood.benchmark.startup");
+    /** Flag: should garbage collections be monitored and shown? */
+    public static final boolean FLAG_GC_MONITOR =
+            Boolean.getBoolean("deadwood.gc.monitor");
 
     /** The random number generator. */
-    public static final Random RNG = new Random();
+    public static final GameRandom RNG = new GameRandom();
 
     /** The path to the file containing high scores. */
     private static final Path PATH_HIGH_SCORES = Path.of("scores.dat");
-    /** The maximum number of high scores that can be stored. */
-    private static final int MAX_HIGH_SCORES = 10;
+    /** The path to the file containing the suspended level. */
+    private static final Path PATH_SUSPENDED_LEVEL = Path.of("level.dat");
 
     /** An instance of the media player. */
     private static MediaPlayer mediaPlayer;
+    /** The executor responsible for loading and switching media. */
+    private static ExecutorService mediaExecutor;
+    /** The number of the most recent background music request. */
+    private static AtomicLong bgmRequest;
     /** A hashtable containing cached background music (Media) objects. */
     private static Hashtable<String, Media> cachedBGM;
     /** A hashtable containing cached sound effects (AudioClip) objects. */
     private static Hashtable<String, AudioClip> cachedSFX;
-    /** An array list containing stored player scores. */
-    private static ArrayList<GameScore> highScores;
+    /** The mixer deciding which sound effects are played. */
+    private static SoundMixer soundMixer;
+    /** The garbage collection monitor, or null if it's disabled. */
+    private static GCMonitor gcMonitor;
+    /** The server exporting the game metrics, or null if it's disabled. */
+    private static MetricsServer metricsServer;
+    /** The leaderboards containing stored player scores. */
+    private static HighScoreStore highScores;
+    /** The pending result of loading the high scores file. */
+    private static Future<HighScoreStore> highScoresLoader;
 
     /** An instance of the primary stage or main window. */
     private static Stage primaryStage;
@@ -87,7 +120,9 @@ public final class Game {
     /** An instance of the game timer. */
     private static GameTimer gameTimer;
     /** A boolean determining whether the game is done initializing. */
-    private static boolean initialized;
+    private static volatile boolean initialized;
+    /** The time when the game started initializing, in nanoseconds. */
+    private static long runStartTime;
 
     /**
      * Initializes and runs the game.
@@ -98,26 +133,127 @@ public final class Game {
             return;
         }
 
+        Game.runStartTime = System.nanoTime();
         Game.mediaPlayer = null;
+        Game.mediaExecutor = Executors.newSingleThreadExecutor(
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "media");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        Game.bgmRequest = new AtomicLong();
         Game.cachedBGM = new Hashtable<String, Media>();
         Game.cachedSFX = new Hashtable<String, AudioClip>();
-        Game.highScores = new ArrayList<GameScore>(MAX_HIGH_SCORES);
-        Game.loadHighScores();
+        Game.soundMixer = new SoundMixer();
+        Game.highScores = null;
+        Game.highScoresLoader = Game.loadHighScores();
 
         Game.primaryStage = primaryStage;
         Game.primaryStage.setResizable(false);
         Game.primaryStage.setTitle(GAME_NAME);
-        Game.setGameScene(new MainMenuScene());
+        // Resume the level that was in progress when the game last lost
+        // focus, if there's one.
+        LevelScene suspendedLevel = FLAG_STARTUP_BENCHMARK
+                ? null
+                : Game.loadSuspendedLevel();
+        if (suspendedLevel != null) {
+            Game.setGameScene(suspendedLevel);
+        } else {
+            Game.setGameScene(Scenes.mainMenu());
+        }
+        if (FLAG_GC_MONITOR) {
+            Game.gcMonitor = new GCMonitor(GameTimer.FRAME_DURATION);
+            Game.gcMonitor.start();
+        }
+        Integer metricsPort = Integer.getInteger(MetricsServer.PROPERTY_PORT);
+        if (metricsPort != null) {
+            Game.startMetricsServer(metricsPort);
+        }
         Game.gameTimer = new GameTimer();
         Game.gameTimer.start();
+        Game.primaryStage.focusedProperty().addListener(
+                new ChangeListener<Boolean>() {
+                    @Override
+                    public void changed(
+                            ObservableValue<? extends Boolean> observable,
+                            Boolean oldValue, Boolean newValue) {
+                        if (!newValue) {
+                            Game.suspendLevel();
+                        }
+                    }
+                });
         Game.primaryStage.show();
 
+        Game.initialized = true;
+
         // XXX: We have to re-play the background music again here since
         // starting the media playback before the stage/window is
         // shown doesn't work properly.
         Game.playGameSceneBGM();
+        // Load the level tracks in the background, after the main menu
+        // track, so that the first level doesn't have to wait for them.
+        Game.prefetchBGM(LevelScene.getBGMTracks());
+    }
 
-        Game.initialized = true;
+    /**
+     * Releases the resources that would keep the game running after its
+     * window is closed.
+     */
+    public static void shutdown() {
+        if (Game.metricsServer != null) {
+            Game.metricsServer.stop();
+            Game.metricsServer = null;
+        }
+    }
+
+    /**
+     * Starts serving the game metrics on the loopback interface.
+     * @param port the port to listen on, or 0 for any free port.
+     */
+    private static void startMetricsServer(int port) {
+        try {
+            Game.metricsServer = new MetricsServer(port);
+            Game.metricsServer.start();
+            System.out.println("Serving metrics at http://"
+                    + InetAddress.getLoopbackAddress().getHostAddress() + ":"
+                    + Game.metricsServer.getPort() + MetricsServer.PATH);
+        } catch (IOException e) {
+            System.out.println("Failed to start the metrics server.");
+            if (DEBUG_MODE) {
+                e.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Reports how long it took to show the first frame of the main
+     * menu, then exits the game. This is used by the startup benchmark.
+     */
+    public static void reportStartup() {
+        long sinceRun = TimeUnit.NANOSECONDS.toMillis(
+                System.nanoTime() - Game.runStartTime);
+        Optional<Instant> launchTime =
+                ProcessHandle.current().info().startInstant();
+        String sinceLaunch = "unknown";
+        if (launchTime.isPresent()) {
+            sinceLaunch = String.valueOf(Duration.between(
+                    launchTime.get(), Instant.now()).toMillis());
+        }
+        System.out.println("Time to first frame: " + sinceLaunch
+                + " ms since launch, " + sinceRun + " ms since init");
+        System.exit(0);
+    }
+
+    /**
+     * Retrieves whether the game is done initializing. This is false
+     * when levels are only simulated, without a window.
+     * @return a boolean.
+     */
+    public static boolean isInitialized() {
+        return Game.initialized;
     }
 
     /**
@@ -141,7 +277,26 @@ public final class Game {
      * @param gameScene a GameScene object.
      */
     public static void setGameScene(GameScene gameScene) {
+        if (FLAG_INPUT_LATENCY_REPORT && Game.gameScene != null) {
+            System.out.println("Input latency ("
+                    + Game.gameScene.getClass().getSimpleName() + "): "
+                    + Game.gameScene.getInput());
+        }
+        if (Game.gcMonitor != null && Game.gameScene != null) {
+            System.out.println("GC ("
+                    + Game.gameScene.getClass().getSimpleName() + "): "
+                    + Game.gcMonitor);
+            Game.gcMonitor.reset();
+        }
+        GameScene previousScene = Game.gameScene;
+        if (previousScene != null && previousScene != gameScene) {
+            previousScene.exit();
+            if (!previousScene.isReusable()) {
+                previousScene.dispose();
+            }
+        }
         Game.gameScene = gameScene;
+        Game.gameScene.enter();
         Game.primaryStage.setScene(Game.gameScene.getInner());
         Game.playGameSceneBGM();
     }
@@ -201,41 +356,49 @@ public final class Game {
     }
 
     /**
-     * Retrieves the list containing high scores.
-     * @return a List<PlayerScore> object.
+     * Retrieves a page of high scores for the given difficulty.
+     * @param difficulty the game difficulty.
+     * @param offset the rank of the first entry.
+     * @param count the maximum number of entries.
+     * @return a List<GameScore> object.
      */
-    public static List<GameScore> getHighScores() {
-        // Limit the number of high scores to the maximum.
-        return (Game.highScores.size() > MAX_HIGH_SCORES)
-                ? Game.highScores.subList(0, MAX_HIGH_SCORES)
-                : Game.highScores;
+    public static List<GameScore> getHighScores(int difficulty, int offset,
+            int count) {
+        Leaderboard leaderboard =
+                Game.awaitHighScores().getLeaderboard(difficulty);
+        if (leaderboard == null) {
+            return Collections.emptyList();
+        }
+        return leaderboard.getPage(offset, count);
     }
 
     /**
-     * Retrieves the possible index where the high score will be inserted.
-     * @param score the player's high score.
+     * Retrieves the number of high scores stored for the given difficulty.
+     * @param difficulty the game difficulty.
      * @return an integer.
      */
-    public static int getHighScoreIndex(int score) {
-        // We need the index, so use an iterator.
-        ListIterator<GameScore> iter = Game.highScores.listIterator();
-        while (iter.hasNext()) {
-            GameScore other = iter.next();
-            if (other == null) {
-                continue;
-            }
-            // Case 1: Score is higher than something else on the list.
-            if (score > other.getScore()) {
-                return iter.previousIndex();
-            }
+    public static int getHighScoreCount(int difficulty) {
+        Leaderboard leaderboard =
+                Game.awaitHighScores().getLeaderboard(difficulty);
+        if (leaderboard == null) {
+            return 0;
         }
-        // Case 2: Score is lesser than everything else and there's still
-        // space on the list.
-        if (Game.highScores.size() < MAX_HIGH_SCORES) {
-            return Game.highScores.size();
+        return leaderboard.size();
+    }
+
+    /**
+     * Retrieves the possible index where the high score will be inserted.
+     * @param score the player's high score.
+     * @param difficulty the game difficulty.
+     * @return an integer, or -1 if the score isn't qualified.
+     */
+    public static int getHighScoreIndex(int score, int difficulty) {
+        Leaderboard leaderboard =
+                Game.awaitHighScores().getLeaderboard(difficulty);
+        if (leaderboard == null) {
+            return -1;
         }
-        // Case 3: Score isn't qualified for the high scores list.
-        return -1;
+        return leaderboard.getRank(score);
     }
 
     /**
@@ -248,87 +411,140 @@ public final class Game {
      */
     public static boolean addHighScore(String name, int score,
             int difficulty) {
-        int index = Game.getHighScoreIndex(score);
+        Leaderboard leaderboard =
+                Game.awaitHighScores().getLeaderboard(difficulty);
         // Return early if we can't add the given score.
-        if (index == -1) {
+        if (leaderboard == null || leaderboard.add(
+                new GameScore(name, score, difficulty)) == -1) {
             return false;
         }
-        // Create a new player score object and save to file.
-        Game.highScores.add(index, new GameScore(
-                name, score, difficulty));
         Game.saveHighScores();
         return true;
     }
 
     /**
-     * Loads the high scores from file.
+     * Retrieves the loaded high scores, waiting for the background
+     * loader if it hasn't finished yet.
+     * @return a HighScoreStore object.
      */
-    private static void loadHighScores() {
-        if (!PATH_HIGH_SCORES.toFile().exists()) {
-            return;
+    private static HighScoreStore awaitHighScores() {
+        if (Game.highScores != null) {
+            return Game.highScores;
         }
 
         try {
-            // Read all lines from the high scores file.
-            List<String> lines = Files.readAllLines(PATH_HIGH_SCORES);
-            for (String line : lines) {
-                // Each info part is delimited by a comma.
-                String[] lineParts = line.split(",");
-                if (lineParts.length != 3) {
-                    continue;
-                }
-                // Create a new player score object and add to the list.
-                GameScore score = new GameScore(
-                        lineParts[0],
-                        Integer.parseInt(lineParts[1]),
-                        Integer.parseInt(lineParts[2]));
-                Game.highScores.add(score);
-            }
+            Game.highScores = Game.highScoresLoader.get();
         } catch (Exception e) {
             System.out.println("Failed to load high scores data file.");
             if (DEBUG_MODE) {
                 e.printStackTrace();
             }
+            Game.highScores = new HighScoreStore();
         }
+        Game.highScoresLoader = null;
+        return Game.highScores;
     }
 
     /**
-     * Saves the high scores to file.
+     * Loads the high scores from file in the background.
+     * @return a Future object holding the loaded high scores.
+     */
+    private static Future<HighScoreStore> loadHighScores() {
+        return BackgroundIO.submit(new Callable<HighScoreStore>() {
+            @Override
+            public HighScoreStore call() throws Exception {
+                if (!PATH_HIGH_SCORES.toFile().exists()) {
+                    return new HighScoreStore();
+                }
+                // Older files are converted on the next save.
+                return HighScoreStore.fromBytes(
+                        Files.readAllBytes(PATH_HIGH_SCORES));
+            }
+        });
+    }
+
+    /**
+     * Saves the high scores to file in the background.
      */
     private static void saveHighScores() {
-        File output = PATH_HIGH_SCORES.toFile();
-        try {
-            PrintWriter writer = new PrintWriter(new FileWriter(output));
-            // Iterate through all the player score objects in the list and
-            // write them to the high scores file.
-            for (GameScore score : getHighScores()) {
-                writer.printf("%s,%s,%s%n",
-                        score.getName(),
-                        score.getScore(),
-                        score.getDifficulty());
+        // Serialize the scores here so the writer works on a snapshot.
+        BackgroundIO.write(PATH_HIGH_SCORES,
+                Game.awaitHighScores().toBytes());
+    }
+
+    /**
+     * Saves the report of a finished level session in the background,
+     * next to the high scores file.
+     * @param report a SessionReport object.
+     */
+    public static void saveSessionReport(final SessionReport report) {
+        final Path path = PATH_HIGH_SCORES.toAbsolutePath()
+                .resolveSibling(report.getFileName());
+        // Sorting the frame times of a long session takes a while, so
+        // the report is summarized on the background thread as well.
+        BackgroundIO.submit(new Callable<Void>() {
+            @Override
+            public Void call() {
+                BackgroundIO.write(path,
+                        report.toJson().getBytes(StandardCharsets.UTF_8));
+                return null;
             }
-            writer.flush();
-            writer.close();
-        } catch (IOException e) {
-            System.out.println("Failed to save high scores data file.");
+        });
+    }
+
+    /**
+     * Pauses the current level and saves it to file in the background,
+     * so that it can be resumed even if the game doesn't return.
+     */
+    private static void suspendLevel() {
+        if (!(Game.gameScene instanceof LevelScene)) {
+            return;
+        }
+        LevelScene level = (LevelScene) Game.gameScene;
+        if (!level.canSuspend()) {
+            return;
+        }
+        level.setPaused(true);
+        // Serialize the level here so the writer works on a snapshot.
+        BackgroundIO.write(PATH_SUSPENDED_LEVEL, LevelSnapshot.toBytes(level));
+    }
+
+    /**
+     * Loads the suspended level from file, if there's one.
+     * @return a LevelScene object, or null if there's none.
+     */
+    private static LevelScene loadSuspendedLevel() {
+        if (!PATH_SUSPENDED_LEVEL.toFile().exists()) {
+            return null;
+        }
+
+        try {
+            return LevelSnapshot.fromBytes(
+                    Files.readAllBytes(PATH_SUSPENDED_LEVEL));
+        } catch (Exception e) {
+            System.out.println("Failed to restore the suspended level.");
             if (DEBUG_MODE) {
                 e.printStackTrace();
             }
+            Game.discardSuspendedLevel();
+            return null;
         }
+    }
 
+    /**
+     * Deletes the suspended level file in the background.
+     */
+    public static void discardSuspendedLevel() {
+        BackgroundIO.delete(PATH_SUSPENDED_LEVEL);
     }
 
     /**
-     * Specifies the currently playing media player.
+     * Retrieves the cached Media object of the given track, creating
+     * it if it wasn't loaded previously.
      * @param assetName the BGM asset name.
-     * @param volume the volume at which the media will be played.
+     * @return a Media object, or null if the asset is invalid.
      */
-    private static synchronized void setMediaPlayer(
-            String assetName, double volume) {
-        if (!Game.initialized) {
-            return;
-        }
-
+    private static Media getMedia(String assetName) {
         Media media = Game.cachedBGM.get(assetName);
         // Create a new Media object and cache it if it wasn't played
         // previously to prevent a hang caused by switching tracks.
@@ -336,11 +552,29 @@ public final class Game {
             String assetPath = Game.getAsset(assetName);
             // Invalid asset.
             if (assetPath == null) {
-                return;
+                return null;
             }
             media = new Media(assetPath);
             Game.cachedBGM.put(assetName, media);
         }
+        return media;
+    }
+
+    /**
+     * Specifies the currently playing media player.
+     * @implNote This must only be called from the media executor.
+     * @param assetName the BGM asset name.
+     * @param volume the volume at which the media will be played.
+     */
+    private static void setMediaPlayer(String assetName, double volume) {
+        if (!Game.initialized) {
+            return;
+        }
+
+        Media media = Game.getMedia(assetName);
+        if (media == null) {
+            return;
+        }
 
         // Stop the currently playing media player.
         if (Game.mediaPlayer != null) {
@@ -348,11 +582,13 @@ public final class Game {
                 return;
             }
             Game.mediaPlayer.stop();
+            Game.mediaPlayer.dispose();
         }
 
         // Create a new media player object and play it indefinitely.
         Game.mediaPlayer = new MediaPlayer(media);
         Game.mediaPlayer.setCycleCount(MediaPlayer.INDEFINITE);
+        Game.mediaPlayer.setVolume(volume);
         Game.mediaPlayer.play();
     }
 
@@ -362,15 +598,36 @@ public final class Game {
      * @param volume the volume at which the media will be played.
      */
     public static void playBGM(String assetName, double volume) {
-        // XXX: We have to do this in a new thread to avoid the
-        // noticeable lag on input when loading media files.
-        Thread player = new Thread(new Runnable() {
+        // XXX: We have to do this outside the FX thread to avoid the
+        // noticeable lag on input when loading media files. Requests
+        // are run one at a time, and a request is dropped if a newer
+        // one was made while it was waiting.
+        long request = Game.bgmRequest.incrementAndGet();
+        Game.mediaExecutor.execute(new Runnable() {
             @Override
             public void run() {
+                if (request != Game.bgmRequest.get()) {
+                    return;
+                }
                 setMediaPlayer(assetName, volume);
             }
         });
-        player.start();
+    }
+
+    /**
+     * Loads the given background music tracks in the background without
+     * playing them.
+     * @param assetNames the BGM asset names.
+     */
+    private static void prefetchBGM(List<String> assetNames) {
+        for (String assetName : assetNames) {
+            Game.mediaExecutor.execute(new Runnable() {
+                @Override
+                public void run() {
+                    Game.getMedia(assetName);
+                }
+            });
+        }
     }
 
     /**
@@ -395,8 +652,10 @@ public final class Game {
      * Plays a sound effect.
      * @param assetName the SFX asset name.
      * @param volume the volume at which the media will be played.
+     * @param priority the priority of the sound effect (constant).
      */
-    public static void playSFX(String assetName, double volume) {
+    public static void playSFX(String assetName, double volume,
+            int priority) {
         if (!Game.initialized) {
             return;
         }
@@ -413,7 +672,17 @@ public final class Game {
             Game.cachedSFX.put(assetName, clip);
         }
 
-        clip.play(volume);
+        // Let the mixer decide if this request needs a new voice.
+        Game.soundMixer.play(clip, volume, priority);
+    }
+
+    /**
+     * Plays a sound effect.
+     * @param assetName the SFX asset name.
+     * @param volume the volume at which the media will be played.
+     */
+    public static void playSFX(String assetName, double volume) {
+        playSFX(assetName, volume, SoundMixer.PRIORITY_NORMAL);
     }
 
     /**
@@ -424,6 +693,22 @@ public final class Game {
         playSFX(assetName, 1);
     }
 
+    /**
+     * Retrieves the sound effects mixer.
+     * @return a SoundMixer object.
+     */
+    public static SoundMixer getSoundMixer() {
+        return Game.soundMixer;
+    }
+
+    /**
+     * Retrieves the garbage collection monitor.
+     * @return a GCMonitor object, or null if it's disabled.
+     */
+    public static GCMonitor getGCMonitor() {
+        return Game.gcMonitor;
+    }
+
     /**
      * Returns whether the given direction(s) are active in the given
      * byte indicating active directions.
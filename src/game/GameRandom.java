@@ -0,0 +1,87 @@
+package game;
+
+import java.util.Random;
+
+/**
+ * This class is a random number generator whose internal state can be
+ * retrieved and restored, which allows a suspended level to continue
+ * with exactly the same sequence of random numbers. Each thread has its
+ * own state, so levels simulated on several threads at once neither
+ * disturb each other nor the level being played.
+ * @implNote The generator produces the same sequence as
+ *           {@code java.util.Random} for the same seed.
+ */
+public final class GameRandom extends Random {
+
+    /** Serialization version. */
+    private static final long serialVersionUID = 1L;
+
+    /** Linear congruential generator: multiplier. */
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    /** Linear congruential generator: addend. */
+    private static final long ADDEND = 0xBL;
+    /** Linear congruential generator: 48-bit mask. */
+    private static final long MASK = (1L << 48) - 1;
+
+    /** The internal 48-bit state of each thread. */
+    private transient ThreadLocal<long[]> states;
+
+    /**
+     * Constructs an instance of GameRandom with a random seed.
+     */
+    public GameRandom() {
+        super();
+    }
+
+    /**
+     * Constructs an instance of GameRandom.
+     * @param seed the initial seed.
+     */
+    public GameRandom(long seed) {
+        super(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        // Called by the superclass constructor, so the states field
+        // must not have an initializer.
+        if (this.states == null) {
+            this.states = new ThreadLocal<long[]>() {
+                @Override
+                protected long[] initialValue() {
+                    // Threads other than the constructing one start from
+                    // a seed of their own.
+                    long threadSeed = System.nanoTime()
+                            ^ (Thread.currentThread().getId() * MULTIPLIER);
+                    return new long[] { (threadSeed ^ MULTIPLIER) & MASK };
+                }
+            };
+        }
+        this.states.get()[0] = (seed ^ MULTIPLIER) & MASK;
+        super.setSeed(seed);
+    }
+
+    @Override
+    protected int next(int bits) {
+        long[] state = this.states.get();
+        state[0] = (state[0] * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state[0] >>> (48 - bits));
+    }
+
+    /**
+     * Retrieves the internal state of this generator on the calling thread.
+     * @return a long.
+     */
+    public long getState() {
+        return this.states.get()[0];
+    }
+
+    /**
+     * Specifies the internal state of this generator on the calling thread.
+     * @param state a value previously returned by {@link #getState()}.
+     */
+    public void setState(long state) {
+        this.states.get()[0] = state & MASK;
+    }
+
+}
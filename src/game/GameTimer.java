@@ -2,6 +2,8 @@ package game;
 
 import java.util.concurrent.TimeUnit;
 
+import game.scenes.GameScene;
+import game.scenes.MainMenuScene;
 import javafx.animation.AnimationTimer;
 
 /**
@@ -15,10 +17,17 @@ public final class GameTimer extends AnimationTimer {
     /** The target refresh rate. */
     private static final int REFRESH_RATE = 60;
     /** The duration of each frame. */
-    private static final long FRAME_DURATION =
+    static final long FRAME_DURATION =
             TimeUnit.SECONDS.toNanos(1) / REFRESH_RATE;
+    /** The minimum time between frames while the scene is idle. */
+    private static final long IDLE_FRAME_DURATION =
+            TimeUnit.MILLISECONDS.toNanos(200);
     /** Keeps track of the time before the next frame draw/update. */
     private long nextFrameTime = 0;
+    /** Keeps track of the time of the last frame draw/update. */
+    private long lastFrameTime = 0;
+    /** Whether the main menu was drawn for the startup benchmark. */
+    private boolean mainMenuDrawn = false;
 
     @Override
     public void handle(long now) {
@@ -27,6 +36,12 @@ public final class GameTimer extends AnimationTimer {
             return;
         }
 
+        // The main menu drawn in the previous pulse is now on screen.
+        if (mainMenuDrawn) {
+            Game.reportStartup();
+            return;
+        }
+
         // The following is based on code written by Julien Giband
         // at SO: https://stackoverflow.com/a/71500331/9610960
         if (Game.FLAG_FREEZE_REFRESH_RATE) {
@@ -48,8 +63,34 @@ public final class GameTimer extends AnimationTimer {
             }
         }
 
-        Game.getGameScene().update(now);
-        Game.getGameScene().draw(now);
+        // Throttle idle scenes, but resume right away on input.
+        GameScene scene = Game.getGameScene();
+        if (!scene.consumeInput() && scene.isQuiescent()
+                && now - lastFrameTime < IDLE_FRAME_DURATION) {
+            return;
+        }
+        lastFrameTime = now;
+        long frameStart = System.nanoTime();
+
+        // Input is handled at the same point of every tick.
+        scene.processInput();
+        // The input may have switched to another scene.
+        scene = Game.getGameScene();
+        scene.update(now);
+        scene.render(now);
+        long frameEnd = System.nanoTime();
+        scene.getInput().markFrameDrawn(frameEnd);
+        scene.recordFrame(frameStart, frameEnd);
+        if (Game.getSoundMixer() != null) {
+            Game.getSoundMixer().update(frameEnd);
+        }
+        Metrics.recordFrame(scene, frameEnd - frameStart);
+        if (Game.getGCMonitor() != null) {
+            Game.getGCMonitor().recordFrame(frameStart, frameEnd);
+        }
+        if (Game.FLAG_STARTUP_BENCHMARK && scene instanceof MainMenuScene) {
+            mainMenuDrawn = true;
+        }
     }
 
 }
@@ -0,0 +1,154 @@
+package game;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * This class stores a leaderboard for each difficulty and converts
+ * them from and to the compact binary format of the high scores file.
+ * @implNote The file starts with a magic number and a version,
+ *           followed by the entry count and the entries (name, score)
+ *           of each difficulty in rank order.
+ */
+public final class HighScoreStore {
+
+    /** The number of difficulties with their own leaderboard. */
+    public static final int TOTAL_DIFFICULTIES = 3;
+    /** The maximum number of entries stored per difficulty. */
+    public static final int CAPACITY = 5000;
+
+    /** File format: magic number ("DWJS"). */
+    private static final int FILE_MAGIC = 0x44574A53;
+    /** File format: current version. */
+    private static final short FILE_VERSION = 1;
+
+    /** Leaderboards indexed by difficulty. */
+    private Leaderboard[] leaderboards;
+
+    /**
+     * Constructs an empty instance of HighScoreStore.
+     */
+    public HighScoreStore() {
+        this.leaderboards = new Leaderboard[TOTAL_DIFFICULTIES];
+        for (int i = 0; i < TOTAL_DIFFICULTIES; i++) {
+            this.leaderboards[i] = new Leaderboard(CAPACITY);
+        }
+    }
+
+    /**
+     * Retrieves the leaderboard of the given difficulty.
+     * @param difficulty the game difficulty.
+     * @return a Leaderboard object, or null if the difficulty is invalid.
+     */
+    public Leaderboard getLeaderboard(int difficulty) {
+        if (difficulty < 0 || difficulty >= TOTAL_DIFFICULTIES) {
+            return null;
+        }
+        return this.leaderboards[difficulty];
+    }
+
+    /**
+     * Converts this store to the binary file format.
+     * @return a byte array.
+     */
+    public byte[] toBytes() {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeInt(FILE_MAGIC);
+            out.writeShort(FILE_VERSION);
+            out.writeByte(TOTAL_DIFFICULTIES);
+            for (Leaderboard leaderboard : this.leaderboards) {
+                out.writeInt(leaderboard.size());
+                for (GameScore score : leaderboard.getEntries()) {
+                    out.writeUTF(score.getName());
+                    out.writeInt(score.getScore());
+                }
+            }
+        } catch (IOException e) {
+            // This should not be reached with an in-memory stream.
+            throw new IllegalStateException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Creates a store from the contents of a high scores file. Files
+     * written in the older comma-separated format are also accepted.
+     * @param data the file contents.
+     * @return a HighScoreStore object.
+     * @throws IOException if the data is corrupted.
+     */
+    public static HighScoreStore fromBytes(byte[] data) throws IOException {
+        HighScoreStore store = new HighScoreStore();
+        if (data.length < 4 || readMagic(data) != FILE_MAGIC) {
+            store.readLegacy(data);
+            return store;
+        }
+
+        DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(data));
+        in.readInt();
+        short version = in.readShort();
+        if (version != FILE_VERSION) {
+            throw new IOException("Unsupported high scores version.");
+        }
+        int difficulties = in.readUnsignedByte();
+        for (int difficulty = 0; difficulty < difficulties; difficulty++) {
+            int count = in.readInt();
+            Leaderboard leaderboard = store.getLeaderboard(difficulty);
+            for (int i = 0; i < count; i++) {
+                String name = in.readUTF();
+                int score = in.readInt();
+                if (leaderboard != null) {
+                    leaderboard.append(new GameScore(name, score, difficulty));
+                }
+            }
+        }
+        return store;
+    }
+
+    /**
+     * Reads the magic number from the start of the given data.
+     * @param data the file contents.
+     * @return an integer.
+     */
+    private static int readMagic(byte[] data) {
+        return ((data[0] & 0xFF) << 24)
+                | ((data[1] & 0xFF) << 16)
+                | ((data[2] & 0xFF) << 8)
+                | (data[3] & 0xFF);
+    }
+
+    /**
+     * Reads high scores stored in the older comma-separated format.
+     * @param data the file contents.
+     */
+    private void readLegacy(byte[] data) {
+        String text = new String(data, StandardCharsets.UTF_8);
+        for (String line : text.split("\\R")) {
+            // Each info part is delimited by a comma.
+            String[] lineParts = line.split(",");
+            if (lineParts.length != 3) {
+                continue;
+            }
+            try {
+                int difficulty = Integer.parseInt(lineParts[2]);
+                Leaderboard leaderboard = this.getLeaderboard(difficulty);
+                if (leaderboard == null) {
+                    continue;
+                }
+                leaderboard.add(new GameScore(
+                        lineParts[0],
+                        Integer.parseInt(lineParts[1]),
+                        difficulty));
+            } catch (NumberFormatException e) {
+                continue;
+            }
+        }
+    }
+
+}
@@ -0,0 +1,153 @@
+package game;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.scene.image.Image;
+
+/**
+ * This class refers to an image asset which is only loaded when it is
+ * first used. Handles are shared, so each asset is loaded at most once
+ * no matter how many classes or objects refer to it. Loaded images are
+ * tracked by the {@link ImageRegistry}, which may unload them again.
+ */
+public final class ImageHandle {
+
+    /** Handles that were already created, keyed by asset path. */
+    private static final ConcurrentHashMap<String, ImageHandle> HANDLES =
+            new ConcurrentHashMap<String, ImageHandle>();
+
+    /** The asset path. */
+    private final String assetPath;
+    /** The width the image is scaled to when loaded, or 0. */
+    private final double requestedWidth;
+    /** The height the image is scaled to when loaded, or 0. */
+    private final double requestedHeight;
+    /** The loaded image, or null if it was not used yet or unloaded. */
+    private volatile Image image;
+    /** The last scope this image was counted towards, or null. */
+    private volatile Object countedScope;
+
+    /**
+     * Constructs an instance of ImageHandle.
+     * @param assetPath a String containing the asset path.
+     * @param requestedWidth the width to scale to, or 0.
+     * @param requestedHeight the height to scale to, or 0.
+     */
+    private ImageHandle(String assetPath, double requestedWidth,
+            double requestedHeight) {
+        this.assetPath = assetPath;
+        this.requestedWidth = requestedWidth;
+        this.requestedHeight = requestedHeight;
+        this.image = null;
+        this.countedScope = null;
+    }
+
+    /**
+     * Retrieves the shared handle of the given asset. This does not
+     * load the image.
+     * @param assetPath a String containing the asset path.
+     * @return an ImageHandle object.
+     */
+    public static ImageHandle of(String assetPath) {
+        return ImageHandle.of(assetPath, 0, 0);
+    }
+
+    /**
+     * Retrieves the shared handle of the given asset, scaled to the
+     * given size without smoothing when loaded. This does not load
+     * the image.
+     * @param assetPath a String containing the asset path.
+     * @param width the width to scale to, or 0 for the original width.
+     * @param height the height to scale to, or 0 for the original height.
+     * @return an ImageHandle object.
+     */
+    public static ImageHandle of(String assetPath, double width,
+            double height) {
+        String key = assetPath;
+        if (width != 0 || height != 0) {
+            key += "@" + width + "x" + height;
+        }
+        ImageHandle handle = HANDLES.get(key);
+        if (handle == null) {
+            handle = new ImageHandle(assetPath, width, height);
+            ImageHandle existing = HANDLES.putIfAbsent(key, handle);
+            if (existing != null) {
+                handle = existing;
+            }
+        }
+        return handle;
+    }
+
+    /**
+     * Retrieves the image, loading it on first use.
+     * @return an Image object.
+     */
+    public Image get() {
+        Image result = this.image;
+        if (result == null) {
+            boolean loadedNow = false;
+            synchronized (this) {
+                result = this.image;
+                if (result == null) {
+                    result = new Image(Game.getAsset(this.assetPath),
+                            this.requestedWidth, this.requestedHeight,
+                            false, false);
+                    this.image = result;
+                    loadedNow = true;
+                }
+            }
+            // The registry is notified without holding this handle's
+            // lock, since it may unload other handles.
+            if (loadedNow) {
+                ImageRegistry.loaded(this, result);
+            }
+        }
+        // Only the first use in a scope needs the registry's lock.
+        Object scope = ImageRegistry.getScope();
+        if (scope != null && scope != this.countedScope) {
+            ImageRegistry.used(this);
+        }
+        return result;
+    }
+
+    /**
+     * Drops the loaded image, which is loaded again on its next use.
+     * Sprites already using the image keep it until they're discarded.
+     */
+    void unload() {
+        this.image = null;
+    }
+
+    /**
+     * Retrieves the last scope this image was counted towards.
+     * @return an Object, or null if none.
+     */
+    Object getCountedScope() {
+        return this.countedScope;
+    }
+
+    /**
+     * Specifies the last scope this image was counted towards.
+     * @param scope an Object, or null if none.
+     */
+    void setCountedScope(Object scope) {
+        this.countedScope = scope;
+    }
+
+    /**
+     * Retrieves whether the image was already loaded.
+     * @return a boolean.
+     */
+    public boolean isLoaded() {
+        return this.image != null;
+    }
+
+    /**
+     * Retrieves the asset path.
+     * @return a String object.
+     */
+    public String getAssetPath() {
+        return this.assetPath;
+    }
+
+}
@@ -0,0 +1,215 @@
+package game;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+
+/**
+ * This utility class keeps track of the loaded image assets and of the
+ * scenes using them. Images no longer used by any scene stay loaded
+ * until the decoded pixels of all loaded images exceed the memory budget
+ * set through the {@code deadwood.images.budget} system property (in
+ * MiB); the least recently used of them are unloaded first.
+ * @implNote Only images used on the JavaFX application thread are
+ *           counted towards a scene. Each handle remembers the scope it
+ *           was last counted towards, so the lock is only taken the
+ *           first time an image is used in a scope, and recency is
+ *           tracked at that granularity. Images used elsewhere, such as by
+ *           simulated levels, are never referenced and may be unloaded
+ *           at any time, to be loaded again on their next use.
+ */
+public final class ImageRegistry {
+
+    /** The system property used to set the memory budget. */
+    public static final String PROPERTY_BUDGET = "deadwood.images.budget";
+
+    /** The default memory budget, in MiB. */
+    private static final int DEFAULT_BUDGET = 16;
+    /** The memory budget of all loaded images, in bytes. */
+    private static final long MEMORY_BUDGET =
+            Integer.getInteger(PROPERTY_BUDGET, DEFAULT_BUDGET)
+            * 1024L * 1024L;
+    /** Bytes per decoded pixel. */
+    private static final int BYTES_PER_PIXEL = 4;
+
+    /** Loaded images and their size, from least to most recently used. */
+    private static final LinkedHashMap<ImageHandle, Long> LOADED =
+            new LinkedHashMap<ImageHandle, Long>(16, 0.75f, true);
+    /** Images used by each scope. */
+    private static final IdentityHashMap<Object, HashSet<ImageHandle>>
+            SCOPES = new IdentityHashMap<Object, HashSet<ImageHandle>>();
+    /** The number of scopes using each image. */
+    private static final HashMap<ImageHandle, Integer> REFERENCES =
+            new HashMap<ImageHandle, Integer>();
+
+    /** The scope that images are currently counted towards, or null. */
+    private static volatile Object currentScope = null;
+    /** The decoded size of all loaded images, in bytes. */
+    private static long loadedBytes = 0;
+    /** The number of images unloaded so far. */
+    private static long unloadedCount = 0;
+
+    /**
+     * Specifies the scope (usually a scene) that images used from now on
+     * are counted towards.
+     * @param owner the object owning the scope.
+     */
+    public static synchronized void setScope(Object owner) {
+        ImageRegistry.currentScope = owner;
+    }
+
+    /**
+     * Retrieves the scope that images are currently counted towards.
+     * @return an Object, or null if none.
+     */
+    static Object getScope() {
+        return ImageRegistry.currentScope;
+    }
+
+    /**
+     * Releases all images used by the given scope, then unloads unused
+     * images if the memory budget is exceeded.
+     * @param owner the object owning the scope.
+     */
+    public static synchronized void releaseScope(Object owner) {
+        if (ImageRegistry.currentScope == owner) {
+            ImageRegistry.currentScope = null;
+        }
+        HashSet<ImageHandle> handles = SCOPES.remove(owner);
+        if (handles != null) {
+            for (ImageHandle handle : handles) {
+                if (handle.getCountedScope() == owner) {
+                    handle.setCountedScope(null);
+                }
+                int references = REFERENCES.get(handle) - 1;
+                if (references == 0) {
+                    REFERENCES.remove(handle);
+                } else {
+                    REFERENCES.put(handle, references);
+                }
+            }
+        }
+        ImageRegistry.trim();
+    }
+
+    /**
+     * Records that the given image was loaded.
+     * @param handle the ImageHandle object.
+     * @param image the loaded Image object.
+     */
+    static synchronized void loaded(ImageHandle handle, Image image) {
+        long bytes = (long) image.getWidth() * (long) image.getHeight()
+                * BYTES_PER_PIXEL;
+        Long previous = LOADED.put(handle, bytes);
+        if (previous != null) {
+            ImageRegistry.loadedBytes -= previous;
+        }
+        ImageRegistry.loadedBytes += bytes;
+        ImageRegistry.trim();
+    }
+
+    /**
+     * Records that the given image was used for the first time in the
+     * current scope, counting it towards that scope.
+     * @param handle the ImageHandle object.
+     */
+    static synchronized void used(ImageHandle handle) {
+        Object owner = ImageRegistry.currentScope;
+        if (owner == null || !Platform.isFxApplicationThread()) {
+            return;
+        }
+        // Mark as recently used.
+        LOADED.get(handle);
+        handle.setCountedScope(owner);
+
+        HashSet<ImageHandle> handles = SCOPES.get(owner);
+        if (handles == null) {
+            handles = new HashSet<ImageHandle>();
+            SCOPES.put(owner, handles);
+        }
+        if (handles.add(handle)) {
+            Integer references = REFERENCES.get(handle);
+            REFERENCES.put(handle,
+                    (references == null) ? 1 : references + 1);
+        }
+    }
+
+    /**
+     * Unloads the least recently used images that no scope uses, until
+     * the memory budget is no longer exceeded.
+     */
+    public static synchronized void trim() {
+        Iterator<Map.Entry<ImageHandle, Long>> iterator =
+                LOADED.entrySet().iterator();
+        while (ImageRegistry.loadedBytes > MEMORY_BUDGET
+                && iterator.hasNext()) {
+            Map.Entry<ImageHandle, Long> entry = iterator.next();
+            if (REFERENCES.containsKey(entry.getKey())) {
+                continue;
+            }
+            entry.getKey().unload();
+            iterator.remove();
+            ImageRegistry.loadedBytes -= entry.getValue();
+            ImageRegistry.unloadedCount++;
+        }
+    }
+
+    /**
+     * Retrieves the decoded size of all loaded images.
+     * @return a long containing the size in bytes.
+     */
+    public static synchronized long getLoadedBytes() {
+        return ImageRegistry.loadedBytes;
+    }
+
+    /**
+     * Retrieves the number of loaded images.
+     * @return an integer.
+     */
+    public static synchronized int getLoadedCount() {
+        return LOADED.size();
+    }
+
+    /**
+     * Retrieves the number of images used by at least one scope.
+     * @return an integer.
+     */
+    public static synchronized int getReferencedCount() {
+        return REFERENCES.size();
+    }
+
+    /**
+     * Retrieves the number of images unloaded so far.
+     * @return a long.
+     */
+    public static synchronized long getUnloadedCount() {
+        return ImageRegistry.unloadedCount;
+    }
+
+    /**
+     * Retrieves the memory budget of all loaded images.
+     * @return a long containing the size in bytes.
+     */
+    public static long getMemoryBudget() {
+        return MEMORY_BUDGET;
+    }
+
+    /**
+     * Retrieves a summary of the loaded images.
+     * @return a String object.
+     */
+    public static synchronized String getReport() {
+        return LOADED.size() + " loaded ("
+                + (ImageRegistry.loadedBytes / 1024) + " KiB of "
+                + (MEMORY_BUDGET / 1024) + " KiB), "
+                + REFERENCES.size() + " referenced, "
+                + ImageRegistry.unloadedCount + " unloaded";
+    }
+
+}
@@ -0,0 +1,215 @@
+package game;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javafx.scene.input.KeyCode;
+
+/**
+ * This class records key transitions as they arrive and lets the game
+ * loop poll them at a fixed point in each tick. It also measures the
+ * time from each batch of input to the end of the first frame drawn
+ * after it was handled.
+ * @implNote The buffer is a lock-free ring with a single producer (the
+ *           event handler) and a single consumer (the game loop). If it
+ *           is full, new transitions are dropped and counted.
+ */
+public final class InputBuffer {
+
+    /** The number of transitions that can be buffered (power of two). */
+    private static final int CAPACITY = 256;
+    /** The mask used to wrap sequence numbers to buffer indices. */
+    private static final int INDEX_MASK = CAPACITY - 1;
+    /** All key codes, indexed by ordinal. */
+    private static final KeyCode[] KEY_CODES = KeyCode.values();
+
+    /** Buffered key code ordinals. */
+    private final int[] codes;
+    /** Buffered transition kinds (pressed or released). */
+    private final boolean[] pressed;
+    /** Buffered transition times, in nanoseconds. */
+    private final long[] timestamps;
+    /** Sequence number of the next transition to be read. */
+    private final AtomicLong head;
+    /** Sequence number of the next transition to be written. */
+    private final AtomicLong tail;
+    /** Number of transitions dropped because the buffer was full. */
+    private final AtomicLong dropped;
+
+    /** Polled transition: key code. */
+    private KeyCode currentCode;
+    /** Polled transition: whether the key was pressed. */
+    private boolean currentPressed;
+    /** Polled transition: time, in nanoseconds. */
+    private long currentTimestamp;
+
+    /** Time of the oldest handled transition not yet drawn, or -1. */
+    private long pendingTimestamp;
+    /** Latency: number of samples. */
+    private long latencyCount;
+    /** Latency: sum of all samples. */
+    private long latencyTotal;
+    /** Latency: largest sample. */
+    private long latencyMax;
+
+    /**
+     * Constructs an empty instance of InputBuffer.
+     */
+    public InputBuffer() {
+        this.codes = new int[CAPACITY];
+        this.pressed = new boolean[CAPACITY];
+        this.timestamps = new long[CAPACITY];
+        this.head = new AtomicLong();
+        this.tail = new AtomicLong();
+        this.dropped = new AtomicLong();
+
+        this.currentCode = null;
+        this.currentPressed = false;
+        this.currentTimestamp = 0;
+
+        this.pendingTimestamp = -1;
+        this.latencyCount = 0;
+        this.latencyTotal = 0;
+        this.latencyMax = 0;
+    }
+
+    /**
+     * Records a key transition. This must only be called by the producer.
+     * @param code the key code.
+     * @param isPressed whether the key was pressed or released.
+     * @param timestamp the time of the transition, in nanoseconds.
+     * @return a boolean indicating if the transition was recorded.
+     */
+    public boolean offer(KeyCode code, boolean isPressed, long timestamp) {
+        long sequence = this.tail.get();
+        if (sequence - this.head.getAcquire() >= CAPACITY) {
+            this.dropped.incrementAndGet();
+            return false;
+        }
+        int index = (int) (sequence & INDEX_MASK);
+        this.codes[index] = code.ordinal();
+        this.pressed[index] = isPressed;
+        this.timestamps[index] = timestamp;
+        // Publish the slot only after it was written.
+        this.tail.setRelease(sequence + 1);
+        return true;
+    }
+
+    /**
+     * Reads the next key transition, which is then available through
+     * the getters. This must only be called by the consumer.
+     * @return a boolean indicating if there was a transition to read.
+     */
+    public boolean poll() {
+        long sequence = this.head.get();
+        if (sequence >= this.tail.getAcquire()) {
+            return false;
+        }
+        int index = (int) (sequence & INDEX_MASK);
+        this.currentCode = KEY_CODES[this.codes[index]];
+        this.currentPressed = this.pressed[index];
+        this.currentTimestamp = this.timestamps[index];
+        // Free the slot only after it was read.
+        this.head.setRelease(sequence + 1);
+
+        if (this.pendingTimestamp == -1) {
+            this.pendingTimestamp = this.currentTimestamp;
+        }
+        return true;
+    }
+
+    /**
+     * Discards all buffered transitions, along with any pending latency
+     * sample. This must only be called by the consumer.
+     */
+    public void clear() {
+        this.head.setRelease(this.tail.getAcquire());
+        this.pendingTimestamp = -1;
+    }
+
+    /**
+     * Retrieves the key code of the last polled transition.
+     * @return a KeyCode.
+     */
+    public KeyCode getCode() {
+        return this.currentCode;
+    }
+
+    /**
+     * Retrieves whether the key of the last polled transition was pressed.
+     * @return a boolean.
+     */
+    public boolean isPressed() {
+        return this.currentPressed;
+    }
+
+    /**
+     * Retrieves the time of the last polled transition.
+     * @return a long containing the time in nanoseconds.
+     */
+    public long getTimestamp() {
+        return this.currentTimestamp;
+    }
+
+    /**
+     * Records a latency sample if input was handled before the frame
+     * which was just drawn. This must only be called by the consumer.
+     * @param now the time the frame was drawn, in nanoseconds.
+     */
+    public void markFrameDrawn(long now) {
+        if (this.pendingTimestamp == -1) {
+            return;
+        }
+        long latency = now - this.pendingTimestamp;
+        this.pendingTimestamp = -1;
+        this.latencyCount++;
+        this.latencyTotal += latency;
+        this.latencyMax = Math.max(this.latencyMax, latency);
+    }
+
+    /**
+     * Retrieves the number of dropped transitions.
+     * @return a long.
+     */
+    public long getDroppedCount() {
+        return this.dropped.get();
+    }
+
+    /**
+     * Retrieves the number of latency samples.
+     * @return a long.
+     */
+    public long getLatencyCount() {
+        return this.latencyCount;
+    }
+
+    /**
+     * Retrieves the average input latency.
+     * @return a long containing the latency in nanoseconds.
+     */
+    public long getAverageLatency() {
+        if (this.latencyCount == 0) {
+            return 0;
+        }
+        return this.latencyTotal / this.latencyCount;
+    }
+
+    /**
+     * Retrieves the largest input latency.
+     * @return a long containing the latency in nanoseconds.
+     */
+    public long getMaxLatency() {
+        return this.latencyMax;
+    }
+
+    @Override
+    public String toString() {
+        return "samples=" + this.latencyCount
+                + ", avg=" + TimeUnit.NANOSECONDS.toMicros(
+                        this.getAverageLatency()) + " us"
+                + ", max=" + TimeUnit.NANOSECONDS.toMicros(
+                        this.latencyMax) + " us"
+                + ", dropped=" + this.getDroppedCount();
+    }
+
+}
@@ -0,0 +1,117 @@
+package game;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * This class stores the high scores of a single difficulty, sorted
+ * from the highest to the lowest score. Ranks are found with a binary
+ * search, so lookups stay fast even with thousands of entries.
+ */
+public final class Leaderboard {
+
+    /** Entries sorted from the highest to the lowest score. */
+    private ArrayList<GameScore> entries;
+    /** The maximum number of entries that can be stored. */
+    private int capacity;
+
+    /**
+     * Constructs an empty instance of Leaderboard.
+     * @param capacity the maximum number of entries that can be stored.
+     */
+    public Leaderboard(int capacity) {
+        this.entries = new ArrayList<GameScore>();
+        this.capacity = capacity;
+    }
+
+    /**
+     * Retrieves the rank (zero-based) that the given score would have
+     * if it were added. Ties are ranked after existing entries.
+     * @param score the player's score.
+     * @return an integer, or -1 if the score doesn't qualify.
+     */
+    public int getRank(int score) {
+        int low = 0;
+        int high = this.entries.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (this.entries.get(mid).getScore() >= score) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return (low < this.capacity) ? low : -1;
+    }
+
+    /**
+     * Adds the given entry if its score qualifies.
+     * @param score a GameScore object.
+     * @return the rank of the added entry, or -1 if it wasn't added.
+     */
+    public int add(GameScore score) {
+        int rank = this.getRank(score.getScore());
+        if (rank == -1) {
+            return -1;
+        }
+        this.entries.add(rank, score);
+        // Drop the lowest entry if we're over capacity.
+        if (this.entries.size() > this.capacity) {
+            this.entries.remove(this.entries.size() - 1);
+        }
+        return rank;
+    }
+
+    /**
+     * Appends an entry that is known to rank after all existing entries.
+     * This is used when loading entries that were stored in order.
+     * @param score a GameScore object.
+     * @return a boolean indicating if the entry was appended in order.
+     */
+    boolean append(GameScore score) {
+        int size = this.entries.size();
+        if (size >= this.capacity) {
+            return false;
+        }
+        if (size > 0
+                && this.entries.get(size - 1).getScore() < score.getScore()) {
+            return this.add(score) != -1;
+        }
+        this.entries.add(score);
+        return true;
+    }
+
+    /**
+     * Retrieves a page of entries starting from the given rank.
+     * @param offset the rank of the first entry.
+     * @param count the maximum number of entries.
+     * @return an unmodifiable list of entries.
+     */
+    public List<GameScore> getPage(int offset, int count) {
+        int size = this.entries.size();
+        if (offset < 0 || offset >= size || count <= 0) {
+            return Collections.emptyList();
+        }
+        int end = Math.min(size, offset + count);
+        return Collections.unmodifiableList(
+                new ArrayList<GameScore>(this.entries.subList(offset, end)));
+    }
+
+    /**
+     * Retrieves all entries in rank order.
+     * @return an unmodifiable list of entries.
+     */
+    List<GameScore> getEntries() {
+        return Collections.unmodifiableList(this.entries);
+    }
+
+    /**
+     * Retrieves the number of stored entries.
+     * @return an integer.
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+}
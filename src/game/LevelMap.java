@@ -2,21 +2,21 @@ package game;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Map;
+import java.util.TreeMap;
 
-import game.entities.Bullet;
 import game.entities.Entity;
-import game.entities.Outlaw;
 import game.entities.Sprite;
 import game.entities.Tile;
-import game.entities.mobs.Mob;
-import game.entities.powerups.Powerup;
 import game.entities.props.HouseProp;
 import game.entities.props.Prop;
 import game.entities.props.TreeProp;
 import game.entities.props.WagonProp;
-import javafx.scene.canvas.GraphicsContext;
+import game.render.Renderer;
+import javafx.geometry.Rectangle2D;
 
 /**
  * This class represents the maps used for each level and stores
@@ -30,23 +30,31 @@ public class LevelMap {
     private static final Tile TILE_DESERT =
             new Tile("tilemap_desert.png", 3, 4, 1);
 
-    /** Tile Map Generator constants. **/
-    /** Used to determine if a certain map feature should be present. */
-    private static final int TILEGEN_MATCH = 1;
-    /** Frequency: current tile has either grass or rock. */
-    private static final int TILEGEN_FREQ_GRASS_OR_ROCK = 6;
-    /** Frequency: current tile has a cactus. */
-    private static final int TILEGEN_FREQ_CACTUS = 50;
-    /** Frequency: current tile has a prop. */
-    private static final int TILEGEN_FREQ_PROPS = 150;
-
     /** Transparency of Layer 1. */
     private static final double TILE_LAYER1_ALPHA = 0.5;
 
-    /** Tile map information: Layer 1 */
-    private int[] tileLayer1;
-    /** Tile map information: Layer 2 */
-    private int[] tileLayer2;
+    /** Tuning: maximum number of tile chunks kept in memory. This is a
+        chunk count rather than a memory limit; each chunk holds two
+        layers of 8x8 tile numbers, or about 512 bytes. */
+    private static final int MAX_CACHED_CHUNKS = 64;
+    /** Tuning: distance (in chunks) from the viewport where entities
+        are still updated. */
+    private static final int ACTIVE_CHUNK_RADIUS = 1;
+
+    /** The width of the world. */
+    private int worldWidth;
+    /** The height of the world. */
+    private int worldHeight;
+    /** The number of tile columns in the world. */
+    private int worldColumns;
+    /** The number of tile rows in the world. */
+    private int worldRows;
+    /** The camera showing a part of the world. */
+    private Camera camera;
+    /** The seed from which the tile chunks are generated. */
+    private long tileSeed;
+    /** Recently used tile chunks, keyed by their chunk position. */
+    private LinkedHashMap<Long, TileChunk> tileChunks;
 
     /** Entities in the current level. */
     private ArrayList<Entity> entities;
@@ -60,6 +68,12 @@ public class LevelMap {
     /** List iterator for overlay sprites. */
     private ListIterator<Sprite> overlayIterator;
 
+    /** The number of entities removed by the reap policies. */
+    private long reapedCount;
+
+    /** The region damaged by changes to this map, if tracked. */
+    private DirtyRegion dirtyRegion;
+
     /** Indicates if tile generation is done. */
     private boolean tilesGenerated;
     /** Indicates if prop generation is done. */
@@ -68,10 +82,32 @@ public class LevelMap {
     /**
      * Constructs an instance of LevelMap.
      * @param excludeProps whether props should not be generated.
+     * @param worldWidth the width of the world.
+     * @param worldHeight the height of the world.
      */
-    public LevelMap(boolean excludeProps) {
+    public LevelMap(boolean excludeProps, int worldWidth, int worldHeight) {
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+        this.worldColumns = (int) Math.ceil(
+                (double) worldWidth / Tile.SIZE_MID);
+        this.worldRows = (int) Math.ceil(
+                (double) worldHeight / Tile.SIZE_MID);
+        this.camera = new Camera(worldWidth, worldHeight);
+        this.tileSeed = 0;
+        // Evict the least recently drawn chunk once the cache is full.
+        this.tileChunks = new LinkedHashMap<Long, TileChunk>(
+                MAX_CACHED_CHUNKS, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(
+                    Map.Entry<Long, TileChunk> eldest) {
+                return this.size() > MAX_CACHED_CHUNKS;
+            }
+        };
+
         this.tilesGenerated = false;
         this.propsGenerated = excludeProps;
+        this.dirtyRegion = null;
+        this.reapedCount = 0;
 
         this.entities = new ArrayList<Entity>();
         this.overlays = new ArrayList<Sprite>();
@@ -81,6 +117,14 @@ public class LevelMap {
         this.overlayIterator = this.overlays.listIterator();
     }
 
+    /**
+     * Constructs an instance of LevelMap that fits the game window.
+     * @param excludeProps whether props should not be generated.
+     */
+    public LevelMap(boolean excludeProps) {
+        this(excludeProps, Game.WINDOW_MAX_WIDTH, Game.WINDOW_MAX_HEIGHT);
+    }
+
     /**
      * Constructs an instance of LevelMap with randomly-generated props.
      */
@@ -97,37 +141,37 @@ public class LevelMap {
             return;
         }
 
-        tileLayer1 = new int[Tile.ALL];
-        tileLayer2 = new int[Tile.ALL];
-
-        // Holds the current tile ID.
-        int tileId = 0;
-        // Iterate through each tile.
-        for (int i = 0; i < Tile.ALL_VERTICAL; i++) {
-            for (int j = 0; j < Tile.ALL_HORIZONTAL; j++) {
-                // Generate: land tile.
-                tileLayer1[tileId] = Game.RNG.nextInt(0, 4);
-                // Generate: grass.
-                if (Game.RNG.nextInt(TILEGEN_FREQ_GRASS_OR_ROCK) == TILEGEN_MATCH) {
-                    tileLayer2[tileId] = Game.RNG.nextInt(6, 8);
-                // Generate: rocks.
-                } else if (Game.RNG.nextInt(TILEGEN_FREQ_GRASS_OR_ROCK) == TILEGEN_MATCH) {
-                    tileLayer2[tileId] = Game.RNG.nextInt(8, 10);
-                // Generate: cactus.
-                } else if (Game.RNG.nextInt(TILEGEN_FREQ_CACTUS) == TILEGEN_MATCH) {
-                    tileLayer2[tileId] = Game.RNG.nextInt(4, 6);
-                // Generate: sign.
-                } else if (Game.RNG.nextInt(TILEGEN_FREQ_PROPS) == TILEGEN_MATCH) {
-                    tileLayer2[tileId] = 10;
-                // Generate: fossil.
-                } else if (Game.RNG.nextInt(TILEGEN_FREQ_PROPS) == TILEGEN_MATCH) {
-                    tileLayer2[tileId] = 11;
-                }
-                tileId++;
-            }
+        // Tile chunks are generated lazily once they're drawn.
+        this.tileSeed = Game.RNG.nextLong();
+        this.tileChunks.clear();
+
+        this.tilesGenerated = true;
+        if (this.dirtyRegion != null) {
+            this.dirtyRegion.markAll();
         }
+    }
+
+    /**
+     * Retrieves the seed from which the map tiles are generated.
+     * @return a long.
+     */
+    public long getTileSeed() {
+        return this.tileSeed;
+    }
+
+    /**
+     * Specifies the seed from which the map tiles are generated, e.g.
+     * to restore the tiles of a suspended level.
+     * @param tileSeed a long.
+     */
+    public void setTileSeed(long tileSeed) {
+        this.tileSeed = tileSeed;
+        this.tileChunks.clear();
 
         this.tilesGenerated = true;
+        if (this.dirtyRegion != null) {
+            this.dirtyRegion.markAll();
+        }
     }
 
     /**
@@ -153,22 +197,27 @@ public class LevelMap {
             generatedProps.clear();
         }
 
+        // Tree positions are picked for a window-sized area, then
+        // stretched to cover the whole world.
         for (int i = 0; i < 3; i++) {
+            int x = Game.RNG.nextInt(1, 8) * Game.RNG.nextInt(1, 3) * 60;
+            int y = Game.RNG.nextInt(2, 6) * Game.RNG.nextInt(1, 3) * 60;
             Prop tree = new TreeProp(
-                    Game.RNG.nextInt(1, 8) * Game.RNG.nextInt(1, 3) * 60,
-                    Game.RNG.nextInt(2, 6) * Game.RNG.nextInt(1, 3) * 60);
+                    (int) ((long) x * this.worldWidth / Game.WINDOW_MAX_WIDTH),
+                    (int) ((long) y * this.worldHeight / Game.WINDOW_MAX_HEIGHT));
             this.generatedProps.add(tree);
             this.entityIterator.add(tree);
         }
 
         Prop wagon = new WagonProp(
-                Game.RNG.nextInt(50, Game.WINDOW_MAX_WIDTH / 2),
-                Game.RNG.nextInt(3, 6) * 100);
+                Game.RNG.nextInt(50, this.worldWidth / 2),
+                (int) ((long) Game.RNG.nextInt(3, 6) * 100
+                        * this.worldHeight / Game.WINDOW_MAX_HEIGHT));
         this.generatedProps.add(wagon);
         this.entityIterator.add(wagon);
 
         Prop house = new HouseProp(
-                Game.RNG.nextInt(Game.WINDOW_MAX_WIDTH / 2, Game.WINDOW_MAX_WIDTH),
+                Game.RNG.nextInt(this.worldWidth / 2, this.worldWidth),
                 -100);
         this.generatedProps.add(house);
         this.entityIterator.add(house);
@@ -191,67 +240,230 @@ public class LevelMap {
         // Ensure sprites are sorted by y-order.
         Collections.sort(this.entities);
 
+        int activeMargin = ACTIVE_CHUNK_RADIUS * TileChunk.SIZE * Tile.SIZE_MID;
         this.entityIterator = this.entities.listIterator();
         while (this.entityIterator.hasNext()) {
             Entity entity = this.entityIterator.next();
+            if (!entity.getRemoved() && this.shouldReap(entity)) {
+                entity.remove();
+                this.reapedCount++;
+            }
             if (entity.getRemoved()) {
+                this.markRemoved(entity);
                 this.entityIterator.remove();
-            } else {
+            } else if (!entity.canSleep()
+                    || this.camera.isVisible(entity.getBounds(), activeMargin)) {
                 entity.update(now);
             }
         }
 
+        FrameProfiler.begin(FrameProfiler.PHASE_OVERLAY);
         this.overlayIterator = this.overlays.listIterator();
         while (this.overlayIterator.hasNext()) {
             Sprite sprite = this.overlayIterator.next();
             if (sprite.getRemoved()) {
+                this.markRemoved(sprite);
                 this.overlayIterator.remove();
             } else {
                 sprite.update(now);
             }
         }
+        FrameProfiler.end();
+    }
+
+    /**
+     * Checks whether the given entity should be removed according to
+     * its reap policy.
+     * @param entity an Entity object.
+     * @return a boolean.
+     */
+    private boolean shouldReap(Entity entity) {
+        int policy = entity.getReapPolicy();
+        if (policy == Entity.REAP_NEVER) {
+            return false;
+        }
+        if ((policy & Entity.REAP_EXPIRED) != 0 && entity.isExpired()) {
+            return true;
+        }
+        if ((policy & Entity.REAP_INERT) != 0 && entity.isInert()) {
+            return true;
+        }
+        if ((policy & Entity.REAP_OFF_WORLD) != 0) {
+            Rectangle2D bounds = entity.getBounds();
+            return bounds.getMaxX() < 0 || bounds.getMinX() > this.worldWidth
+                    || bounds.getMaxY() < 0 || bounds.getMinY() > this.worldHeight;
+        }
+        return false;
+    }
+
+    /**
+     * Adds the area of a removed sprite to the tracked dirty region.
+     * @param sprite a Sprite object.
+     */
+    private void markRemoved(Sprite sprite) {
+        if (this.dirtyRegion != null) {
+            this.dirtyRegion.add(sprite.getLastDrawnBounds());
+        }
+    }
+
+    /**
+     * Adds the areas affected by changed entities and overlay sprites
+     * to the tracked dirty region.
+     */
+    public void collectDamage() {
+        if (this.dirtyRegion == null) {
+            return;
+        }
+        for (Entity entity : this.entities) {
+            entity.collectDamage(this.dirtyRegion);
+        }
+        for (Sprite sprite : this.overlays) {
+            sprite.collectDamage(this.dirtyRegion);
+        }
     }
 
     /**
      * Draws tile layers, entities, and overlay sprites.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    public void draw(GraphicsContext gc) {
+    public void draw(Renderer gc) {
+        this.draw(gc, null);
+    }
+
+    /**
+     * Draws the tile layers, entities, and overlay sprites that overlap
+     * the given region.
+     * @param gc a Renderer object.
+     * @param region the region to be drawn, or null to draw everything.
+     */
+    public void draw(Renderer gc, DirtyRegion region) {
+        // Determine the visible part of the world.
+        double minX = this.camera.getX();
+        double minY = this.camera.getY();
+        double maxX = minX + this.camera.getViewportWidth();
+        double maxY = minY + this.camera.getViewportHeight();
+        if (region != null && !region.isFull()) {
+            minX += region.getMinX();
+            minY += region.getMinY();
+            maxX = minX + region.getWidth();
+            maxY = minY + region.getHeight();
+        }
         // Draw the tile layers only if they're available.
         if (this.tilesGenerated) {
-            int tileX = 0;
-            int tileY = 0;
-            int tileId = 0;
-            for (int i = 0; i < Tile.ALL_VERTICAL; i++) {
-                tileY = Tile.SIZE_MID * i;
-                for (int j = 0; j < Tile.ALL_HORIZONTAL; j++) {
-                    tileX = Tile.SIZE_MID * j;
-                    // Draw from the desert tileset.
-                    gc.save();
-                    gc.setGlobalAlpha(TILE_LAYER1_ALPHA);
-                    TILE_DESERT.draw(
-                            gc, tileX, tileY, tileLayer1[tileId]);
-                    gc.restore();
-                    if (tileLayer2[tileId] != 0) {
-                        TILE_DESERT.draw(
-                                gc, tileX, tileY, tileLayer2[tileId]);
-                    }
-                    tileId++;
-                }
-            }
+            this.drawTiles(gc,
+                    Math.max(0, (int) (minX / Tile.SIZE_MID)),
+                    Math.max(0, (int) (minY / Tile.SIZE_MID)),
+                    Math.min(this.worldColumns,
+                            (int) Math.ceil(maxX / Tile.SIZE_MID)),
+                    Math.min(this.worldRows,
+                            (int) Math.ceil(maxY / Tile.SIZE_MID)));
         }
         // Draw all entities.
         this.entityIterator = this.entities.listIterator();
         while (this.entityIterator.hasNext()) {
             Entity entity = this.entityIterator.next();
-            entity.draw(gc);
+            if (isInArea(entity, minX, minY, maxX, maxY)) {
+                entity.draw(gc);
+            }
         }
         // Draw all overlay sprites.
         this.overlayIterator = this.overlays.listIterator();
         while (this.overlayIterator.hasNext()) {
             Sprite sprite = this.overlayIterator.next();
-            sprite.draw(gc);
+            if (isInArea(sprite, minX, minY, maxX, maxY)) {
+                sprite.draw(gc);
+            }
+        }
+    }
+
+    /**
+     * Draws the tiles within the given range, generating the tile
+     * chunks that weren't generated yet.
+     * @param gc a Renderer object.
+     * @param minColumn the first column (inclusive).
+     * @param minRow the first row (inclusive).
+     * @param maxColumn the last column (exclusive).
+     * @param maxRow the last row (exclusive).
+     */
+    private void drawTiles(Renderer gc, int minColumn, int minRow,
+            int maxColumn, int maxRow) {
+        if (minColumn >= maxColumn || minRow >= maxRow) {
+            return;
+        }
+        int minChunkX = minColumn / TileChunk.SIZE;
+        int minChunkY = minRow / TileChunk.SIZE;
+        int maxChunkX = (maxColumn - 1) / TileChunk.SIZE;
+        int maxChunkY = (maxRow - 1) / TileChunk.SIZE;
+        for (int chunkY = minChunkY; chunkY <= maxChunkY; chunkY++) {
+            for (int chunkX = minChunkX; chunkX <= maxChunkX; chunkX++) {
+                TileChunk chunk = this.getTileChunk(chunkX, chunkY);
+                int baseColumn = chunkX * TileChunk.SIZE;
+                int baseRow = chunkY * TileChunk.SIZE;
+                int startColumn = Math.max(minColumn, baseColumn);
+                int endColumn = Math.min(maxColumn, baseColumn + TileChunk.SIZE);
+                int startRow = Math.max(minRow, baseRow);
+                int endRow = Math.min(maxRow, baseRow + TileChunk.SIZE);
+                for (int i = startRow; i < endRow; i++) {
+                    int tileY = Tile.SIZE_MID * i;
+                    for (int j = startColumn; j < endColumn; j++) {
+                        int tileX = Tile.SIZE_MID * j;
+                        // Draw from the desert tileset.
+                        gc.save();
+                        gc.setGlobalAlpha(TILE_LAYER1_ALPHA);
+                        TILE_DESERT.draw(gc, tileX, tileY,
+                                chunk.getLayer1(j - baseColumn, i - baseRow));
+                        gc.restore();
+                        int layer2 = chunk.getLayer2(
+                                j - baseColumn, i - baseRow);
+                        if (layer2 != 0) {
+                            TILE_DESERT.draw(gc, tileX, tileY, layer2);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Retrieves the tile chunk at the given chunk position, generating
+     * it if it isn't cached.
+     * @param chunkX the chunk column.
+     * @param chunkY the chunk row.
+     * @return a TileChunk object.
+     */
+    private TileChunk getTileChunk(int chunkX, int chunkY) {
+        long key = ((long) chunkX << 32) | (chunkY & 0xFFFFFFFFL);
+        TileChunk chunk = this.tileChunks.get(key);
+        if (chunk == null) {
+            // Mix the position into the seed so that each chunk differs.
+            chunk = new TileChunk(this.tileSeed ^ (key * 0x9E3779B97F4A7C15L));
+            this.tileChunks.put(key, chunk);
+        }
+        return chunk;
+    }
+
+    /**
+     * Checks whether the given sprite overlaps the given area.
+     * @param sprite a Sprite object.
+     * @param minX the minimum x-coordinate of the area.
+     * @param minY the minimum y-coordinate of the area.
+     * @param maxX the maximum x-coordinate of the area.
+     * @param maxY the maximum y-coordinate of the area.
+     * @return a boolean.
+     */
+    private static boolean isInArea(Sprite sprite, double minX, double minY,
+            double maxX, double maxY) {
+        // Same area as getDrawBounds(), without allocating it per frame.
+        double width = sprite.getWidth() * sprite.getScale();
+        double height = sprite.getHeight() * sprite.getScale();
+        // Sprites without a size draw on their own, so don't cull them.
+        if (width <= 0 || height <= 0) {
+            return true;
         }
+        double x = sprite.getX();
+        double y = sprite.getY();
+        return x + width > minX && x < maxX
+                && y + height > minY && y < maxY;
     }
 
     /**
@@ -261,21 +473,20 @@ public class LevelMap {
      * @return a boolean array indicating the passability state.
      */
     public boolean[] getPassability(Entity source) {
+        FrameProfiler.begin(FrameProfiler.PHASE_COLLISION);
         boolean passability[] = new boolean[4];
         passability[Entity.SIDE_LEFT] =
-                source.getBounds().getMinX() >= Game.WINDOW_MIN_WIDTH;
+                source.getBounds().getMinX() >= 0;
         passability[Entity.SIDE_RIGHT] =
-                source.getBounds().getMaxX() <= Game.WINDOW_MAX_WIDTH;
+                source.getBounds().getMaxX() <= this.worldWidth;
         passability[Entity.SIDE_TOP] =
-                source.getBounds().getMinY() >= Game.WINDOW_MIN_HEIGHT;
+                source.getBounds().getMinY() >= 0;
         passability[Entity.SIDE_BOTTOM] =
-                source.getBounds().getMaxY() <= Game.WINDOW_MAX_HEIGHT;
+                source.getBounds().getMaxY() <= this.worldHeight;
 
+        int mask = source.getCollisionMask();
         for (Entity entity : this.entities) {
-            if ((entity instanceof Mob && !((Mob)entity).isAlive())
-                    || entity instanceof Powerup
-                    || entity instanceof Outlaw
-                    || entity instanceof Bullet
+            if ((mask & entity.getCollisionLayer()) == 0
                     || entity == source) {
                 continue;
             }
@@ -297,6 +508,7 @@ public class LevelMap {
             }
         }
 
+        FrameProfiler.end();
         return passability;
     }
 
@@ -316,6 +528,68 @@ public class LevelMap {
         return Collections.unmodifiableList(this.entities);
     }
 
+    /**
+     * Retrieves the list of overlay sprites tracked by this level map.
+     * @return a list of sprites.
+     */
+    public List<Sprite> getOverlays() {
+        return Collections.unmodifiableList(this.overlays);
+    }
+
+    /**
+     * Retrieves the camera showing a part of this map.
+     * @return a Camera object.
+     */
+    public Camera getCamera() {
+        return this.camera;
+    }
+
+    /**
+     * Retrieves the width of the world.
+     * @return an integer.
+     */
+    public int getWorldWidth() {
+        return this.worldWidth;
+    }
+
+    /**
+     * Retrieves the height of the world.
+     * @return an integer.
+     */
+    public int getWorldHeight() {
+        return this.worldHeight;
+    }
+
+    /**
+     * Specifies the dirty region that tracks changes to this map.
+     * @param dirtyRegion a DirtyRegion object, or null to stop tracking.
+     */
+    public void setDirtyRegion(DirtyRegion dirtyRegion) {
+        this.dirtyRegion = dirtyRegion;
+    }
+
+    /**
+     * Retrieves the number of live entities of each class.
+     * @return a map of class names and entity counts.
+     */
+    public Map<String, Integer> getEntityCounts() {
+        TreeMap<String, Integer> counts = new TreeMap<String, Integer>();
+        for (Entity entity : this.entities) {
+            String name = entity.getClass().getSimpleName();
+            Integer count = counts.get(name);
+            counts.put(name, (count == null) ? 1 : count + 1);
+        }
+        return counts;
+    }
+
+    /**
+     * Retrieves the number of entities removed by their reap policies.
+     * @return a long.
+     */
+    public long getReapedCount() {
+        return this.reapedCount;
+    }
+
     /**
      * Adds an overlay sprite.
      * @param sprite a Sprite object.
@@ -22,4 +22,9 @@ public class Main extends Application {
         Game.run(primaryStage);
     }
 
+    @Override
+    public void stop() {
+        Game.shutdown();
+    }
+
 }
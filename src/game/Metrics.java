@@ -0,0 +1,163 @@
+package game;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryUsage;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+import game.scenes.GameScene;
+import game.scenes.LevelScene;
+
+/**
+ * This class keeps live counters and gauges of the running game and
+ * formats them in the Prometheus text format. The FX thread publishes
+ * them after each frame through atomic variables, so that taking a
+ * snapshot from another thread never takes a lock the game waits on.
+ * @implNote Each value is read atomically, but a snapshot as a whole
+ *           may mix values from two consecutive frames.
+ */
+public final class Metrics {
+
+    /** Upper bounds of the frame time histogram buckets, in seconds. */
+    private static final double[] FRAME_TIME_BUCKETS = {
+            0.004, 0.008, 0.0167, 0.0333, 0.05, 0.1, 0.25,
+    };
+    /** The number of frames between entity count snapshots. */
+    private static final int ENTITY_COUNT_INTERVAL = 30;
+
+    /** The number of frames rendered. */
+    private static final AtomicLong FRAMES = new AtomicLong();
+    /** The number of frames in each frame time bucket, the last being
+        unbounded. */
+    private static final AtomicLongArray FRAME_TIME_COUNTS =
+            new AtomicLongArray(FRAME_TIME_BUCKETS.length + 1);
+    /** The total frame time, in nanoseconds. */
+    private static final AtomicLong FRAME_TIME_SUM = new AtomicLong();
+    /** The number of live action timers in the current scene. */
+    private static final AtomicInteger TIMER_COUNT = new AtomicInteger();
+    /** The number of live entities of each class in the current level. */
+    private static final AtomicReference<Map<String, Integer>> ENTITY_COUNTS =
+            new AtomicReference<Map<String, Integer>>(
+                    Collections.<String, Integer>emptyMap());
+    /** The number of frames until the next entity count snapshot. */
+    private static int framesUntilEntityCount = 0;
+
+    /**
+     * Records a rendered frame and the state of its scene. This must be
+     * called on the FX thread.
+     * @param scene the scene the frame belongs to.
+     * @param frameTime the duration of the frame, in nanoseconds.
+     */
+    public static void recordFrame(GameScene scene, long frameTime) {
+        double seconds = frameTime / (double) TimeUnit.SECONDS.toNanos(1);
+        int bucket = 0;
+        while (bucket < FRAME_TIME_BUCKETS.length
+                && seconds > FRAME_TIME_BUCKETS[bucket]) {
+            bucket++;
+        }
+        FRAME_TIME_COUNTS.incrementAndGet(bucket);
+        FRAME_TIME_SUM.addAndGet(frameTime);
+        FRAMES.incrementAndGet();
+        TIMER_COUNT.set(scene.getTimers().getTimerCount());
+
+        // Counting entities builds a map, so it isn't done every frame.
+        if (--Metrics.framesUntilEntityCount > 0) {
+            return;
+        }
+        Metrics.framesUntilEntityCount = ENTITY_COUNT_INTERVAL;
+        if (scene instanceof LevelScene) {
+            ENTITY_COUNTS.set(Collections.unmodifiableMap(
+                    ((LevelScene) scene).getLevelMap().getEntityCounts()));
+        } else {
+            ENTITY_COUNTS.set(Collections.<String, Integer>emptyMap());
+        }
+    }
+
+    /**
+     * Formats a snapshot of all metrics in the Prometheus text format.
+     * @return a String object.
+     */
+    public static String scrape() {
+        StringBuilder text = new StringBuilder();
+
+        header(text, "deadwood_frames_rendered_total", "counter",
+                "Frames rendered since the game started.");
+        text.append("deadwood_frames_rendered_total ")
+                .append(FRAMES.get()).append('\n');
+
+        // Buckets are stored separately, but exported cumulatively.
+        header(text, "deadwood_frame_time_seconds", "histogram",
+                "Time spent handling input, updating and rendering"
+                + " each frame.");
+        long cumulative = 0;
+        for (int i = 0; i < FRAME_TIME_COUNTS.length(); i++) {
+            cumulative += FRAME_TIME_COUNTS.get(i);
+            String bound = (i < FRAME_TIME_BUCKETS.length)
+                    ? Double.toString(FRAME_TIME_BUCKETS[i])
+                    : "+Inf";
+            text.append("deadwood_frame_time_seconds_bucket{le=\"")
+                    .append(bound).append("\"} ").append(cumulative)
+                    .append('\n');
+        }
+        text.append("deadwood_frame_time_seconds_sum ")
+                .append(String.format(Locale.ROOT, "%.6f",
+                        FRAME_TIME_SUM.get() / 1e9))
+                .append('\n');
+        text.append("deadwood_frame_time_seconds_count ")
+                .append(cumulative).append('\n');
+
+        header(text, "deadwood_entities", "gauge",
+                "Live entities in the current level, by class.");
+        for (Map.Entry<String, Integer> entry
+                : ENTITY_COUNTS.get().entrySet()) {
+            text.append("deadwood_entities{class=\"").append(entry.getKey())
+                    .append("\"} ").append(entry.getValue()).append('\n');
+        }
+
+        header(text, "deadwood_action_timers", "gauge",
+                "Live action timers in the current scene.");
+        text.append("deadwood_action_timers ")
+                .append(TIMER_COUNT.get()).append('\n');
+
+        SoundMixer mixer = Game.getSoundMixer();
+        header(text, "deadwood_audio_voices", "gauge",
+                "Sound effect voices assumed to be playing.");
+        text.append("deadwood_audio_voices ")
+                .append((mixer == null) ? 0 : mixer.getActiveVoices())
+                .append('\n');
+
+        MemoryUsage heap = ManagementFactory.getMemoryMXBean()
+                .getHeapMemoryUsage();
+        header(text, "deadwood_heap_bytes", "gauge",
+                "Heap memory, by area.");
+        text.append("deadwood_heap_bytes{area=\"used\"} ")
+                .append(heap.getUsed()).append('\n');
+        text.append("deadwood_heap_bytes{area=\"committed\"} ")
+                .append(heap.getCommitted()).append('\n');
+        text.append("deadwood_heap_bytes{area=\"max\"} ")
+                .append(heap.getMax()).append('\n');
+        return text.toString();
+    }
+
+    /**
+     * Appends the help and type lines of a metric.
+     * @param text the StringBuilder to append to.
+     * @param name the metric name.
+     * @param type the metric type.
+     * @param help the metric description.
+     */
+    private static void header(StringBuilder text, String name, String type,
+            String help) {
+        text.append("# HELP ").append(name).append(' ').append(help)
+                .append('\n');
+        text.append("# TYPE ").append(name).append(' ').append(type)
+                .append('\n');
+    }
+
+}
@@ -0,0 +1,119 @@
+package game;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * This class serves the game metrics in the Prometheus text format over
+ * HTTP. It only listens on the loopback interface, so the metrics can
+ * be scraped by a collector running on the same machine.
+ */
+public final class MetricsServer {
+
+    /** The system property specifying the port, 0 for any free port. */
+    public static final String PROPERTY_PORT = "deadwood.metrics.port";
+    /** The path where the metrics are served. */
+    public static final String PATH = "/metrics";
+
+    /** The content type of the Prometheus text format. */
+    private static final String CONTENT_TYPE =
+            "text/plain; version=0.0.4; charset=utf-8";
+    /** HTTP status: OK. */
+    private static final int STATUS_OK = 200;
+    /** HTTP status: method not allowed. */
+    private static final int STATUS_METHOD_NOT_ALLOWED = 405;
+
+    /** The underlying HTTP server. */
+    private final HttpServer server;
+    /** The executor handling the requests. */
+    private final ExecutorService executor;
+
+    /**
+     * Constructs an instance of MetricsServer.
+     * @param port the port to listen on, or 0 for any free port.
+     * @throws IOException if the port couldn't be bound.
+     */
+    public MetricsServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(
+                InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newSingleThreadExecutor(
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "metrics");
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        this.server.setExecutor(this.executor);
+        this.server.createContext(PATH, new HttpHandler() {
+            @Override
+            public void handle(HttpExchange exchange) throws IOException {
+                try {
+                    respond(exchange);
+                } finally {
+                    exchange.close();
+                }
+            }
+        });
+    }
+
+    /**
+     * Responds to a scrape request.
+     * @param exchange the request and response.
+     * @throws IOException if the response couldn't be sent.
+     */
+    private static void respond(HttpExchange exchange) throws IOException {
+        String method = exchange.getRequestMethod();
+        boolean head = method.equals("HEAD");
+        if (!head && !method.equals("GET")) {
+            exchange.getResponseHeaders().set("Allow", "GET, HEAD");
+            exchange.sendResponseHeaders(STATUS_METHOD_NOT_ALLOWED, -1);
+            return;
+        }
+        byte[] body = Metrics.scrape().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        if (head) {
+            exchange.sendResponseHeaders(STATUS_OK, -1);
+            return;
+        }
+        exchange.sendResponseHeaders(STATUS_OK, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Starts serving the metrics.
+     */
+    public void start() {
+        this.server.start();
+    }
+
+    /**
+     * Stops serving the metrics, without waiting for pending requests.
+     */
+    public void stop() {
+        this.server.stop(0);
+        this.executor.shutdownNow();
+    }
+
+    /**
+     * Retrieves the port the metrics are served on.
+     * @return an integer.
+     */
+    public int getPort() {
+        return this.server.getAddress().getPort();
+    }
+
+}
@@ -0,0 +1,141 @@
+package game;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.ListenerNotFoundException;
+import javax.management.Notification;
+import javax.management.NotificationEmitter;
+import javax.management.NotificationFilter;
+import javax.management.NotificationListener;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+/**
+ * This class sums the garbage collection pauses that happen between
+ * its start and stop. Only collections that stop the application
+ * threads are counted; concurrent cycles run alongside the game.
+ * @implNote Collections are reported on a separate thread, so the sums
+ *           may be read from any thread.
+ */
+final class PauseCounter implements NotificationListener {
+
+    /** The collection actions which stop the application threads. */
+    private static final String[] PAUSE_ACTIONS = {
+            "end of minor GC",
+            "end of major GC",
+            "end of GC pause",
+    };
+    /** A filter only accepting garbage collection notifications. */
+    static final NotificationFilter COLLECTION_FILTER =
+            new NotificationFilter() {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                public boolean isNotificationEnabled(
+                        Notification notification) {
+                    return notification.getType().equals(
+                            GarbageCollectionNotificationInfo
+                                    .GARBAGE_COLLECTION_NOTIFICATION);
+                }
+            };
+
+    /** The collectors this counter listens to. */
+    private final ArrayList<NotificationEmitter> collectors;
+    /** The number of pauses. */
+    private final AtomicLong pauseCount;
+    /** The total pause time, in nanoseconds. */
+    private final AtomicLong pauseTime;
+
+    /**
+     * Constructs an instance of PauseCounter.
+     */
+    PauseCounter() {
+        this.collectors = new ArrayList<NotificationEmitter>();
+        this.pauseCount = new AtomicLong();
+        this.pauseTime = new AtomicLong();
+    }
+
+    /**
+     * Checks whether a collection stopped the application threads.
+     * Concurrent cycles, such as those reported by the ZGC and Shenandoah
+     * "Cycles" collectors, run alongside the game and aren't pauses.
+     * @param info the collection details.
+     * @return a boolean.
+     */
+    static boolean isPause(GarbageCollectionNotificationInfo info) {
+        if (info.getGcName().contains("Concurrent")) {
+            return false;
+        }
+        for (String action : PAUSE_ACTIONS) {
+            if (action.equals(info.getGcAction())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Starts counting the pauses of all collectors.
+     */
+    synchronized void start() {
+        for (GarbageCollectorMXBean collector
+                : ManagementFactory.getGarbageCollectorMXBeans()) {
+            if (collector instanceof NotificationEmitter) {
+                NotificationEmitter emitter = (NotificationEmitter) collector;
+                emitter.addNotificationListener(this, COLLECTION_FILTER,
+                        null);
+                this.collectors.add(emitter);
+            }
+        }
+    }
+
+    /**
+     * Stops counting pauses. The sums so far are kept.
+     */
+    synchronized void stop() {
+        for (NotificationEmitter emitter : this.collectors) {
+            try {
+                emitter.removeNotificationListener(this);
+            } catch (ListenerNotFoundException e) {
+                // Already removed, nothing to do.
+            }
+        }
+        this.collectors.clear();
+    }
+
+    @Override
+    public void handleNotification(Notification notification,
+            Object handback) {
+        GarbageCollectionNotificationInfo info =
+                GarbageCollectionNotificationInfo.from(
+                        (CompositeData) notification.getUserData());
+        if (!isPause(info)) {
+            return;
+        }
+        this.pauseCount.incrementAndGet();
+        this.pauseTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(
+                info.getGcInfo().getDuration()));
+    }
+
+    /**
+     * Retrieves the number of pauses counted so far.
+     * @return a long.
+     */
+    long getPauseCount() {
+        return this.pauseCount.get();
+    }
+
+    /**
+     * Retrieves the total pause time counted so far.
+     * @return a long containing the time in nanoseconds.
+     */
+    long getPauseTime() {
+        return this.pauseTime.get();
+    }
+
+}
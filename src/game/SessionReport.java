@@ -0,0 +1,336 @@
+package game;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+import game.entities.Bullet;
+import game.entities.Entity;
+import game.entities.Mote;
+import game.entities.Sprite;
+
+/**
+ * This class records the frames of a level session and summarizes them
+ * as a JSON report once the level is done: frame time percentiles, the
+ * slowest frames with their phase breakdown, the number of entities,
+ * bullets, motes and timers, and the garbage collection pauses. The
+ * pause fields are null where the management beans are unavailable.
+ * Frames are recorded on the FX thread; the report may be written on
+ * another thread once the session is finished.
+ */
+public final class SessionReport {
+
+    /** Count: entities. */
+    private static final int COUNT_ENTITIES = 0;
+    /** Count: bullets. */
+    private static final int COUNT_BULLETS = 1;
+    /** Count: motes. */
+    private static final int COUNT_MOTES = 2;
+    /** Count: action timers. */
+    private static final int COUNT_TIMERS = 3;
+    /** Total number of counts. */
+    private static final int TOTAL_COUNTS = 4;
+
+    /** The name of each count. */
+    private static final String[] COUNT_NAMES = {
+            "entities",
+            "bullets",
+            "motes",
+            "timers",
+    };
+    /** The reported frame time percentiles. */
+    private static final int[] PERCENTILES = { 50, 90, 95, 99 };
+    /** The number of slowest frames reported. */
+    private static final int WORST_FRAMES = 10;
+    /** The initial capacity of the frame time buffer. */
+    private static final int INITIAL_CAPACITY = 4096;
+    /** The format of the timestamp in report file names. */
+    private static final DateTimeFormatter FILE_NAME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss", Locale.ROOT);
+
+    /** The level difficulty. */
+    private final int difficulty;
+    /** The random number generator state when the level was created,
+        which must be restored with {@link GameRandom#setState}. */
+    private final long rngState;
+    /** The time the session started. */
+    private final Instant startTime;
+    /** The time the session started, in nanoseconds. */
+    private final long startNanos;
+    /** The profiler measuring the phases of each frame, or null. */
+    private FrameProfiler profiler;
+    /** The counter of garbage collection pauses, or null. */
+    private PauseCounter pauses;
+
+    /** The duration of each frame, in nanoseconds. */
+    private long[] frameTimes;
+    /** The number of recorded frames. */
+    private int frameCount;
+    /** The slowest frames: frame numbers, slowest first. */
+    private final int[] worstFrames;
+    /** The slowest frames: durations, in nanoseconds. */
+    private final long[] worstTimes;
+    /** The slowest frames: time spent by each phase, in nanoseconds. */
+    private final long[][] worstPhases;
+    /** The number of slowest frames kept so far. */
+    private int worstCount;
+    /** The highest value of each count. */
+    private final int[] peakCounts;
+    /** The sum of each count over all frames. */
+    private final long[] totalCounts;
+
+    /** The duration of the session, in nanoseconds. */
+    private long duration;
+
+    /**
+     * Constructs an instance of SessionReport.
+     * @param difficulty the level difficulty.
+     * @param rngState the random number generator state when the level
+     *                 was created.
+     */
+    public SessionReport(int difficulty, long rngState) {
+        this.difficulty = difficulty;
+        this.rngState = rngState;
+        this.startTime = Instant.now();
+        this.startNanos = System.nanoTime();
+        this.profiler = null;
+        this.pauses = null;
+
+        this.frameTimes = new long[INITIAL_CAPACITY];
+        this.frameCount = 0;
+        this.worstFrames = new int[WORST_FRAMES];
+        this.worstTimes = new long[WORST_FRAMES];
+        this.worstPhases = new long[WORST_FRAMES][FrameProfiler.TOTAL_PHASES];
+        this.worstCount = 0;
+        this.peakCounts = new int[TOTAL_COUNTS];
+        this.totalCounts = new long[TOTAL_COUNTS];
+        this.duration = 0;
+    }
+
+    /**
+     * Starts measuring the phases of each frame on the calling thread,
+     * and the garbage collection pauses.
+     */
+    public void start() {
+        try {
+            this.profiler = FrameProfiler.start();
+        } catch (UnsupportedOperationException | LinkageError e) {
+            // Frame times are still recorded, just without phases.
+            this.profiler = null;
+        }
+        try {
+            this.pauses = new PauseCounter();
+            this.pauses.start();
+        } catch (LinkageError e) {
+            this.pauses = null;
+        }
+    }
+
+    /**
+     * Stops measuring the phases of each frame and the garbage
+     * collection pauses.
+     */
+    public void stop() {
+        if (this.profiler != null) {
+            FrameProfiler.stop();
+            this.profiler = null;
+        }
+        // The pauses counted so far are kept for the report.
+        if (this.pauses != null) {
+            this.pauses.stop();
+        }
+    }
+
+    /**
+     * Records a frame of the session.
+     * @param frameTime the duration of the frame, in nanoseconds.
+     * @param levelMap the level map of the session.
+     * @param timerCount the number of live action timers.
+     */
+    public void recordFrame(long frameTime, LevelMap levelMap,
+            int timerCount) {
+        if (this.frameCount == this.frameTimes.length) {
+            this.frameTimes = Arrays.copyOf(this.frameTimes,
+                    this.frameTimes.length * 2);
+        }
+        int frame = this.frameCount++;
+        this.frameTimes[frame] = frameTime;
+
+        // Keep the slowest frames sorted, slowest first.
+        if (this.worstCount < WORST_FRAMES
+                || frameTime > this.worstTimes[WORST_FRAMES - 1]) {
+            int index = Math.min(this.worstCount, WORST_FRAMES - 1);
+            long[] phases = this.worstPhases[index];
+            while (index > 0 && this.worstTimes[index - 1] < frameTime) {
+                this.worstFrames[index] = this.worstFrames[index - 1];
+                this.worstTimes[index] = this.worstTimes[index - 1];
+                this.worstPhases[index] = this.worstPhases[index - 1];
+                index--;
+            }
+            this.worstFrames[index] = frame;
+            this.worstTimes[index] = frameTime;
+            this.worstPhases[index] = phases;
+            for (int i = 0; i < FrameProfiler.TOTAL_PHASES; i++) {
+                phases[i] = (this.profiler == null)
+                        ? 0
+                        : this.profiler.getPhaseTime(i);
+            }
+            this.worstCount = Math.min(this.worstCount + 1, WORST_FRAMES);
+        }
+        if (this.profiler != null) {
+            this.profiler.reset();
+        }
+
+        List<Entity> entities = levelMap.getEntities();
+        int bullets = 0;
+        for (int i = 0; i < entities.size(); i++) {
+            if (entities.get(i) instanceof Bullet) {
+                bullets++;
+            }
+        }
+        List<Sprite> overlays = levelMap.getOverlays();
+        int motes = 0;
+        for (int i = 0; i < overlays.size(); i++) {
+            if (overlays.get(i) instanceof Mote) {
+                motes++;
+            }
+        }
+        this.addCount(COUNT_ENTITIES, entities.size());
+        this.addCount(COUNT_BULLETS, bullets);
+        this.addCount(COUNT_MOTES, motes);
+        this.addCount(COUNT_TIMERS, timerCount);
+    }
+
+    /**
+     * Adds the value of a count in the current frame.
+     * @param count the count (constant).
+     * @param value the value of the count.
+     */
+    private void addCount(int count, int value) {
+        this.peakCounts[count] = Math.max(this.peakCounts[count], value);
+        this.totalCounts[count] += value;
+    }
+
+    /**
+     * Finishes the session. No more frames are recorded afterwards.
+     */
+    public void finish() {
+        this.stop();
+        this.duration = System.nanoTime() - this.startNanos;
+    }
+
+    /**
+     * Retrieves the name of the report file, which is unique to the
+     * time the session started.
+     * @return a String object.
+     */
+    public String getFileName() {
+        return "session-" + FILE_NAME_FORMAT.format(LocalDateTime.ofInstant(
+                this.startTime, ZoneId.systemDefault())) + ".json";
+    }
+
+    /**
+     * Summarizes the finished session as a JSON object.
+     * @return a String object.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder();
+        json.append("{\n");
+        json.append("  \"startTime\": \"").append(this.startTime)
+                .append("\",\n");
+        json.append("  \"duration\": ").append(toMillis(this.duration))
+                .append(",\n");
+        json.append("  \"difficulty\": ").append(this.difficulty)
+                .append(",\n");
+        json.append("  \"rngState\": ").append(this.rngState)
+                .append(",\n");
+
+        // Percentiles use the nearest rank of the sorted frame times.
+        long[] sorted = Arrays.copyOf(this.frameTimes, this.frameCount);
+        Arrays.sort(sorted);
+        long total = 0;
+        for (long frameTime : sorted) {
+            total += frameTime;
+        }
+        json.append("  \"frames\": {\n");
+        json.append("    \"count\": ").append(this.frameCount).append(",\n");
+        json.append("    \"mean\": ").append(toMillis((this.frameCount == 0)
+                ? 0
+                : total / this.frameCount)).append(",\n");
+        for (int percentile : PERCENTILES) {
+            long value = 0;
+            if (this.frameCount > 0) {
+                int rank = (int) Math.ceil(
+                        percentile / 100.0 * this.frameCount);
+                value = sorted[Math.max(rank, 1) - 1];
+            }
+            json.append("    \"p").append(percentile).append("\": ")
+                    .append(toMillis(value)).append(",\n");
+        }
+        json.append("    \"max\": ").append(toMillis((this.frameCount == 0)
+                ? 0
+                : sorted[this.frameCount - 1])).append("\n");
+        json.append("  },\n");
+
+        json.append("  \"worstFrames\": [");
+        for (int i = 0; i < this.worstCount; i++) {
+            json.append((i == 0) ? "\n" : ",\n");
+            json.append("    { \"frame\": ").append(this.worstFrames[i])
+                    .append(", \"time\": ")
+                    .append(toMillis(this.worstTimes[i]))
+                    .append(", \"phases\": { ");
+            long other = this.worstTimes[i];
+            for (int phase = 0; phase < FrameProfiler.TOTAL_PHASES;
+                    phase++) {
+                long phaseTime = this.worstPhases[i][phase];
+                other -= phaseTime;
+                json.append('"').append(FrameProfiler.getPhaseName(phase))
+                        .append("\": ").append(toMillis(phaseTime))
+                        .append(", ");
+            }
+            json.append("\"other\": ").append(toMillis(Math.max(other, 0)))
+                    .append(" } }");
+        }
+        json.append((this.worstCount == 0) ? "],\n" : "\n  ],\n");
+
+        json.append("  \"counts\": {\n");
+        for (int i = 0; i < TOTAL_COUNTS; i++) {
+            double average = (this.frameCount == 0)
+                    ? 0
+                    : (double) this.totalCounts[i] / this.frameCount;
+            json.append("    \"").append(COUNT_NAMES[i])
+                    .append("\": { \"peak\": ").append(this.peakCounts[i])
+                    .append(", \"average\": ")
+                    .append(String.format(Locale.ROOT, "%.2f", average))
+                    .append(" }")
+                    .append((i == TOTAL_COUNTS - 1) ? "\n" : ",\n");
+        }
+        json.append("  },\n");
+
+        json.append("  \"gc\": { \"pauses\": ")
+                .append((this.pauses == null)
+                        ? "null"
+                        : Long.toString(this.pauses.getPauseCount()))
+                .append(", \"pauseTime\": ")
+                .append((this.pauses == null)
+                        ? "null"
+                        : toMillis(this.pauses.getPauseTime()))
+                .append(" }\n");
+        json.append("}\n");
+        return json.toString();
+    }
+
+    /**
+     * Formats a duration in milliseconds.
+     * @param nanos the duration, in nanoseconds.
+     * @return a String object.
+     */
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+}
@@ -0,0 +1,252 @@
+package game;
+
+import java.util.Arrays;
+import java.util.Hashtable;
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.media.AudioClip;
+
+/**
+ * This class decides whether a sound effect request should produce
+ * a new voice. It limits how many voices of the same clip may overlap,
+ * keeps the total number of voices within a global budget, and drops
+ * identical requests made within a short window of each other.
+ */
+public final class SoundMixer {
+
+    /** Priority: sounds that can be dropped first (e.g., hits). */
+    public static final int PRIORITY_LOW = 0;
+    /** Priority: regular sounds. */
+    public static final int PRIORITY_NORMAL = 1;
+    /** Priority: player-critical sounds that should always be heard. */
+    public static final int PRIORITY_HIGH = 2;
+
+    /** Tuning: maximum number of overlapping voices per clip. */
+    private static final int MAX_VOICES_PER_CLIP = 3;
+    /** Tuning: maximum number of overlapping voices for all clips. */
+    private static final int MAX_VOICES = 8;
+    /** Tuning: window in which identical requests are coalesced. */
+    private static final long COALESCE_WINDOW =
+            TimeUnit.MILLISECONDS.toNanos(40);
+    /** Tuning: assumed lifetime of a voice before it is released. */
+    private static final long VOICE_LIFETIME =
+            TimeUnit.MILLISECONDS.toNanos(600);
+
+    /**
+     * This class keeps track of the voices started by a single clip.
+     */
+    private static final class Channel {
+
+        /** The clip associated with this channel. */
+        private AudioClip clip;
+        /** The priority of the most recent request. */
+        private int priority;
+        /** Start times of the voices that are still assumed to play. */
+        private long[] voices;
+        /** Number of voices that are still assumed to play. */
+        private int voiceCount;
+        /** The time of the last accepted request. */
+        private long lastPlayTime;
+
+        /**
+         * Constructs an instance of Channel.
+         * @param clip the clip associated with this channel.
+         * @param now the current time in nanoseconds.
+         */
+        private Channel(AudioClip clip, long now) {
+            this.clip = clip;
+            this.priority = PRIORITY_NORMAL;
+            this.voices = new long[MAX_VOICES_PER_CLIP];
+            this.voiceCount = 0;
+            // Nothing was played yet, so the first request isn't coalesced.
+            this.lastPlayTime = now - COALESCE_WINDOW;
+        }
+
+        /**
+         * Releases voices that are assumed to be done playing.
+         * @param now the current time in nanoseconds.
+         * @return the number of released voices.
+         */
+        private int expire(long now) {
+            int released = 0;
+            // The clip stopped playing entirely, so all voices are done.
+            if (this.voiceCount > 0 && !this.clip.isPlaying()) {
+                released = this.voiceCount;
+                this.voiceCount = 0;
+                return released;
+            }
+            // Voices are stored in start order, so expire from the front.
+            while (released < this.voiceCount
+                    && now - this.voices[released] >= VOICE_LIFETIME) {
+                released++;
+            }
+            if (released > 0) {
+                System.arraycopy(this.voices, released, this.voices, 0,
+                        this.voiceCount - released);
+                this.voiceCount -= released;
+            }
+            return released;
+        }
+
+        /**
+         * Records a newly started voice.
+         * @param now the current time in nanoseconds.
+         */
+        private void addVoice(long now) {
+            // Player-critical sounds may go over the per-clip cap. The
+            // older voices keep playing, so they stay counted until they
+            // expire.
+            if (this.voiceCount == this.voices.length) {
+                this.voices = Arrays.copyOf(this.voices,
+                        this.voices.length * 2);
+            }
+            this.voices[this.voiceCount++] = now;
+            this.lastPlayTime = now;
+        }
+
+        /**
+         * Stops all voices of this channel.
+         * @return the number of released voices.
+         */
+        private int stop() {
+            int released = this.voiceCount;
+            this.clip.stop();
+            this.voiceCount = 0;
+            return released;
+        }
+
+    }
+
+    /** A hashtable containing channels for each clip. */
+    private Hashtable<AudioClip, Channel> channels;
+    /** Number of voices that are still assumed to play. This is only
+        changed while holding the lock, but may be read without it. */
+    private volatile int activeVoices;
+
+    /**
+     * Constructs an empty instance of SoundMixer.
+     */
+    public SoundMixer() {
+        this.channels = new Hashtable<AudioClip, Channel>();
+        this.activeVoices = 0;
+    }
+
+    /**
+     * Plays the given clip if the mixer policy allows it.
+     * @param clip an AudioClip object.
+     * @param volume the volume at which the clip will be played.
+     * @param priority the priority of this request (constant).
+     * @return a boolean indicating if a new voice was started.
+     */
+    public synchronized boolean play(AudioClip clip, double volume,
+            int priority) {
+        if (!this.accept(clip, priority, System.nanoTime())) {
+            return false;
+        }
+        clip.play(volume, 0, 1, 0, priority);
+        return true;
+    }
+
+    /**
+     * Decides whether a request should produce a new voice, and records
+     * the voice if so. The clip itself isn't played.
+     * @param clip an AudioClip object.
+     * @param priority the priority of this request (constant).
+     * @param now the current time in nanoseconds.
+     * @return a boolean indicating if a new voice should be started.
+     */
+    synchronized boolean accept(AudioClip clip, int priority, long now) {
+        this.expire(now);
+
+        Channel channel = this.channels.get(clip);
+        if (channel == null) {
+            channel = new Channel(clip, now);
+            this.channels.put(clip, channel);
+        }
+
+        // Coalesce identical requests that arrive within a short window.
+        if (now - channel.lastPlayTime < COALESCE_WINDOW) {
+            return false;
+        }
+
+        // Per-clip cap: only player-critical sounds may go over it.
+        if (channel.voiceCount >= MAX_VOICES_PER_CLIP
+                && priority < PRIORITY_HIGH) {
+            return false;
+        }
+
+        // Global budget: steal voices from a less important clip.
+        if (this.activeVoices >= MAX_VOICES
+                && !this.steal(channel, priority)) {
+            return false;
+        }
+
+        channel.priority = priority;
+        int previousCount = channel.voiceCount;
+        channel.addVoice(now);
+        this.activeVoices += channel.voiceCount - previousCount;
+        return true;
+    }
+
+    /**
+     * Releases voices that are assumed to be done playing.
+     * @param now the current time in nanoseconds.
+     */
+    private void expire(long now) {
+        if (this.activeVoices == 0) {
+            return;
+        }
+        int released = 0;
+        for (Channel channel : this.channels.values()) {
+            released += channel.expire(now);
+        }
+        this.activeVoices -= released;
+    }
+
+    /**
+     * Stops the voices of a channel that has a lower priority than
+     * the given request.
+     * @param requester the channel requesting a voice.
+     * @param priority the priority of the request.
+     * @return a boolean indicating if voices were freed.
+     */
+    private boolean steal(Channel requester, int priority) {
+        Channel victim = null;
+        for (Channel channel : this.channels.values()) {
+            if (channel == requester || channel.voiceCount == 0
+                    || channel.priority >= priority) {
+                continue;
+            }
+            if (victim == null || channel.priority < victim.priority
+                    || (channel.priority == victim.priority
+                        && channel.lastPlayTime < victim.lastPlayTime)) {
+                victim = channel;
+            }
+        }
+        if (victim == null) {
+            return false;
+        }
+        this.activeVoices -= victim.stop();
+        return true;
+    }
+
+    /**
+     * Releases voices that are assumed to be done playing, so that the
+     * number of active voices stays current. This should be called on
+     * the FX thread once per frame.
+     * @param now the current time in nanoseconds.
+     */
+    public synchronized void update(long now) {
+        this.expire(now);
+    }
+
+    /**
+     * Retrieves the number of voices that were assumed to be playing as
+     * of the last update. This never blocks.
+     * @return an integer.
+     */
+    public int getActiveVoices() {
+        return this.activeVoices;
+    }
+
+}
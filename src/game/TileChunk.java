@@ -0,0 +1,87 @@
+package game;
+
+import java.util.Random;
+
+/**
+ * This class represents a square block of map tiles. The tiles of
+ * each chunk are generated from its own seed, so a chunk that was
+ * discarded can be generated again with the same contents.
+ */
+final class TileChunk {
+
+    /** The number of tiles on each side of a chunk. */
+    static final int SIZE = 8;
+
+    /** Tile Map Generator constants. **/
+    /** Used to determine if a certain map feature should be present. */
+    private static final int TILEGEN_MATCH = 1;
+    /** Frequency: current tile has either grass or rock. */
+    private static final int TILEGEN_FREQ_GRASS_OR_ROCK = 6;
+    /** Frequency: current tile has a cactus. */
+    private static final int TILEGEN_FREQ_CACTUS = 50;
+    /** Frequency: current tile has a prop. */
+    private static final int TILEGEN_FREQ_PROPS = 150;
+
+    /** Tile map information: Layer 1 */
+    private int[] tileLayer1;
+    /** Tile map information: Layer 2 */
+    private int[] tileLayer2;
+
+    /**
+     * Constructs an instance of TileChunk and generates its tiles.
+     * @param seed the seed used to generate the tiles.
+     */
+    TileChunk(long seed) {
+        this.tileLayer1 = new int[SIZE * SIZE];
+        this.tileLayer2 = new int[SIZE * SIZE];
+        this.generate(new Random(seed));
+    }
+
+    /**
+     * Generates the tiles of this chunk.
+     * @param rng the random number generator.
+     */
+    private void generate(Random rng) {
+        for (int tileId = 0; tileId < SIZE * SIZE; tileId++) {
+            // Generate: land tile.
+            tileLayer1[tileId] = rng.nextInt(0, 4);
+            // Generate: grass.
+            if (rng.nextInt(TILEGEN_FREQ_GRASS_OR_ROCK) == TILEGEN_MATCH) {
+                tileLayer2[tileId] = rng.nextInt(6, 8);
+            // Generate: rocks.
+            } else if (rng.nextInt(TILEGEN_FREQ_GRASS_OR_ROCK) == TILEGEN_MATCH) {
+                tileLayer2[tileId] = rng.nextInt(8, 10);
+            // Generate: cactus.
+            } else if (rng.nextInt(TILEGEN_FREQ_CACTUS) == TILEGEN_MATCH) {
+                tileLayer2[tileId] = rng.nextInt(4, 6);
+            // Generate: sign.
+            } else if (rng.nextInt(TILEGEN_FREQ_PROPS) == TILEGEN_MATCH) {
+                tileLayer2[tileId] = 10;
+            // Generate: fossil.
+            } else if (rng.nextInt(TILEGEN_FREQ_PROPS) == TILEGEN_MATCH) {
+                tileLayer2[tileId] = 11;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the first layer tile at the given position.
+     * @param column the column within this chunk.
+     * @param row the row within this chunk.
+     * @return the frame number in the tileset.
+     */
+    int getLayer1(int column, int row) {
+        return this.tileLayer1[(row * SIZE) + column];
+    }
+
+    /**
+     * Retrieves the second layer tile at the given position.
+     * @param column the column within this chunk.
+     * @param row the row within this chunk.
+     * @return the frame number in the tileset, or 0 if there's none.
+     */
+    int getLayer2(int column, int row) {
+        return this.tileLayer2[(row * SIZE) + column];
+    }
+
+}
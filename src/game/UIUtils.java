@@ -1,15 +1,11 @@
 package game;
 
-import game.entities.Button;
 import game.entities.Entity;
+import game.entities.NineSlice;
 import game.entities.Sprite;
 import game.entities.Tile;
+import game.render.Renderer;
 import game.scenes.GameScene;
-import game.scenes.MainMenuScene;
-import javafx.event.EventHandler;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.input.KeyCode;
-import javafx.scene.input.KeyEvent;
 import javafx.scene.paint.Color;
 import javafx.scene.paint.Paint;
 import javafx.scene.text.Font;
@@ -66,12 +62,15 @@ public final class UIUtils {
     private static final int TX_POP_MID = 7;
     /** Texture: menu overlay (end). */
     private static final int TX_POP_END = 8;
+    /** Panel: menu overlay, spanning the window width. */
+    private static final NineSlice MENU_BACKGROUND =
+            NineSlice.vertical(TILE, TX_POP_START, TX_POP_MID, TX_POP_END);
 
     /**
      * Draws a shade behind an overlay.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    public static void drawShade(GraphicsContext gc) {
+    public static void drawShade(Renderer gc) {
         gc.save();
         gc.setGlobalAlpha(0.5);
         gc.setFill(COLOR_SECONDARY);
@@ -81,39 +80,34 @@ public final class UIUtils {
 
     /**
      * Draws a menu background (usually for an overlay).
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      * @param base the tile from which the top should be drawn (vertical).
      * @param innerHeight the height of the middle part of the menu.
      */
-    public static void drawMenuBackground(GraphicsContext gc, int base, int innerHeight) {
-        // Draw top tiles.
-        for (int i = 0; i < (Game.WINDOW_MAX_WIDTH) / Tile.SIZE_MID; i++) {
-            TILE.draw(gc, Tile.SIZE_MID * i,
-                    Tile.SIZE_MID * base, TX_POP_START);
-        }
-        // Draw middle tiles.
-        for (int i = 0; i < innerHeight; i++) {
-            base++;
-            for (int j = 0; j < (Game.WINDOW_MAX_WIDTH) / Tile.SIZE_MID; j++) {
-                TILE.draw(gc, Tile.SIZE_MID * j,
-                        Tile.SIZE_MID * base, TX_POP_MID);
-            }
-        }
-        // Draw bottom tiles.
-        base++;
-        for (int i = 0; i < (Game.WINDOW_MAX_WIDTH) / Tile.SIZE_MID; i++) {
-            TILE.draw(gc, Tile.SIZE_MID * i,
-                    Tile.SIZE_MID * base, TX_POP_END);
-        }
+    public static void drawMenuBackground(Renderer gc, int base, int innerHeight) {
+        drawMenuBackground(gc, base, innerHeight, null);
+    }
+
+    /**
+     * Draws the parts of a menu background overlapping the given region.
+     * @param gc a Renderer object.
+     * @param base the tile from which the top should be drawn (vertical).
+     * @param innerHeight the height of the middle part of the menu.
+     * @param region the region to be drawn, or null to draw everything.
+     */
+    public static void drawMenuBackground(Renderer gc, int base,
+            int innerHeight, DirtyRegion region) {
+        MENU_BACKGROUND.draw(gc, 0, Tile.SIZE_MID * base,
+                Tile.ALL_HORIZONTAL, innerHeight + 2, region);
     }
 
     /**
      * Debug only: draws passability indicators.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      * @param sprite a Sprite object.
      * @param passability a boolean array indicating passability.
      */
-    public static void drawPassability(GraphicsContext gc, Sprite sprite, boolean[] passability) {
+    public static void drawPassability(Renderer gc, Sprite sprite, boolean[] passability) {
         gc.save();
         // Top
         gc.setFill(passability[Entity.SIDE_TOP] ? Color.GREEN : Color.RED);
@@ -144,25 +138,12 @@ public final class UIUtils {
 
     /**
      * Handles the escape/backspace key and makes them set the scene
-     * to the main menu.
+     * to the main menu. Calling this again for the same scene has no
+     * further effect.
      * @param scene a GameScene object.
      */
     public static void handleReturnToMainMenu(GameScene scene) {
-        scene.getInner().addEventHandler(KeyEvent.KEY_PRESSED, new EventHandler<KeyEvent>() {
-            @Override
-            public void handle(KeyEvent e) {
-                KeyCode code = e.getCode();
-                switch (code) {
-                case BACK_SPACE:
-                case ESCAPE:
-                    Game.setGameScene(new MainMenuScene());
-                    Game.playSFX(Button.SFX_BUTTON);
-                    break;
-                default:
-                    break;
-                }
-            }
-        });
+        scene.enableReturnToMainMenu();
     }
 
 }
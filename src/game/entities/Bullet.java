@@ -1,8 +1,14 @@
 package game.entities;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import game.FrameProfiler;
 import game.Game;
+import game.ImageHandle;
+import game.SoundMixer;
 import game.entities.mobs.Mob;
-import game.entities.props.Prop;
 import game.scenes.LevelScene;
 import javafx.scene.image.Image;
 
@@ -19,13 +25,13 @@ public final class Bullet extends Entity {
     public static final String SFX_HIT = "sfx_hit.wav";
 
     /** Image representing a bullet from the player. */
-    private static final Image BULLET_IMAGE = new Image(
-            Game.getAsset("bullet.png"),
-            Bullet.BULLET_WIDTH, Bullet.BULLET_WIDTH, false, false);
+    private static final ImageHandle BULLET_IMAGE =
+            ImageHandle.of("bullet.png",
+                    Bullet.BULLET_WIDTH, Bullet.BULLET_WIDTH);
     /** Image representing a bullet from a mob. */
-    private static final Image BULLET_ALT_IMAGE = new Image(
-            Game.getAsset("bullet_alt.png"),
-            Bullet.BULLET_WIDTH, Bullet.BULLET_WIDTH, false, false);
+    private static final ImageHandle BULLET_ALT_IMAGE =
+            ImageHandle.of("bullet_alt.png",
+                    Bullet.BULLET_WIDTH, Bullet.BULLET_WIDTH);
 
     /** Speed of the bullet. */
     private static final int BULLET_SPEED = 20;
@@ -55,8 +61,8 @@ public final class Bullet extends Entity {
     private boolean isDirectional;
     /** Whether the bullet was shot by the outlaw or player. */
     private boolean fromOutlaw;
-    /** The mob who shot the bullet, empty if from a different source. */
-    private Mob mobSource;
+    /** The damage dealt to the outlaw on hit (from a mob source only). */
+    private int damage;
 
     /**
      * Constructs an instance of Bullet from a Mob source.
@@ -69,7 +75,7 @@ public final class Bullet extends Entity {
             byte activeDirections, boolean isDirectional) {
         super(0, 0, parent);
         this.initialize(source, activeDirections, isDirectional, false);
-        this.mobSource = source;
+        this.damage = source.getDamage();
     }
 
     /**
@@ -85,6 +91,19 @@ public final class Bullet extends Entity {
         this.initialize(source, activeDirections, isDirectional, true);
     }
 
+    /**
+     * Constructs an instance of Bullet whose state is restored afterwards
+     * using {@link #readState}.
+     * @param parent the LevelScene object owning this entity.
+     */
+    public Bullet(LevelScene parent) {
+        super(0, 0, parent);
+        this.setScale(Bullet.BULLET_SCALE);
+        this.isDirectional = false;
+        this.damage = 0;
+        this.fromOutlaw = false;
+    }
+
     /**
      * Initializes this bullet.
      * @param source the Outlaw source of this bullet.
@@ -102,32 +121,85 @@ public final class Bullet extends Entity {
         this.setScale(Bullet.BULLET_SCALE);
 
         this.isDirectional = isDirectional;
-        this.mobSource = null;
+        this.damage = 0;
         this.fromOutlaw = fromOutlaw;
 
+        this.updateImage();
+        this.updateCollision();
         if (this.fromOutlaw) {
-            this.setImage(Bullet.BULLET_IMAGE);
             this.addY(OUTLAW_OFFSET_Y);
-        } else {
-            this.setImage(BULLET_ALT_IMAGE);
         }
 
         this.computeDestination(activeDirections);
     }
 
+    /**
+     * Updates the collision layers of this bullet depending on its source.
+     */
+    private void updateCollision() {
+        this.setCollisionLayer(LAYER_BULLET);
+        int mask = this.fromOutlaw ? LAYER_MOB : LAYER_OUTLAW;
+        // Props can consume bullets if we're in a higher difficulty.
+        if (!this.getParent().getRestrictedMode()) {
+            mask |= LAYER_PROP;
+        }
+        this.setCollisionMask(mask);
+    }
+
+    /**
+     * Updates the image of this bullet depending on its source.
+     */
+    private void updateImage() {
+        if (this.fromOutlaw) {
+            this.setImage(Bullet.BULLET_IMAGE.get());
+        } else {
+            this.setImage(BULLET_ALT_IMAGE.get());
+        }
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeBoolean(this.isDirectional);
+        out.writeBoolean(this.fromOutlaw);
+        out.writeInt(this.damage);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        this.isDirectional = in.readBoolean();
+        this.fromOutlaw = in.readBoolean();
+        this.damage = in.readInt();
+        this.updateImage();
+        this.updateCollision();
+    }
+
+    @Override
+    public int getReapPolicy() {
+        // Bullets can leave the world in any direction.
+        return REAP_OFF_WORLD;
+    }
+
+    @Override
+    public boolean canSleep() {
+        // Keep updating even when far from the camera.
+        return false;
+    }
+
     @Override
     public void update(long now) {
         super.update(now);
 
+        // Check the whole path, so fast bullets can't pass through
+        // anything between two updates.
+        Entity target = this.findCollision();
         this.addX(this.dx);
         this.addY(this.dy);
 
-        if (this.getX() > Game.WINDOW_MAX_WIDTH) {
-            this.setVisible(false);
-            this.remove();
+        if (target != null) {
+            this.hit(target);
         }
-
-        this.checkCollisions();
     }
 
     /**
@@ -188,52 +260,57 @@ public final class Bullet extends Entity {
     }
 
     /**
-     * Updates this entity's collision state and determines if it
-     * has collided with another entity.
+     * Finds the first entity this bullet collides with on its way to its
+     * next position.
+     * @return an Entity object, or null if nothing is hit.
      */
-    private void checkCollisions() {
+    private Entity findCollision() {
         // Don't bother checking collisions if we're invisible.
         if (!this.getVisible()) {
-            return;
+            return null;
         }
 
-        // Props can consume bullets if we're in a higher difficulty.
-        boolean propsConsumeBullets = !getParent().getRestrictedMode();
-        boolean bulletCaught = false;
-        Outlaw outlaw = this.getParent().getOutlaw();
+        FrameProfiler.begin(FrameProfiler.PHASE_COLLISION);
+        Entity target = null;
+        double earliest = Double.POSITIVE_INFINITY;
 
         // Iterate through all entities.
         for (Entity entity : this.getParent().getLevelMap().getEntities()) {
-            // This bullet from the outlaw hit a mob.
-            if (entity instanceof Mob && this.fromOutlaw) {
-                Mob mob = (Mob) entity;
-                if (mob.isAlive() && this.intersects(entity)) {
-                    mob.reduceHealth(outlaw.getStrength());
-                    bulletCaught = true;
-                    break;
-                }
+            if (!this.canCollideWith(entity)) {
+                continue;
             }
-            // This bullet was consumed by a prop.
-            if (entity instanceof Prop && propsConsumeBullets) {
-                if (this.intersects(entity, false, false, true)) {
-                    bulletCaught = true;
-                    break;
-                }
+            // Props consume bullets through their collider.
+            boolean forCollider =
+                    (entity.getCollisionLayer() & LAYER_PROP) != 0;
+            double time = this.sweep(entity, this.dx, this.dy, forCollider);
+            if (time >= 0 && time < earliest) {
+                earliest = time;
+                target = entity;
             }
         }
+        FrameProfiler.end();
+        return target;
+    }
 
+    /**
+     * Applies the effect of hitting the given entity, then removes this
+     * bullet.
+     * @param target the Entity object hit by this bullet.
+     */
+    private void hit(Entity target) {
+        // Reduce the mob health.
+        if (target instanceof Mob) {
+            ((Mob) target).reduceHealth(
+                    this.getParent().getOutlaw().getStrength());
         // Play a hit sound effect and reduce the player health.
-        if (!bulletCaught && !this.fromOutlaw && outlaw.intersects(this)) {
-            Game.playSFX(SFX_HIT);
-            outlaw.reduceStrength(this.mobSource.getDamage());
-            bulletCaught = true;
+        } else if (target instanceof Outlaw) {
+            Game.playSFX(SFX_HIT, 1, SoundMixer.PRIORITY_LOW);
+            ((Outlaw) target).reduceStrength(this.damage);
         }
 
         // Hide and remove this bullet.
-        if (bulletCaught) {
-            this.setVisible(false);
-            this.remove();
-        }
+        this.setVisible(false);
+        this.remove();
     }
 
 }
\ No newline at end of file
@@ -2,10 +2,10 @@ package game.entities;
 
 import game.Game;
 import game.UIUtils;
+import game.render.Renderer;
 import game.scenes.GameScene;
 import javafx.event.EventHandler;
 import javafx.scene.Scene;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.text.Text;
 
@@ -32,6 +32,18 @@ public final class Button extends Sprite {
     private static final int BUTTON_ACTIVE_PARTS[] = {24, 25, 26};
     /** Button parts: arrow tri-state. */
     private static final int BUTTON_ARROW_PARTS[] = {27, 28, 29};
+    /** Button panel: normal. */
+    private static final NineSlice BUTTON_NORMAL = NineSlice.horizontal(
+            UIUtils.TILE, BUTTON_NORMAL_PARTS[0], BUTTON_NORMAL_PARTS[1],
+            BUTTON_NORMAL_PARTS[2]);
+    /** Button panel: hover. */
+    private static final NineSlice BUTTON_HOVER = NineSlice.horizontal(
+            UIUtils.TILE, BUTTON_HOVER_PARTS[0], BUTTON_HOVER_PARTS[1],
+            BUTTON_HOVER_PARTS[2]);
+    /** Button panel: active. */
+    private static final NineSlice BUTTON_ACTIVE = NineSlice.horizontal(
+            UIUtils.TILE, BUTTON_ACTIVE_PARTS[0], BUTTON_ACTIVE_PARTS[1],
+            BUTTON_ACTIVE_PARTS[2]);
 
     /** Width of the button selector outline. */
     private static final int SELECTOR_STROKE_WIDTH = 3;
@@ -100,6 +112,7 @@ public final class Button extends Sprite {
             public void handle(MouseEvent event) {
                 if (isActive) {
                     isActive = false;
+                    markRenderDirty();
                     updateState(event.getSceneX(), event.getSceneY(), true);
                     if (isHover && clickAction != null) {
                         click();
@@ -142,7 +155,7 @@ public final class Button extends Sprite {
     }
 
     @Override
-    public void draw(GraphicsContext gc) {
+    public void draw(Renderer gc) {
         if (this.size == SIZE_ARROW_LEFT || this.size == SIZE_ARROW_RIGHT) {
             this.drawArrow(gc);
         } else {
@@ -152,9 +165,9 @@ public final class Button extends Sprite {
 
     /**
      * Draws an arrow button.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    private void drawArrow(GraphicsContext gc) {
+    private void drawArrow(Renderer gc) {
         int partId = BUTTON_ARROW_PARTS[0];
         if (this.isHover) {
             partId = BUTTON_ARROW_PARTS[1];
@@ -168,29 +181,24 @@ public final class Button extends Sprite {
 
     /**
      * Draws a base button.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    private void drawBase(GraphicsContext gc) {
-        int[] parts = BUTTON_NORMAL_PARTS;
+    private void drawBase(Renderer gc) {
+        NineSlice panel = BUTTON_NORMAL;
         if (this.isHover) {
-            parts = BUTTON_HOVER_PARTS;
+            panel = BUTTON_HOVER;
         }
         if (this.isActive) {
-            parts = BUTTON_ACTIVE_PARTS;
+            panel = BUTTON_ACTIVE;
         }
-
-        UIUtils.TILE.draw(gc, this.getX() + (Tile.SIZE_MID * 0), this.getY(), parts[0]);
-        for (int i = 1; i <= size; i++) {
-            UIUtils.TILE.draw(gc, this.getX() + (Tile.SIZE_MID * i), this.getY(), parts[1]);
-        }
-        UIUtils.TILE.draw(gc, this.getX() + (Tile.SIZE_MID * (size + 1)), this.getY(), parts[2]);
+        panel.draw(gc, this.getX(), this.getY(), this.size + 2, 1);
     }
 
     /**
      * Draws the selector around a button (base button only).
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    public void drawSelector(GraphicsContext gc) {
+    public void drawSelector(Renderer gc) {
         gc.setStroke(UIUtils.COLOR_SECONDARY);
         gc.setLineWidth(SELECTOR_STROKE_WIDTH);
         gc.strokeRoundRect(
@@ -211,8 +219,14 @@ public final class Button extends Sprite {
     private void updateState(double x, double y, boolean hover) {
         boolean newState = getBounds().contains(x, y);
         if (hover) {
+            if (this.isHover != newState) {
+                this.markRenderDirty();
+            }
             this.isHover = newState;
         } else {
+            if (this.isActive != newState) {
+                this.markRenderDirty();
+            }
             this.isActive = newState;
         }
     }
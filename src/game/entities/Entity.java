@@ -1,9 +1,9 @@
 package game.entities;
 
 import game.Game;
+import game.render.Renderer;
 import game.scenes.LevelScene;
 import javafx.geometry.Rectangle2D;
-import javafx.scene.canvas.GraphicsContext;
 
 /**
  * This abstract class provides methods for checking collisions
@@ -22,6 +22,29 @@ public abstract class Entity extends Sprite {
     public static final int SIDE_BOTTOM = 3;
     /** Passability side: invalid. */
     public static final int SIDE_INVALID = -1;
+
+    /** Reap policy: never removed automatically. */
+    public static final int REAP_NEVER = 0x0;
+    /** Reap policy: removed once it is completely outside the world. */
+    public static final int REAP_OFF_WORLD = 0x1;
+    /** Reap policy: removed once its lifetime is over. */
+    public static final int REAP_EXPIRED = 0x2;
+    /** Reap policy: removed once it no longer affects the level. */
+    public static final int REAP_INERT = 0x4;
+    /** Collision layer: doesn't collide with anything. */
+    public static final int LAYER_NONE = 0x0;
+    /** Collision layer: the player character. */
+    public static final int LAYER_OUTLAW = 0x1;
+    /** Collision layer: living mobs. */
+    public static final int LAYER_MOB = 0x2;
+    /** Collision layer: props. */
+    public static final int LAYER_PROP = 0x4;
+    /** Collision layer: power-ups that can still be collected. */
+    public static final int LAYER_POWERUP = 0x8;
+    /** Collision layer: bullets. */
+    public static final int LAYER_BULLET = 0x10;
+    /** Collision mask: entities that block movement. */
+    public static final int MASK_OBSTACLES = LAYER_MOB | LAYER_PROP;
     /** Fixed constant used in determining the base collider height. */
     private static final int BASE_DIVIDER = 4;
 
@@ -31,6 +54,10 @@ public abstract class Entity extends Sprite {
     private Rectangle2D collider;
     /** Whether to hide the wireframe in debug mode. */
     protected boolean hideWireframe;
+    /** The collision layers this entity belongs to. */
+    private int collisionLayer;
+    /** The collision layers this entity interacts with. */
+    private int collisionMask;
 
     /**
      * Constructs an instance of Entity.
@@ -43,6 +70,8 @@ public abstract class Entity extends Sprite {
         this.parent = parent;
         this.collider = null;
         this.hideWireframe = false;
+        this.collisionLayer = LAYER_NONE;
+        this.collisionMask = LAYER_NONE;
     }
 
     /**
@@ -54,7 +83,7 @@ public abstract class Entity extends Sprite {
     }
 
     @Override
-    public void draw(GraphicsContext gc) {
+    public void draw(Renderer gc) {
         super.draw(gc);
         // Debug only: Draw a wireframe for this entity.
         if (Game.DEBUG_MODE && !hideWireframe) {
@@ -71,6 +100,40 @@ public abstract class Entity extends Sprite {
         }
     }
 
+    /**
+     * Retrieves the conditions under which the level map removes this
+     * entity automatically.
+     * @return a combination of reap policy flags (constant).
+     */
+    public int getReapPolicy() {
+        return REAP_NEVER;
+    }
+
+    /**
+     * Retrieves whether the lifetime of this entity is over.
+     * @return a boolean.
+     */
+    public boolean isExpired() {
+        return false;
+    }
+
+    /**
+     * Retrieves whether this entity no longer affects the level.
+     * @return a boolean.
+     */
+    public boolean isInert() {
+        return false;
+    }
+
+    /**
+     * Checks whether this entity may stop updating while it is far
+     * from the camera.
+     * @return a boolean.
+     */
+    public boolean canSleep() {
+        return true;
+    }
+
     /**
      * Checks for intersection between two rectangles.
      * @param r1 the first rectangle.
@@ -118,6 +181,77 @@ public abstract class Entity extends Sprite {
         return intersects(target, false, false, false);
     }
 
+    /**
+     * Finds when a moving rectangle first overlaps another rectangle
+     * (swept AABB test).
+     * @param r1 the moving rectangle, at its starting position.
+     * @param dx the movement along the x-axis.
+     * @param dy the movement along the y-axis.
+     * @param r2 the stationary rectangle.
+     * @return the fraction of the movement (0 to 1) after which the
+     *         rectangles overlap, or -1 if they don't overlap.
+     */
+    private static double sweep(Rectangle2D r1, double dx, double dy,
+            Rectangle2D r2) {
+        if (r1.intersects(r2)) {
+            return 0;
+        }
+        double entryX = Double.NEGATIVE_INFINITY;
+        double exitX = Double.POSITIVE_INFINITY;
+        if (dx > 0) {
+            entryX = (r2.getMinX() - r1.getMaxX()) / dx;
+            exitX = (r2.getMaxX() - r1.getMinX()) / dx;
+        } else if (dx < 0) {
+            entryX = (r2.getMaxX() - r1.getMinX()) / dx;
+            exitX = (r2.getMinX() - r1.getMaxX()) / dx;
+        } else if (r1.getMaxX() <= r2.getMinX()
+                || r1.getMinX() >= r2.getMaxX()) {
+            // Never overlaps along this axis.
+            return -1;
+        }
+        double entryY = Double.NEGATIVE_INFINITY;
+        double exitY = Double.POSITIVE_INFINITY;
+        if (dy > 0) {
+            entryY = (r2.getMinY() - r1.getMaxY()) / dy;
+            exitY = (r2.getMaxY() - r1.getMinY()) / dy;
+        } else if (dy < 0) {
+            entryY = (r2.getMaxY() - r1.getMinY()) / dy;
+            exitY = (r2.getMinY() - r1.getMaxY()) / dy;
+        } else if (r1.getMaxY() <= r2.getMinY()
+                || r1.getMinY() >= r2.getMaxY()) {
+            return -1;
+        }
+
+        // The rectangles overlap once they overlap on both axes.
+        double entry = Math.max(entryX, entryY);
+        double exit = Math.min(exitX, exitY);
+        if (entry >= exit || entry < 0 || entry > 1) {
+            return -1;
+        }
+        return entry;
+    }
+
+    /**
+     * Finds when this entity, moving from its current position by the
+     * given amount, first overlaps another entity. Unlike checking the
+     * end position only, this also catches entities passed through
+     * within a single step.
+     * @param target the entity to be examined for intersection.
+     * @param dx the movement along the x-axis.
+     * @param dy the movement along the y-axis.
+     * @param forCollider whether to check against the collider rectangle.
+     * @return the fraction of the movement (0 to 1) after which the
+     *         entities overlap, or -1 if they don't overlap.
+     */
+    public double sweep(Entity target, double dx, double dy,
+            boolean forCollider) {
+        return sweep(
+                forCollider ? this.getCollider() : this.getBounds(),
+                dx,
+                dy,
+                forCollider ? target.getCollider() : target.getBounds());
+    }
+
     /**
      * Checks the sides where two rectangles intersect.
      * @param r1 the first rectangle.
@@ -180,6 +314,48 @@ public abstract class Entity extends Sprite {
         return newBounds;
     }
 
+    /**
+     * Retrieves the collision layers this entity belongs to.
+     * @return the layers (constants combined).
+     */
+    public int getCollisionLayer() {
+        return this.collisionLayer;
+    }
+
+    /**
+     * Specifies the collision layers this entity belongs to.
+     * @param collisionLayer the layers (constants combined).
+     */
+    protected void setCollisionLayer(int collisionLayer) {
+        this.collisionLayer = collisionLayer;
+    }
+
+    /**
+     * Retrieves the collision layers this entity interacts with.
+     * @return the layers (constants combined).
+     */
+    public int getCollisionMask() {
+        return this.collisionMask;
+    }
+
+    /**
+     * Specifies the collision layers this entity interacts with.
+     * @param collisionMask the layers (constants combined).
+     */
+    protected void setCollisionMask(int collisionMask) {
+        this.collisionMask = collisionMask;
+    }
+
+    /**
+     * Checks whether this entity interacts with another entity, based on
+     * their collision layers only.
+     * @param target the entity to be examined.
+     * @return a boolean value.
+     */
+    public boolean canCollideWith(Entity target) {
+        return (this.collisionMask & target.collisionLayer) != 0;
+    }
+
     /**
      * Retrieves the level scene owning this entity.
      * @return a LevelScene object.
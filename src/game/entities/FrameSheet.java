@@ -0,0 +1,156 @@
+package game.entities;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+
+/**
+ * This class holds the source rectangle of each frame in a sprite
+ * sheet. Sheets are shared by all sprites using images of the same size
+ * and layout, so the rectangles are only computed once. Sheets don't
+ * refer to their image, so an unloaded image can be freed even though
+ * its sheet is kept.
+ */
+final class FrameSheet {
+
+    /**
+     * This class identifies a sprite sheet by its image size and layout.
+     */
+    private static final class Key {
+
+        /** The width of the sprite sheet image. */
+        private final double width;
+        /** The height of the sprite sheet image. */
+        private final double height;
+        /** Number of rows. */
+        private final int rows;
+        /** Number of columns. */
+        private final int columns;
+
+        /**
+         * Constructs an instance of Key.
+         * @param image the sprite sheet image.
+         * @param rows number of rows.
+         * @param columns number of columns.
+         */
+        private Key(Image image, int rows, int columns) {
+            this.width = image.getWidth();
+            this.height = image.getHeight();
+            this.rows = rows;
+            this.columns = columns;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return this.width == other.width
+                    && this.height == other.height
+                    && this.rows == other.rows
+                    && this.columns == other.columns;
+        }
+
+        @Override
+        public int hashCode() {
+            int hash = Double.hashCode(this.width);
+            hash = (hash * 31) + Double.hashCode(this.height);
+            hash = (hash * 31) + this.rows;
+            hash = (hash * 31) + this.columns;
+            return hash;
+        }
+
+    }
+
+    /** Sheets that were already computed. */
+    private static final ConcurrentHashMap<Key, FrameSheet> SHEETS =
+            new ConcurrentHashMap<Key, FrameSheet>();
+
+    /** The width of each frame. */
+    private final double frameWidth;
+    /** The height of each frame. */
+    private final double frameHeight;
+    /** An array containing rectangles for each frame in the image. */
+    private final Rectangle2D[] sourceRectangles;
+
+    /**
+     * Constructs an instance of FrameSheet.
+     * @param image the sprite sheet image.
+     * @param rows number of rows.
+     * @param columns number of columns.
+     */
+    private FrameSheet(Image image, int rows, int columns) {
+        this.frameWidth = (int) (image.getWidth() / columns);
+        this.frameHeight = (int) (image.getHeight() / rows);
+
+        // Prepare source rectangles for each frame.
+        this.sourceRectangles = new Rectangle2D[rows * columns];
+        int sourceFrame = 0;
+        for (int row = 0; row < rows; row++) {
+            for (int column = 0; column < columns; column++) {
+                this.sourceRectangles[sourceFrame] = new Rectangle2D(
+                        this.frameWidth * column,
+                        this.frameHeight * row,
+                        this.frameWidth,
+                        this.frameHeight);
+                sourceFrame++;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the shared sheet for the given image and layout.
+     * @param image the sprite sheet image.
+     * @param rows number of rows.
+     * @param columns number of columns.
+     * @return a FrameSheet object.
+     */
+    static FrameSheet of(Image image, int rows, int columns) {
+        Key key = new Key(image, rows, columns);
+        FrameSheet sheet = SHEETS.get(key);
+        if (sheet == null) {
+            sheet = new FrameSheet(image, rows, columns);
+            FrameSheet existing = SHEETS.putIfAbsent(key, sheet);
+            if (existing != null) {
+                sheet = existing;
+            }
+        }
+        return sheet;
+    }
+
+    /**
+     * Retrieves the source rectangle of the given frame.
+     * @param frame the frame number.
+     * @return a Rectangle2D object.
+     */
+    Rectangle2D getSource(int frame) {
+        return this.sourceRectangles[frame];
+    }
+
+    /**
+     * Retrieves the total number of frames.
+     * @return an integer.
+     */
+    int getTotalFrames() {
+        return this.sourceRectangles.length;
+    }
+
+    /**
+     * Retrieves the width of each frame.
+     * @return a double.
+     */
+    double getFrameWidth() {
+        return this.frameWidth;
+    }
+
+    /**
+     * Retrieves the height of each frame.
+     * @return a double.
+     */
+    double getFrameHeight() {
+        return this.frameHeight;
+    }
+
+}
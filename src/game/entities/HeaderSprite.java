@@ -1,7 +1,6 @@
 package game.entities;
 
-import game.Game;
-import javafx.scene.image.Image;
+import game.ImageHandle;
 
 /**
  * This class is a sprite that represents images used as headers
@@ -28,7 +27,7 @@ public final class HeaderSprite extends Sprite {
     public HeaderSprite(int xPos, int yPos, String assetPath) {
         super(xPos, yPos);
 
-        this.setImage(new Image(Game.getAsset(assetPath)));
+        this.setImage(ImageHandle.of(assetPath).get());
     }
 
 }
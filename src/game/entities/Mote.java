@@ -4,8 +4,8 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
 import game.UIUtils;
+import game.render.Renderer;
 import game.scenes.LevelScene;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.paint.Color;
 
 /**
@@ -82,7 +82,7 @@ public final class Mote extends Sprite {
     }
 
     @Override
-    public void draw(GraphicsContext gc) {
+    public void draw(Renderer gc) {
         gc.save();
 
         gc.setGlobalAlpha(this.opacity);
@@ -137,7 +137,7 @@ public final class Mote extends Sprite {
                 opacity += OPACITY_DELTA;
                 return false;
             }
-        });
+        }, this);
     }
 
     /**
@@ -151,7 +151,7 @@ public final class Mote extends Sprite {
                 remove();
                 return true;
             }
-        });
+        }, this);
     }
 
 }
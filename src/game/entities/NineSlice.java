@@ -0,0 +1,205 @@
+package game.entities;
+
+import java.util.HashMap;
+
+import game.DirtyRegion;
+import game.render.Renderer;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+/**
+ * This class draws panels of any size from nine tiles of a tileset: four
+ * corners, four repeating edges, and a repeating center. Each panel size
+ * is composed once into an image, which is then drawn as a whole.
+ * Panels one tile high or wide use the top row or left column of parts.
+ * @implNote Cached panels are only composed and drawn on the JavaFX
+ *           application thread.
+ */
+public final class NineSlice {
+
+    /** Part: top left corner. */
+    public static final int PART_TOP_LEFT = 0;
+    /** Part: top edge. */
+    public static final int PART_TOP = 1;
+    /** Part: top right corner. */
+    public static final int PART_TOP_RIGHT = 2;
+    /** Part: left edge. */
+    public static final int PART_LEFT = 3;
+    /** Part: center. */
+    public static final int PART_CENTER = 4;
+    /** Part: right edge. */
+    public static final int PART_RIGHT = 5;
+    /** Part: bottom left corner. */
+    public static final int PART_BOTTOM_LEFT = 6;
+    /** Part: bottom edge. */
+    public static final int PART_BOTTOM = 7;
+    /** Part: bottom right corner. */
+    public static final int PART_BOTTOM_RIGHT = 8;
+    /** Total number of parts. */
+    private static final int TOTAL_PARTS = 9;
+
+    /** The tileset containing the parts. */
+    private final Tile tile;
+    /** The frame number of each part in the tileset. */
+    private final int[] parts;
+    /** Panels composed so far, keyed by their size in tiles. */
+    private final HashMap<Long, Image> panels;
+
+    /**
+     * Constructs an instance of NineSlice.
+     * @param tile the tileset containing the parts.
+     * @param parts the frame number of each part, in the order of the
+     *              {@code PART_*} constants.
+     */
+    public NineSlice(Tile tile, int[] parts) {
+        if (parts.length != TOTAL_PARTS) {
+            throw new IllegalArgumentException(
+                    "A nine-slice panel needs exactly nine parts.");
+        }
+        this.tile = tile;
+        this.parts = parts.clone();
+        this.panels = new HashMap<Long, Image>();
+    }
+
+    /**
+     * Creates a panel whose rows all use the same three parts.
+     * @param tile the tileset containing the parts.
+     * @param start the frame number of the left part.
+     * @param middle the frame number of the repeating middle part.
+     * @param end the frame number of the right part.
+     * @return a NineSlice object.
+     */
+    public static NineSlice horizontal(Tile tile, int start, int middle,
+            int end) {
+        return new NineSlice(tile, new int[] {
+                start, middle, end,
+                start, middle, end,
+                start, middle, end });
+    }
+
+    /**
+     * Creates a panel whose columns all use the same three parts.
+     * @param tile the tileset containing the parts.
+     * @param start the frame number of the top part.
+     * @param middle the frame number of the repeating middle part.
+     * @param end the frame number of the bottom part.
+     * @return a NineSlice object.
+     */
+    public static NineSlice vertical(Tile tile, int start, int middle,
+            int end) {
+        return new NineSlice(tile, new int[] {
+                start, start, start,
+                middle, middle, middle,
+                end, end, end });
+    }
+
+    /**
+     * Draws a panel.
+     * @param gc a Renderer object.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     * @param columns the panel width, in tiles.
+     * @param rows the panel height, in tiles.
+     */
+    public void draw(Renderer gc, double x, double y, int columns,
+            int rows) {
+        gc.drawImage(this.getPanel(columns, rows), x, y);
+    }
+
+    /**
+     * Draws the part of a panel overlapping the given region.
+     * @param gc a Renderer object.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     * @param columns the panel width, in tiles.
+     * @param rows the panel height, in tiles.
+     * @param region the region to be drawn, or null to draw everything.
+     */
+    public void draw(Renderer gc, double x, double y, int columns,
+            int rows, DirtyRegion region) {
+        if (region == null || region.isFull()) {
+            this.draw(gc, x, y, columns, rows);
+            return;
+        }
+        Image panel = this.getPanel(columns, rows);
+        double minX = Math.max(x, region.getMinX());
+        double minY = Math.max(y, region.getMinY());
+        double maxX = Math.min(x + panel.getWidth(), region.getMaxX());
+        double maxY = Math.min(y + panel.getHeight(), region.getMaxY());
+        if (maxX <= minX || maxY <= minY) {
+            return;
+        }
+        gc.drawImage(panel, minX - x, minY - y, maxX - minX, maxY - minY,
+                minX, minY, maxX - minX, maxY - minY);
+    }
+
+    /**
+     * Retrieves the composed panel of the given size, composing it on
+     * first use.
+     * @param columns the panel width, in tiles.
+     * @param rows the panel height, in tiles.
+     * @return an Image object.
+     */
+    public Image getPanel(int columns, int rows) {
+        long key = ((long) columns << 32) | (rows & 0xFFFFFFFFL);
+        Image panel = this.panels.get(key);
+        if (panel == null) {
+            panel = this.compose(columns, rows);
+            this.panels.put(key, panel);
+        }
+        return panel;
+    }
+
+    /**
+     * Composes a panel of the given size from the parts.
+     * @param columns the panel width, in tiles.
+     * @param rows the panel height, in tiles.
+     * @return an Image object.
+     */
+    private Image compose(int columns, int rows) {
+        FrameSheet sheet = this.tile.getFrameSheet();
+        PixelReader reader = this.tile.getImage().getPixelReader();
+        int scale = this.tile.getScale();
+        int sourceSize = (int) sheet.getFrameWidth();
+        int size = sourceSize * scale;
+
+        // Scale each part once, without smoothing.
+        int[][] scaledParts = new int[TOTAL_PARTS][];
+        int[] source = new int[sourceSize * sourceSize];
+        for (int i = 0; i < TOTAL_PARTS; i++) {
+            Rectangle2D bounds = sheet.getSource(this.parts[i]);
+            reader.getPixels((int) bounds.getMinX(), (int) bounds.getMinY(),
+                    sourceSize, sourceSize, PixelFormat.getIntArgbInstance(),
+                    source, 0, sourceSize);
+            int[] scaled = new int[size * size];
+            for (int py = 0; py < size; py++) {
+                for (int px = 0; px < size; px++) {
+                    scaled[py * size + px] =
+                            source[(py / scale) * sourceSize + (px / scale)];
+                }
+            }
+            scaledParts[i] = scaled;
+        }
+
+        WritableImage panel = new WritableImage(
+                Math.max(columns, 1) * size, Math.max(rows, 1) * size);
+        PixelWriter writer = panel.getPixelWriter();
+        for (int row = 0; row < rows; row++) {
+            int partRow = (row == 0) ? 0 : (row == rows - 1) ? 2 : 1;
+            for (int column = 0; column < columns; column++) {
+                int partColumn = (column == 0)
+                        ? 0
+                        : (column == columns - 1) ? 2 : 1;
+                writer.setPixels(column * size, row * size, size, size,
+                        PixelFormat.getIntArgbInstance(),
+                        scaledParts[partRow * 3 + partColumn], 0, size);
+            }
+        }
+        return panel;
+    }
+
+}
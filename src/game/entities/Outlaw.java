@@ -1,19 +1,20 @@
 package game.entities;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.Arrays;
 
 import game.Game;
+import game.ImageHandle;
+import game.SoundMixer;
 import game.UIUtils;
 import game.entities.effects.Effect;
 import game.entities.effects.ImmortalityEffect;
 import game.entities.effects.SmokeEffect;
+import game.render.Renderer;
 import game.scenes.LevelScene;
-import javafx.event.EventHandler;
-import javafx.scene.Scene;
-import javafx.scene.canvas.GraphicsContext;
-import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
-import javafx.scene.input.KeyEvent;
 
 /**
  * This class is a sprite representing the player's character
@@ -23,20 +24,20 @@ import javafx.scene.input.KeyEvent;
 public final class Outlaw extends Entity {
 
     /** Frame set: facing west. */
-    private static final Image FRAMESET_W = new Image(
-            Game.getAsset("player_sheet_w.png"));
+    private static final ImageHandle FRAMESET_W =
+            ImageHandle.of("player_sheet_w.png");
     /** Frame set: facing south west. */
-    private static final Image FRAMESET_SW = new Image(
-            Game.getAsset("player_sheet_sw.png"));
+    private static final ImageHandle FRAMESET_SW =
+            ImageHandle.of("player_sheet_sw.png");
     /** Frame set: facing north. */
-    private static final Image FRAMESET_N = new Image(
-            Game.getAsset("player_sheet_n.png"));
+    private static final ImageHandle FRAMESET_N =
+            ImageHandle.of("player_sheet_n.png");
     /** Frame set: facing north west. */
-    private static final Image FRAMESET_NW = new Image(
-            Game.getAsset("player_sheet_nw.png"));
+    private static final ImageHandle FRAMESET_NW =
+            ImageHandle.of("player_sheet_nw.png");
     /** Frame set: facing south. */
-    private static final Image FRAMESET_S = new Image(
-            Game.getAsset("player_sheet_s.png"));
+    private static final ImageHandle FRAMESET_S =
+            ImageHandle.of("player_sheet_s.png");
     /** Frame set: rows. */
     private static final int FRAMESET_ROWS = 5;
     /** Frame set: columns. */
@@ -90,7 +91,7 @@ public final class Outlaw extends Entity {
     public Outlaw(int x, int y, LevelScene parent) {
         super(x, y, parent);
 
-        this.setFrameSet(FRAMESET_W, FRAMESET_ROWS, FRAMESET_COLUMNS);
+        this.setFrameSet(FRAMESET_W.get(), FRAMESET_ROWS, FRAMESET_COLUMNS);
         this.setFrameRange(FRAME_RANGE);
         this.setBoundsOffset(FRAMESET_OFFSET);
         this.frameRange.playIdle(this);
@@ -105,6 +106,8 @@ public final class Outlaw extends Entity {
         this.blockedFromShooting = false;
 
         this.activeDirections = 0;
+        this.setCollisionLayer(LAYER_OUTLAW);
+        this.setCollisionMask(MASK_OBSTACLES);
 
         this.powerupEffect = null;
         this.immortalityEffect = null;
@@ -112,6 +115,12 @@ public final class Outlaw extends Entity {
         Arrays.fill(passability, true);
     }
 
+    @Override
+    public boolean canSleep() {
+        // Keep updating even when far from the camera.
+        return false;
+    }
+
     @Override
     public void update(long now) {
         super.update(now);
@@ -141,7 +150,7 @@ public final class Outlaw extends Entity {
                 && Game.isDirectionActive(this.activeDirections, Game.DIR_LEFT)
                 && passability[SIDE_LEFT]) {
             this.dx = -BASE_SPEED;
-        } else if (this.getBounds().getMinX() + this.dx <= Game.WINDOW_MAX_WIDTH - this.getBounds().getWidth()
+        } else if (this.getBounds().getMinX() + this.dx <= this.getParent().getLevelMap().getWorldWidth() - this.getBounds().getWidth()
                 && Game.isDirectionActive(this.activeDirections, Game.DIR_RIGHT)
                 && passability[SIDE_RIGHT]) {
             this.dx = BASE_SPEED;
@@ -153,7 +162,7 @@ public final class Outlaw extends Entity {
                 && Game.isDirectionActive(this.activeDirections, Game.DIR_UP)
                 && passability[SIDE_TOP]) {
             this.dy = -BASE_SPEED;
-        } else if (this.getBounds().getMinY() + dy <= Game.WINDOW_MAX_HEIGHT - this.getBounds().getHeight()
+        } else if (this.getBounds().getMinY() + dy <= this.getParent().getLevelMap().getWorldHeight() - this.getBounds().getHeight()
                 && Game.isDirectionActive(this.activeDirections, Game.DIR_DOWN)
                 && passability[SIDE_BOTTOM]) {
             this.dy = BASE_SPEED;
@@ -172,7 +181,7 @@ public final class Outlaw extends Entity {
     }
 
     @Override
-    public void draw(GraphicsContext gc) {
+    public void draw(Renderer gc) {
         // Draw the immortality effect, if applicable.
         if (immortalityEffect != null) {
             immortalityEffect.draw(gc);
@@ -189,6 +198,22 @@ public final class Outlaw extends Entity {
         }
     }
 
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeInt(this.strength);
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        this.strength = in.readInt();
+        // Keys held before suspending are no longer held.
+        this.activeDirections = 0;
+        this.blockedFromShooting = false;
+        this.setFrameSet(FRAMESET_W.get());
+    }
+
     /**
      * Induces this character to shoot with a gun.
      */
@@ -252,39 +277,14 @@ public final class Outlaw extends Entity {
         this.dying = true;
         this.setFrameAutoReset(false);
         this.frameRange.playDeath(this);
-        Game.playSFX(SFX_DEAD_OUTLAW);
-    }
-
-    /**
-     * Handles the key pressed/released events for movement.
-     * @param level the LevelScene object owning this entity.
-     */
-    public void handleKeyPressEvent(LevelScene level) {
-        Scene scene = level.getInner();
-        scene.addEventHandler(KeyEvent.KEY_PRESSED, new EventHandler<KeyEvent>() {
-            @Override
-            public void handle(KeyEvent e) {
-                if (level.isLevelDone() || level.isLevelPaused()) {
-                    return;
-                }
-                KeyCode code = e.getCode();
-                startMoving(code);
-            }
-        });
-        scene.addEventHandler(KeyEvent.KEY_RELEASED, new EventHandler<KeyEvent>() {
-            @Override
-            public void handle(KeyEvent e) {
-                KeyCode code = e.getCode();
-                stopMoving(code);
-            }
-        });
+        Game.playSFX(SFX_DEAD_OUTLAW, 1, SoundMixer.PRIORITY_HIGH);
     }
 
     /**
      * Starts movement or shooting.
      * @param keyCode a KeyCode indicating the current action.
      */
-    private void startMoving(KeyCode keyCode) {
+    public void startMoving(KeyCode keyCode) {
         if (!this.isAlive()) {
             return;
         }
@@ -318,7 +318,7 @@ public final class Outlaw extends Entity {
             // imposed by the problem domain.
             this.blockedFromShooting = true;
             this.frameRange.playShoot(this,
-                    Game.FLAG_DIRECTIONAL_SHOOTING ? null : FRAMESET_W);
+                    Game.FLAG_DIRECTIONAL_SHOOTING ? null : FRAMESET_W.get());
             this.shoot();
             break;
         default:
@@ -331,7 +331,7 @@ public final class Outlaw extends Entity {
      * Stops movement or shooting.
      * @param keyCode a KeyCode indicating the current action.
      */
-    private void stopMoving(KeyCode keyCode) {
+    public void stopMoving(KeyCode keyCode) {
         switch (keyCode) {
         case UP:
         case W:
@@ -371,27 +371,27 @@ public final class Outlaw extends Entity {
         this.setFlip(false, false);
         if (Game.isDirectionActive(this.activeDirections, Game.DIR_UP)) {
             if (Game.isDirectionActive(this.activeDirections, Game.DIR_RIGHT)) {
-                this.setFrameSet(FRAMESET_NW);
+                this.setFrameSet(FRAMESET_NW.get());
             } else if (Game.isDirectionActive(this.activeDirections, Game.DIR_LEFT)) {
-                this.setFrameSet(FRAMESET_NW);
+                this.setFrameSet(FRAMESET_NW.get());
                 this.setFlip(true, false);
             } else {
-                this.setFrameSet(FRAMESET_N);
+                this.setFrameSet(FRAMESET_N.get());
             }
         } else if (Game.isDirectionActive(this.activeDirections, Game.DIR_DOWN)) {
             if (Game.isDirectionActive(this.activeDirections, Game.DIR_RIGHT)) {
-                this.setFrameSet(FRAMESET_SW);
+                this.setFrameSet(FRAMESET_SW.get());
             } else if (Game.isDirectionActive(this.activeDirections, Game.DIR_LEFT)) {
-                this.setFrameSet(FRAMESET_SW);
+                this.setFrameSet(FRAMESET_SW.get());
                 this.setFlip(true, false);
             } else {
-                this.setFrameSet(FRAMESET_S);
+                this.setFrameSet(FRAMESET_S.get());
             }
         } else {
             if (Game.isDirectionActive(this.activeDirections, Game.DIR_LEFT)) {
                 this.setFlip(true, false);
             }
-            this.setFrameSet(FRAMESET_W);
+            this.setFrameSet(FRAMESET_W.get());
         }
     }
 
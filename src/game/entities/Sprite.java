@@ -1,9 +1,16 @@
 package game.entities;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
 
+import game.ActionTimer;
+import game.DirtyRegion;
+import game.render.Renderer;
 import javafx.geometry.Rectangle2D;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 
 /**
@@ -22,6 +29,10 @@ public abstract class Sprite implements Comparable<Sprite> {
     protected int dy;
     /** Whether bounds should be updated. */
     protected boolean boundsDirty;
+    /** Whether this sprite changed since it was last drawn. */
+    private boolean renderDirty;
+    /** The area covered by this sprite when it was last drawn. */
+    private Rectangle2D lastDrawnBounds;
 
     /** The default speed of changing frames. */
     private static final long DEFAULT_FRAME_INTERVAL =
@@ -50,8 +61,8 @@ public abstract class Sprite implements Comparable<Sprite> {
     /** Whether this sprite is flipped vertically. */
     private boolean flipVertical;
 
-    /** An array containing rectangles for each frame in the image. */
-    private Rectangle2D sourceRectangles[];
+    /** The shared source rectangles for each frame in the image. */
+    private FrameSheet frameSheet;
     /** The current frame number. */
     private int frame;
     /** The total number of frames. */
@@ -80,6 +91,8 @@ public abstract class Sprite implements Comparable<Sprite> {
     private long overrideFrameInterval;
     /** Frame offset from all sides (used to remove transparent space). */
     private int[] boundsOffset;
+    /** Action timers that are closed once this sprite is removed. */
+    private ArrayList<ActionTimer> boundTimers;
 
     /**
      * Constructs an instance of Sprite.
@@ -90,6 +103,8 @@ public abstract class Sprite implements Comparable<Sprite> {
         this.dx = 0;
         this.dy = 0;
         this.boundsDirty = true;
+        this.renderDirty = true;
+        this.lastDrawnBounds = null;
 
         this.x = x;
         this.y = y;
@@ -102,7 +117,7 @@ public abstract class Sprite implements Comparable<Sprite> {
         this.flipHorizontal = false;
         this.flipVertical = false;
 
-        this.sourceRectangles = null;
+        this.frameSheet = null;
         this.frame = -1;
         this.totalFrames = 0;
         this.lastFrameTime = -1;
@@ -118,6 +133,7 @@ public abstract class Sprite implements Comparable<Sprite> {
         this.overrideFrameInterval = -1;
 
         this.boundsOffset = null;
+        this.boundTimers = null;
     }
 
     /**
@@ -143,6 +159,23 @@ public abstract class Sprite implements Comparable<Sprite> {
             return;
         }
 
+        // Looping sequences follow the shared clock: all sprites with the
+        // same frame interval step on the same tick, so the current frame
+        // is a lookup instead of a per-sprite countdown.
+        if (!this.hasFrameOverride && this.frameAutoReset) {
+            int previousFrame = this.frame;
+            int span = this.maxFrame - this.minFrame;
+            if (span > 0 && this.frameInterval > 0) {
+                long tick = now / this.frameInterval;
+                this.frame = this.minFrame + (int) (tick % span);
+            }
+            if (this.frame != previousFrame) {
+                this.renderDirty = true;
+            }
+            this.lastFrameTime = now;
+            return;
+        }
+
         long realFrameInterval = this.frameInterval;
         if (this.overrideFrameInterval > 0) {
             realFrameInterval = this.overrideFrameInterval;
@@ -152,6 +185,7 @@ public abstract class Sprite implements Comparable<Sprite> {
             return;
         }
 
+        int previousFrame = this.frame;
         if (this.frameAutoReset || !this.frameSequenceDone) {
             this.frame++;
         }
@@ -168,21 +202,24 @@ public abstract class Sprite implements Comparable<Sprite> {
             }
         }
 
+        if (this.frame != previousFrame) {
+            this.renderDirty = true;
+        }
         this.lastFrameTime = now;
     }
 
     /**
      * Draws this sprite on the canvas.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    public void draw(GraphicsContext gc) {
+    public void draw(Renderer gc) {
         double flipOffsetX = (flipHorizontal ? (this.getWidth() * this.getScale()) : 0);
         double flipOffsetY = (flipVertical ? (this.getHeight() * this.getScale()) : 0);
         double flipMultiplierWidth = (flipHorizontal ? -1 : 1);
         double flipMultiplierHeight = (flipVertical ? -1 : 1);
 
         if (frame != -1 && totalFrames != 0) {
-            Rectangle2D source = this.sourceRectangles[frame];
+            Rectangle2D source = this.frameSheet.getSource(frame);
             gc.drawImage(
                     this.getImage(),
                     source.getMinX(),
@@ -231,6 +268,7 @@ public abstract class Sprite implements Comparable<Sprite> {
             this.frameSequenceDone = false;
             this.frame = min;
         }
+        this.renderDirty = true;
     }
 
     /**
@@ -253,6 +291,7 @@ public abstract class Sprite implements Comparable<Sprite> {
         this.hasFrameOverride = false;
         this.frameSequenceDone = true;
         this.frame = this.minFrame;
+        this.renderDirty = true;
     }
 
     /**
@@ -302,6 +341,51 @@ public abstract class Sprite implements Comparable<Sprite> {
         return this.bounds;
     }
 
+    /**
+     * Retrieves the area covered by this sprite when drawn.
+     * @return a Rectangle2D object.
+     */
+    public Rectangle2D getDrawBounds() {
+        return new Rectangle2D(this.getX(), this.getY(),
+                this.getWidth() * this.getScale(),
+                this.getHeight() * this.getScale());
+    }
+
+    /**
+     * Retrieves the area covered by this sprite when it was last drawn.
+     * @return a Rectangle2D object, or null if it wasn't drawn yet.
+     */
+    public Rectangle2D getLastDrawnBounds() {
+        return this.lastDrawnBounds;
+    }
+
+    /**
+     * Adds the areas affected by changes to this sprite since the last
+     * call to the given dirty region.
+     * @param region a DirtyRegion object.
+     */
+    public void collectDamage(DirtyRegion region) {
+        if (!this.renderDirty) {
+            return;
+        }
+        // Both the old and the new area need to be repainted.
+        region.add(this.lastDrawnBounds);
+        if (this.removed) {
+            this.lastDrawnBounds = null;
+        } else {
+            this.lastDrawnBounds = this.getDrawBounds();
+            region.add(this.lastDrawnBounds);
+        }
+        this.renderDirty = false;
+    }
+
+    /**
+     * Marks this sprite as changed so that it will be repainted.
+     */
+    protected void markRenderDirty() {
+        this.renderDirty = true;
+    }
+
     /**
      * Retrieves the associated image.
      * @return an Image object.
@@ -393,6 +477,7 @@ public abstract class Sprite implements Comparable<Sprite> {
     public void setX(int x) {
         this.x = x;
         this.boundsDirty = true;
+        this.renderDirty = true;
     }
 
     /**
@@ -402,6 +487,7 @@ public abstract class Sprite implements Comparable<Sprite> {
     public void setY(int y) {
         this.y = y;
         this.boundsDirty = true;
+        this.renderDirty = true;
     }
 
     /**
@@ -426,6 +512,7 @@ public abstract class Sprite implements Comparable<Sprite> {
      */
     protected void setImage(Image image) {
         this.image = image;
+        this.renderDirty = true;
         this.boundsDirty = (this.getWidth() != image.getWidth()
                 || this.getHeight() != image.getHeight());
         if (boundsDirty) {
@@ -441,6 +528,7 @@ public abstract class Sprite implements Comparable<Sprite> {
     public void setWidth(double val) {
         this.width = val;
         this.boundsDirty = true;
+        this.renderDirty = true;
     }
 
     /**
@@ -450,6 +538,7 @@ public abstract class Sprite implements Comparable<Sprite> {
     public void setHeight(double val) {
         this.height = val;
         this.boundsDirty = true;
+        this.renderDirty = true;
     }
 
     /**
@@ -459,6 +548,7 @@ public abstract class Sprite implements Comparable<Sprite> {
     public void setScale(int scale) {
         this.scale = scale;
         this.boundsDirty = true;
+        this.renderDirty = true;
     }
 
     /**
@@ -467,6 +557,7 @@ public abstract class Sprite implements Comparable<Sprite> {
      */
     public void setVisible(boolean value) {
         this.visible = value;
+        this.renderDirty = true;
     }
 
     /**
@@ -474,6 +565,87 @@ public abstract class Sprite implements Comparable<Sprite> {
      */
     public void remove() {
         this.removed = true;
+        this.renderDirty = true;
+        // Close timers bound to this sprite's lifetime.
+        if (this.boundTimers != null) {
+            for (ActionTimer timer : this.boundTimers) {
+                timer.close();
+            }
+            this.boundTimers = null;
+        }
+    }
+
+    /**
+     * Binds the given action timer to the lifetime of this sprite.
+     * @param timer an ActionTimer object.
+     */
+    public void bindTimer(ActionTimer timer) {
+        if (this.removed) {
+            timer.close();
+            return;
+        }
+        if (this.boundTimers == null) {
+            this.boundTimers = new ArrayList<ActionTimer>();
+        }
+        // Forget timers that already finished on their own.
+        this.boundTimers.removeIf(new Predicate<ActionTimer>() {
+            @Override
+            public boolean test(ActionTimer t) {
+                return t.isClosed();
+            }
+        });
+        this.boundTimers.add(timer);
+    }
+
+    /**
+     * Writes the state of this sprite which isn't determined by its type,
+     * such as its position, movement, and frame sequence.
+     * @param out a DataOutput object.
+     * @throws IOException if the state couldn't be written.
+     */
+    public void writeState(DataOutput out) throws IOException {
+        out.writeInt(this.x);
+        out.writeInt(this.y);
+        out.writeInt(this.dx);
+        out.writeInt(this.dy);
+        out.writeBoolean(this.visible);
+        out.writeBoolean(this.flipHorizontal);
+        out.writeBoolean(this.flipVertical);
+        // Temporary frame overrides aren't kept, so resume the base
+        // sequence instead.
+        out.writeInt(this.hasFrameOverride ? this.minFrame : this.frame);
+        out.writeInt(this.minFrame);
+        out.writeInt(this.maxFrame);
+        out.writeBoolean(this.frameAutoReset);
+        out.writeBoolean(this.frameSequenceDone);
+    }
+
+    /**
+     * Reads the state previously written by {@link #writeState}.
+     * @param in a DataInput object.
+     * @throws IOException if the state couldn't be read.
+     */
+    public void readState(DataInput in) throws IOException {
+        this.x = in.readInt();
+        this.y = in.readInt();
+        this.dx = in.readInt();
+        this.dy = in.readInt();
+        this.visible = in.readBoolean();
+        this.flipHorizontal = in.readBoolean();
+        this.flipVertical = in.readBoolean();
+        this.overrideMinFrame = -1;
+        this.overrideMaxFrame = -1;
+        this.overrideFrameInterval = -1;
+        this.overrideImage = null;
+        this.hasFrameOverride = false;
+        this.frame = in.readInt();
+        this.minFrame = in.readInt();
+        this.maxFrame = in.readInt();
+        this.frameAutoReset = in.readBoolean();
+        this.frameSequenceDone = in.readBoolean();
+        this.lastFrameTime = -1;
+        this.boundsDirty = true;
+        this.renderDirty = true;
     }
 
     /**
@@ -489,6 +661,7 @@ public abstract class Sprite implements Comparable<Sprite> {
             this.flipHorizontal = value;
             this.boundsDirty = this.boundsDirty || (this.flipHorizontal != value);
         }
+        this.renderDirty = true;
     }
 
     /**
@@ -501,32 +674,21 @@ public abstract class Sprite implements Comparable<Sprite> {
     protected void setFrameSet(Image frameSet, int rows, int columns, boolean reframe) {
         if (this.image != frameSet) {
             this.image = frameSet;
+            this.renderDirty = true;
         }
 
         if (!reframe) {
             return;
         }
 
-        this.width = (int) (frameSet.getWidth() / columns);
-        this.height = (int) (frameSet.getHeight() / rows);
+        // Source rectangles are shared by all sprites using this sheet.
+        this.frameSheet = FrameSheet.of(frameSet, rows, columns);
+        this.width = this.frameSheet.getFrameWidth();
+        this.height = this.frameSheet.getFrameHeight();
         this.boundsDirty = true;
 
-        this.totalFrames = rows * columns;
+        this.totalFrames = this.frameSheet.getTotalFrames();
         this.setMinMaxFrame(0, totalFrames);
-
-        // Prepare source rectangles for each frame.
-        this.sourceRectangles = new Rectangle2D[this.totalFrames];
-        int sourceFrame = 0;
-        for (int row = 0; row < rows; row++) {
-            for (int column = 0; column < columns; column++) {
-                sourceRectangles[sourceFrame] = new Rectangle2D(
-                        this.getWidth() * column,
-                        this.getHeight() * row,
-                        this.getWidth(),
-                        this.getHeight());
-                sourceFrame++;
-            }
-        }
     }
 
     /**
@@ -553,7 +715,10 @@ public abstract class Sprite implements Comparable<Sprite> {
      * @param frame an integer.
      */
     protected void setFrame(int frame) {
-        this.frame = frame;
+        if (this.frame != frame) {
+            this.frame = frame;
+            this.renderDirty = true;
+        }
     }
 
     /**
@@ -578,6 +743,7 @@ public abstract class Sprite implements Comparable<Sprite> {
             this.clearFrameOverride();
             this.frameSequenceDone = false;
             this.frame = min;
+            this.renderDirty = true;
         }
     }
 
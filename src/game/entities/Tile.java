@@ -1,7 +1,8 @@
 package game.entities;
 
 import game.Game;
-import javafx.scene.canvas.GraphicsContext;
+import game.ImageHandle;
+import game.render.Renderer;
 import javafx.scene.image.Image;
 
 /**
@@ -26,7 +27,15 @@ public final class Tile {
     public static final int ALL =
             ALL_VERTICAL * ALL_HORIZONTAL;
 
-    /** A sprite object representing the tileset. */
+    /** The tileset image. */
+    private ImageHandle tilesetImage;
+    /** Number of rows in the tileset. */
+    private int rows;
+    /** Number of columns in the tileset. */
+    private int columns;
+    /** Tile scale. */
+    private int scale;
+    /** A sprite object representing the tileset, created on first use. */
     private Sprite tileset;
 
     /**
@@ -37,11 +46,11 @@ public final class Tile {
      * @param scale tile scale.
      */
     public Tile(String tilesetPath, int rows, int columns, int scale) {
-        Image tilesetImage = new Image(Game.getAsset(tilesetPath));
-        tileset = new Sprite() {};
-        tileset.setFrameSet(tilesetImage, rows, columns);
-        tileset.setFrameAutoReset(false);
-        tileset.setScale(scale);
+        this.tilesetImage = ImageHandle.of(tilesetPath);
+        this.rows = rows;
+        this.columns = columns;
+        this.scale = scale;
+        this.tileset = null;
     }
 
     /**
@@ -56,15 +65,16 @@ public final class Tile {
 
     /**
      * Draws the tile.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      * @param x the x-coordinate position.
      * @param y the y-coordinate position.
      * @param frameId the frame number in the tileset.
      * @param flip whether to flip the tile.
      * @param flipVertical whether to flip the tile vertically.
      */
-    public void draw(GraphicsContext gc, int x, int y, int frameId,
+    public void draw(Renderer gc, int x, int y, int frameId,
             boolean flip, boolean flipVertical) {
+        Sprite tileset = this.getTileset();
         tileset.setFlip(flip, flipVertical);
         tileset.setFrame(frameId);
         tileset.setX(x);
@@ -74,13 +84,53 @@ public final class Tile {
 
     /**
      * Draws the tile.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      * @param x the x-coordinate position.
      * @param y the y-coordinate position.
      * @param frameId the frame number in the tileset.
      */
-    public void draw(GraphicsContext gc, int x, int y, int frameId) {
+    public void draw(Renderer gc, int x, int y, int frameId) {
         draw(gc, x, y, frameId, false, false);
     }
 
+    /**
+     * Retrieves the tileset image, loading it on first use.
+     * @return an Image object.
+     */
+    Image getImage() {
+        return this.tilesetImage.get();
+    }
+
+    /**
+     * Retrieves the shared frame layout of the tileset.
+     * @return a FrameSheet object.
+     */
+    FrameSheet getFrameSheet() {
+        return FrameSheet.of(this.getImage(), this.rows, this.columns);
+    }
+
+    /**
+     * Retrieves the tile scale.
+     * @return an integer.
+     */
+    int getScale() {
+        return this.scale;
+    }
+
+    /**
+     * Retrieves the sprite representing the tileset, loading the
+     * tileset image on first use.
+     * @return a Sprite object.
+     */
+    private Sprite getTileset() {
+        if (this.tileset == null) {
+            this.tileset = new Sprite() {};
+            this.tileset.setFrameSet(this.tilesetImage.get(),
+                    this.rows, this.columns);
+            this.tileset.setFrameAutoReset(false);
+            this.tileset.setScale(this.scale);
+        }
+        return this.tileset;
+    }
+
 }
@@ -1,8 +1,7 @@
 package game.entities.effects;
 
-import game.Game;
+import game.ImageHandle;
 import game.entities.Sprite;
-import javafx.scene.image.Image;
 
 /**
  * This class represents the effect applied on the player sprite
@@ -12,8 +11,8 @@ import javafx.scene.image.Image;
 public final class ImmortalityEffect extends Effect {
 
     /** Frame set: effect. */
-    private static final Image FRAMESET = new Image(
-            Game.getAsset("fx_portal.png"));
+    private static final ImageHandle FRAMESET =
+            ImageHandle.of("fx_portal.png");
     /** Frame set: rows. */
     private static final int FRAMESET_ROWS = 1;
     /** Frame set: columns. */
@@ -39,7 +38,7 @@ public final class ImmortalityEffect extends Effect {
 
     @Override
     public void initialize() {
-        this.setFrameSet(FRAMESET, FRAMESET_ROWS, FRAMESET_COLUMNS);
+        this.setFrameSet(FRAMESET.get(), FRAMESET_ROWS, FRAMESET_COLUMNS);
         this.setMinMaxFrame(0, 4);
         this.playFrames(5, 9, null, 0);
     }
@@ -1,8 +1,7 @@
 package game.entities.effects;
 
-import game.Game;
+import game.ImageHandle;
 import game.entities.Sprite;
-import javafx.scene.image.Image;
 
 /**
  * This class represents the effect applied on a sprite whenever
@@ -12,8 +11,8 @@ import javafx.scene.image.Image;
 public final class SmokeEffect extends Effect {
 
     /** Frame set: effect. */
-    private static final Image FRAMESET = new Image(
-            Game.getAsset("fx_smoke.png"));
+    private static final ImageHandle FRAMESET =
+            ImageHandle.of("fx_smoke.png");
     /** Frame set: rows. */
     private static final int FRAMESET_ROWS = 1;
     /** Frame set: columns. */
@@ -40,7 +39,7 @@ public final class SmokeEffect extends Effect {
     @Override
     public void initialize() {
         this.setFrameAutoReset(false);
-        this.setFrameSet(FRAMESET, FRAMESET_ROWS, FRAMESET_COLUMNS);
+        this.setFrameSet(FRAMESET.get(), FRAMESET_ROWS, FRAMESET_COLUMNS);
         this.setMinMaxFrame(0, 5);
     }
 
@@ -1,8 +1,7 @@
 package game.entities.effects;
 
-import game.Game;
+import game.ImageHandle;
 import game.entities.Sprite;
-import javafx.scene.image.Image;
 
 /**
  * This class represents the effect applied on mobs when the
@@ -12,8 +11,8 @@ import javafx.scene.image.Image;
 public final class TornadoEffect extends Effect {
 
     /** Frame set: effect. */
-    private static final Image FRAMESET = new Image(
-            Game.getAsset("fx_tornado.png"));
+    private static final ImageHandle FRAMESET =
+            ImageHandle.of("fx_tornado.png");
     /** Frame set: rows. */
     private static final int FRAMESET_ROWS = 1;
     /** Frame set: columns. */
@@ -40,7 +39,7 @@ public final class TornadoEffect extends Effect {
     @Override
     public void initialize() {
         this.setFrameAutoReset(false);
-        this.setFrameSet(FRAMESET, FRAMESET_ROWS, FRAMESET_COLUMNS);
+        this.setFrameSet(FRAMESET.get(), FRAMESET_ROWS, FRAMESET_COLUMNS);
         this.setMinMaxFrame(0, 9);
     }
 
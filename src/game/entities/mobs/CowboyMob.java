@@ -1,9 +1,8 @@
 package game.entities.mobs;
 
-import game.Game;
+import game.ImageHandle;
 import game.entities.FrameRange;
 import game.scenes.LevelScene;
-import javafx.scene.image.Image;
 
 /**
  * This class represents a Cowboy, the boss enemy.
@@ -12,8 +11,8 @@ import javafx.scene.image.Image;
 public final class CowboyMob extends Mob {
 
     /** Frame set: mob. */
-    private static final Image FRAMESET_W = new Image(
-            Game.getAsset("cowboy_sheet_w.png"));
+    private static final ImageHandle FRAMESET_W =
+            ImageHandle.of("cowboy_sheet_w.png");
     /** Frame set: rows. */
     private static final int FRAMESET_ROWS = 4;
     /** Frame set: columns. */
@@ -46,7 +45,7 @@ public final class CowboyMob extends Mob {
         super(x, y, 3000, 50, parent);
 
         this.setDeadOnPlayerImpact(false);
-        this.setFrameSet(FRAMESET_W, FRAMESET_ROWS, FRAMESET_COLUMNS);
+        this.setFrameSet(FRAMESET_W.get(), FRAMESET_ROWS, FRAMESET_COLUMNS);
         this.setBoundsOffset(FRAMESET_OFFSET);
         this.setFrameRange(FRAME_RANGE);
 
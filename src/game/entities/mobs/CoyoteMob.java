@@ -1,9 +1,8 @@
 package game.entities.mobs;
 
-import game.Game;
+import game.ImageHandle;
 import game.entities.FrameRange;
 import game.scenes.LevelScene;
-import javafx.scene.image.Image;
 
 /**
  * This class represents a Coyote enemy.
@@ -12,8 +11,8 @@ import javafx.scene.image.Image;
 public final class CoyoteMob extends Mob {
 
     /** Frame set: mob. */
-    private static final Image FRAMESET_W = new Image(
-            Game.getAsset("coyote_sheet_w.png"));
+    private static final ImageHandle FRAMESET_W =
+            ImageHandle.of("coyote_sheet_w.png");
     /** Frame set: rows. */
     private static final int FRAMESET_ROWS = 4;
     /** Frame set: columns. */
@@ -39,7 +38,7 @@ public final class CoyoteMob extends Mob {
     public CoyoteMob(int x, int y, LevelScene parent) {
         super(x, y, 1, -1, parent);
 
-        this.setFrameSet(FRAMESET_W, FRAMESET_ROWS, FRAMESET_COLUMNS);
+        this.setFrameSet(FRAMESET_W.get(), FRAMESET_ROWS, FRAMESET_COLUMNS);
         this.setBoundsOffset(FRAMESET_OFFSET);
         this.setFrameRange(FRAME_RANGE);
 
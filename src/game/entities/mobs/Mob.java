@@ -1,9 +1,15 @@
 package game.entities.mobs;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
+import game.ActionTimer;
+import game.FrameProfiler;
 import game.Game;
+import game.SoundMixer;
 import game.UIUtils;
 import game.entities.Bullet;
 import game.entities.Entity;
@@ -13,8 +19,8 @@ import game.entities.Outlaw;
 import game.entities.effects.Effect;
 import game.entities.effects.ExplosionEffect;
 import game.entities.effects.TornadoEffect;
+import game.render.Renderer;
 import game.scenes.LevelScene;
-import javafx.scene.canvas.GraphicsContext;
 
 /**
  * This class is the base class for all enemies in the game.
@@ -76,6 +82,8 @@ public abstract class Mob extends Entity {
     /** AI: while following player, are we steering down? */
     private boolean steeringDown;
 
+    /** The action timer which makes this mob shoot, or null. */
+    private ActionTimer shootTimer;
     /** Passability of surrounding tiles. */
     private boolean passability[];
     /** Sprite frame range. */
@@ -116,25 +124,21 @@ public abstract class Mob extends Entity {
         this.steeringUp = false;
         this.steeringDown = false;
 
+        this.setCollisionLayer(LAYER_MOB);
+        this.setCollisionMask(MASK_OBSTACLES);
+
         this.passability = new boolean[4];
         this.frameRange = null;
         this.deathEffect = null;
         this.zeroSpeedEffect = null;
 
+        this.shootTimer = null;
+
         // Create an action timer for shooting if it's allowed.
         if (this.shooter) {
             // Shoot every X seconds.
-            long shootInterval = TimeUnit.SECONDS.toNanos(Game.RNG.nextInt(
-                    MOB_SHOOT_INTERVAL_MIN, MOB_SHOOT_INTERVAL_MAX + 1));
-            this.getParent().getTimers().add(shootInterval, true, new Callable<Boolean>() {
-                @Override
-                public Boolean call() {
-                    if (isAlive() && !getParent().isZeroSpeed()) {
-                        shoot();
-                    }
-                    return true;
-                }
-            });
+            this.startShooting(TimeUnit.SECONDS.toNanos(Game.RNG.nextInt(
+                    MOB_SHOOT_INTERVAL_MIN, MOB_SHOOT_INTERVAL_MAX + 1)));
         }
         // Allow mob to chase the player if we're not in a restricted mode.
         if (!this.getParent().getRestrictedMode()) {
@@ -144,6 +148,67 @@ public abstract class Mob extends Entity {
         this.setFlip(!this.movingRight, false);
     }
 
+    /**
+     * Starts the action timer which makes this mob shoot.
+     * @param shootInterval the interval at which the mob shoots.
+     */
+    private void startShooting(long shootInterval) {
+        this.shootTimer = this.getParent().getTimers().add(shootInterval, true, new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                if (isAlive() && !getParent().isZeroSpeed()) {
+                    shoot();
+                }
+                return true;
+            }
+        }, this);
+    }
+
+    @Override
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeInt(this.health);
+        out.writeInt(this.damage);
+        out.writeInt(this.speed);
+        out.writeBoolean(this.chasingPlayer);
+        out.writeBoolean(this.playerInMobBounds);
+        out.writeBoolean(this.movingStuck);
+        out.writeBoolean(this.movingRight);
+        out.writeBoolean(this.steeringUp);
+        out.writeBoolean(this.steeringDown);
+        boolean shooting = this.shooter && this.shootTimer != null
+                && !this.shootTimer.isClosed();
+        out.writeBoolean(shooting);
+        if (shooting) {
+            out.writeLong(this.shootTimer.getInterval());
+            out.writeLong(this.shootTimer.getElapsedTime());
+        }
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        this.health = in.readInt();
+        this.damage = in.readInt();
+        this.speed = in.readInt();
+        this.currentSpeed = this.speed;
+        this.chasingPlayer = in.readBoolean();
+        this.playerInMobBounds = in.readBoolean();
+        this.movingStuck = in.readBoolean();
+        this.movingRight = in.readBoolean();
+        this.steeringUp = in.readBoolean();
+        this.steeringDown = in.readBoolean();
+        this.shooter = in.readBoolean();
+        if (this.shootTimer != null) {
+            this.shootTimer.close();
+            this.shootTimer = null;
+        }
+        if (this.shooter) {
+            this.startShooting(in.readLong());
+            this.shootTimer.setElapsedTime(in.readLong());
+        }
+    }
+
     /**
      * Initializes this Mob.
      */
@@ -179,11 +244,13 @@ public abstract class Mob extends Entity {
         }
         // Update mob positions and check for collisions.
         moveMob();
+        FrameProfiler.begin(FrameProfiler.PHASE_COLLISION);
         checkOutlawCollision(this.getParent().getOutlaw());
+        FrameProfiler.end();
     }
 
     @Override
-    public void draw(GraphicsContext gc) {
+    public void draw(Renderer gc) {
         super.draw(gc);
         if (this.deathEffect != null) {
             this.deathEffect.draw(gc);
@@ -375,7 +442,8 @@ public abstract class Mob extends Entity {
         // Change direction if we're at screen bounds.
         int nextX = (int) (getBounds().getMinX() + dx);
         boolean changeFromRight = this.movingRight
-                && nextX >= Game.WINDOW_MAX_WIDTH - this.getBounds().getWidth();
+                && nextX >= this.getParent().getLevelMap().getWorldWidth()
+                    - this.getBounds().getWidth();
         boolean changeFromLeft = !this.movingRight
                 && nextX <= 0;
         if (changeFromRight || changeFromLeft) {
@@ -429,12 +497,14 @@ public abstract class Mob extends Entity {
     private void prepareDeath() {
         this.alive = false;
         this.dying = true;
+        // Dead mobs no longer block or get hit.
+        this.setCollisionLayer(LAYER_NONE);
         this.getParent().incrementMobKillCount();
         this.setFrameAutoReset(false);
         this.setFrameInterval(FRAME_DEATH_INTERVAL);
         this.frameRange.playDeath(this);
         this.deathEffect = new ExplosionEffect(this);
-        Game.playSFX(SFX_DEAD_MOB, 0.3);
+        Game.playSFX(SFX_DEAD_MOB, 0.3, SoundMixer.PRIORITY_LOW);
     }
 
     /**
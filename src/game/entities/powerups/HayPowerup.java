@@ -1,8 +1,7 @@
 package game.entities.powerups;
 
-import game.Game;
+import game.ImageHandle;
 import game.scenes.LevelScene;
-import javafx.scene.image.Image;
 
 /**
  * This class represents the immortality power-up.
@@ -13,8 +12,8 @@ public final class HayPowerup extends Powerup {
     /** Power-up ID. */
     public static final int ID = 1;
     /** Frame set: power-up. */
-    private static final Image FRAMESET = new Image(
-            Game.getAsset("pw_hay.png"));
+    private static final ImageHandle FRAMESET =
+            ImageHandle.of("pw_hay.png");
 
     /**
      * Constructs an instance of HayPowerup.
@@ -24,7 +23,7 @@ public final class HayPowerup extends Powerup {
      */
     public HayPowerup(int x, int y, LevelScene parent) {
         super(x, y, parent);
-        this.setImage(FRAMESET);
+        this.setImage(FRAMESET.get());
     }
 
     @Override
@@ -1,8 +1,7 @@
 package game.entities.powerups;
 
-import game.Game;
+import game.ImageHandle;
 import game.scenes.LevelScene;
-import javafx.scene.image.Image;
 
 /**
  * This class represents the double-life power-up.
@@ -13,8 +12,8 @@ public final class LampPowerup extends Powerup {
     /** Power-up ID. */
     public static final int ID = 0;
     /** Frame set: power-up. */
-    private static final Image FRAMESET = new Image(
-            Game.getAsset("pw_lamp.png"));
+    private static final ImageHandle FRAMESET =
+            ImageHandle.of("pw_lamp.png");
     /** Tuning: strength cap on hard difficulty. */
     private static final int STRENGTH_MAX_ON_HARD = 300;
 
@@ -26,7 +25,7 @@ public final class LampPowerup extends Powerup {
      */
     public LampPowerup(int x, int y, LevelScene parent) {
         super(x, y, parent);
-        this.setImage(FRAMESET);
+        this.setImage(FRAMESET.get());
     }
 
     @Override
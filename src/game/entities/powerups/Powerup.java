@@ -1,12 +1,17 @@
 package game.entities.powerups;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
+import game.ActionTimer;
 import game.Game;
+import game.SoundMixer;
 import game.entities.Entity;
+import game.render.Renderer;
 import game.scenes.LevelScene;
-import javafx.scene.canvas.GraphicsContext;
 
 /**
  * This class represents power-ups that can be collected in-game.
@@ -25,6 +30,10 @@ public abstract class Powerup extends Entity {
     private static final String SFX_POWERUP_COLLECT = "sfx_powerup_collect.wav";
     /** Whether this power-up was collected. */
     private boolean collected;
+    /** Whether this power-up disappeared before it was collected. */
+    private boolean expired;
+    /** The action timer which makes this power-up disappear. */
+    private ActionTimer timeoutTimer;
 
     /**
      * Constructs an instance of Powerup.
@@ -34,19 +43,24 @@ public abstract class Powerup extends Entity {
      */
     public Powerup(int x, int y, LevelScene parent) {
         super(x, y, parent);
+        this.collected = false;
+        this.expired = false;
+        this.setCollisionLayer(LAYER_POWERUP);
+        this.setCollisionMask(LAYER_OUTLAW);
 
-        parent.getTimers().add(POWERUP_TIMEOUT, false, new Callable<Boolean>() {
+        this.timeoutTimer = parent.getTimers().add(POWERUP_TIMEOUT, false, new Callable<Boolean>() {
             @Override
             public Boolean call() {
-                collected = true;
+                expired = true;
+                setCollisionLayer(LAYER_NONE);
                 return true;
             }
-        });
+        }, this);
     }
 
     @Override
     public void update(long now) {
-        if (this.collected) {
+        if (this.collected || this.expired) {
             return;
         }
 
@@ -55,23 +69,51 @@ public abstract class Powerup extends Entity {
         if (this.getParent().getOutlaw().isAlive()) {
             if (this.intersects(this.getParent().getOutlaw())) {
                 this.collected = true;
+                this.setCollisionLayer(LAYER_NONE);
                 this.applyPowerup();
                 this.getParent().getOutlaw().spawnPowerupEffect();
                 this.getParent().addScore(POWERUP_BASE_SCORE);
-                Game.playSFX(SFX_POWERUP_COLLECT);
+                Game.playSFX(SFX_POWERUP_COLLECT, 1, SoundMixer.PRIORITY_HIGH);
             }
         }
     }
 
     @Override
-    public void draw(GraphicsContext gc) {
-        if (this.collected) {
+    public void writeState(DataOutput out) throws IOException {
+        super.writeState(out);
+        out.writeLong(this.timeoutTimer.getElapsedTime());
+    }
+
+    @Override
+    public void readState(DataInput in) throws IOException {
+        super.readState(in);
+        this.timeoutTimer.setElapsedTime(in.readLong());
+    }
+
+    @Override
+    public void draw(Renderer gc) {
+        if (this.collected || this.expired) {
             return;
         }
 
         super.draw(gc);
     }
 
+    @Override
+    public int getReapPolicy() {
+        return REAP_EXPIRED | REAP_INERT;
+    }
+
+    @Override
+    public boolean isExpired() {
+        return this.expired;
+    }
+
+    @Override
+    public boolean isInert() {
+        return this.collected;
+    }
+
     /**
      * Applies the effects associated with this power-up.
      */
@@ -1,8 +1,7 @@
 package game.entities.powerups;
 
-import game.Game;
+import game.ImageHandle;
 import game.scenes.LevelScene;
-import javafx.scene.image.Image;
 
 /**
  * This class represents the freeze all mobs power-up.
@@ -13,8 +12,8 @@ public final class SnakeOilPowerup extends Powerup {
     /** Power-up ID. */
     public static final int ID = 3;
     /** Frame set: power-up. */
-    private static final Image FRAMESET = new Image(
-            Game.getAsset("pw_snakeoil.png"));
+    private static final ImageHandle FRAMESET =
+            ImageHandle.of("pw_snakeoil.png");
 
     /**
      * Constructs an instance of SnakeOilPowerup.
@@ -24,7 +23,7 @@ public final class SnakeOilPowerup extends Powerup {
      */
     public SnakeOilPowerup(int x, int y, LevelScene parent) {
         super(x, y, parent);
-        this.setImage(FRAMESET);
+        this.setImage(FRAMESET.get());
     }
 
     @Override
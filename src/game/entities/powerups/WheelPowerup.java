@@ -1,8 +1,7 @@
 package game.entities.powerups;
 
-import game.Game;
+import game.ImageHandle;
 import game.scenes.LevelScene;
-import javafx.scene.image.Image;
 
 /**
  * This class represents the slow all mobs speed power-up.
@@ -13,8 +12,8 @@ public final class WheelPowerup extends Powerup {
     /** Power-up ID. */
     public static final int ID = 2;
     /** Frame set: power-up. */
-    private static final Image FRAMESET = new Image(
-            Game.getAsset("pw_wheel.png"));
+    private static final ImageHandle FRAMESET =
+            ImageHandle.of("pw_wheel.png");
 
     /**
      * Constructs an instance of WheelPowerup.
@@ -24,7 +23,7 @@ public final class WheelPowerup extends Powerup {
      */
     public WheelPowerup(int x, int y, LevelScene parent) {
         super(x, y, parent);
-        this.setImage(FRAMESET);
+        this.setImage(FRAMESET.get());
     }
 
     @Override
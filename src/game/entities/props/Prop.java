@@ -1,9 +1,8 @@
 package game.entities.props;
 
-import game.Game;
+import game.ImageHandle;
 import game.entities.Entity;
 import javafx.geometry.Rectangle2D;
-import javafx.scene.image.Image;
 
 /**
  * This class represents props used in the level map.
@@ -23,8 +22,9 @@ public abstract class Prop extends Entity {
     public Prop(int xPos, int yPos, String assetPath) {
         super(xPos, yPos, null);
 
-        this.setImage(new Image(Game.getAsset(assetPath)));
+        this.setImage(ImageHandle.of(assetPath).get());
         this.customCollider = null;
+        this.setCollisionLayer(LAYER_PROP);
     }
 
     @Override
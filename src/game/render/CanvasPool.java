@@ -0,0 +1,75 @@
+package game.render;
+
+import java.util.ArrayDeque;
+
+import javafx.application.Platform;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.transform.Affine;
+
+/**
+ * This utility class keeps the canvases of discarded scenes so that the
+ * next scene can draw on one of them instead of allocating a new canvas
+ * and its backing texture.
+ * @implNote The pool is only used on the JavaFX application thread;
+ *           other threads, such as those simulating levels, always get
+ *           a new canvas.
+ */
+public final class CanvasPool {
+
+    /** The largest number of canvases kept for reuse. */
+    private static final int MAX_POOLED = 2;
+
+    /** Canvases waiting to be reused. */
+    private static final ArrayDeque<Canvas> POOL = new ArrayDeque<Canvas>();
+
+    /**
+     * Retrieves a blank canvas of the given size, reusing a released one
+     * if possible.
+     * @param width the canvas width.
+     * @param height the canvas height.
+     * @return a Canvas object.
+     */
+    public static Canvas acquire(double width, double height) {
+        Canvas canvas = null;
+        if (Platform.isFxApplicationThread()) {
+            canvas = POOL.poll();
+        }
+        if (canvas == null) {
+            return new Canvas(width, height);
+        }
+        canvas.setWidth(width);
+        canvas.setHeight(height);
+        return canvas;
+    }
+
+    /**
+     * Returns the given canvas to the pool. The canvas must already be
+     * detached from its scene and must not be used by the caller again.
+     * @param canvas a Canvas object.
+     */
+    public static void release(Canvas canvas) {
+        if (canvas == null || !Platform.isFxApplicationThread()
+                || canvas.getParent() != null
+                || POOL.size() >= MAX_POOLED || POOL.contains(canvas)) {
+            return;
+        }
+        // Leave no state or contents behind for the next scene.
+        GraphicsContext gc = canvas.getGraphicsContext2D();
+        gc.setTransform(new Affine());
+        gc.setGlobalAlpha(1);
+        gc.clearRect(0, 0, canvas.getWidth(), canvas.getHeight());
+        canvas.setOpacity(1);
+        canvas.setVisible(true);
+        POOL.push(canvas);
+    }
+
+    /**
+     * Retrieves the number of canvases waiting to be reused.
+     * @return an integer.
+     */
+    public static int getPooledCount() {
+        return POOL.size();
+    }
+
+}
@@ -0,0 +1,142 @@
+package game.render;
+
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+
+/**
+ * This class draws directly on a canvas through its graphics context.
+ */
+public final class CanvasRenderer implements Renderer {
+
+    /** JFX: graphics context of the target canvas. */
+    private final GraphicsContext gc;
+
+    /**
+     * Constructs an instance of CanvasRenderer.
+     * @param canvas the target canvas.
+     */
+    public CanvasRenderer(Canvas canvas) {
+        this.gc = canvas.getGraphicsContext2D();
+        this.gc.setImageSmoothing(false);
+    }
+
+    @Override
+    public void beginFrame() {
+        // The canvas presents its contents on its own.
+    }
+
+    @Override
+    public void endFrame() {
+        // The canvas presents its contents on its own.
+    }
+
+    @Override
+    public void save() {
+        this.gc.save();
+    }
+
+    @Override
+    public void restore() {
+        this.gc.restore();
+    }
+
+    @Override
+    public void translate(double x, double y) {
+        this.gc.translate(x, y);
+    }
+
+    @Override
+    public void clip(double x, double y, double width, double height) {
+        this.gc.beginPath();
+        this.gc.rect(x, y, width, height);
+        this.gc.clip();
+    }
+
+    @Override
+    public void setGlobalAlpha(double alpha) {
+        this.gc.setGlobalAlpha(alpha);
+    }
+
+    @Override
+    public void setFill(Paint paint) {
+        this.gc.setFill(paint);
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        this.gc.setStroke(paint);
+    }
+
+    @Override
+    public void setLineWidth(double width) {
+        this.gc.setLineWidth(width);
+    }
+
+    @Override
+    public void setFont(Font font) {
+        this.gc.setFont(font);
+    }
+
+    @Override
+    public void clearRect(double x, double y, double width, double height) {
+        this.gc.clearRect(x, y, width, height);
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y) {
+        this.gc.drawImage(image, x, y);
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y,
+            double width, double height) {
+        this.gc.drawImage(image, x, y, width, height);
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw,
+            double sh, double dx, double dy, double dw, double dh) {
+        this.gc.drawImage(image, sx, sy, sw, sh, dx, dy, dw, dh);
+    }
+
+    @Override
+    public void fillRect(double x, double y, double width, double height) {
+        this.gc.fillRect(x, y, width, height);
+    }
+
+    @Override
+    public void fillRoundRect(double x, double y, double width,
+            double height, double arcWidth, double arcHeight) {
+        this.gc.fillRoundRect(x, y, width, height, arcWidth, arcHeight);
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double width, double height) {
+        this.gc.strokeRect(x, y, width, height);
+    }
+
+    @Override
+    public void strokeRoundRect(double x, double y, double width,
+            double height, double arcWidth, double arcHeight) {
+        this.gc.strokeRoundRect(x, y, width, height, arcWidth, arcHeight);
+    }
+
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        this.gc.strokeLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        this.gc.fillText(text, x, y);
+    }
+
+    @Override
+    public void strokeText(String text, double x, double y) {
+        this.gc.strokeText(text, x, y);
+    }
+
+}
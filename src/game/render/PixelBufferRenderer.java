@@ -0,0 +1,497 @@
+package game.render;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.image.PixelBuffer;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+import javafx.util.Callback;
+
+/**
+ * This class draws images and filled rectangles in software, straight
+ * into an array of premultiplied ARGB pixels which is then shown through
+ * a PixelBuffer-backed image. Images are converted to pixels once and
+ * blitted with integer scaling and flips, avoiding the canvas command
+ * buffer altogether.
+ * @implNote Text and strokes are still drawn on the canvas, which is
+ *           layered on top of the pixel buffer. They will always appear
+ *           above images drawn through this renderer.
+ */
+public final class PixelBufferRenderer implements Renderer {
+
+    /**
+     * This class holds the drawing state saved by {@link #save()}.
+     */
+    private static final class State {
+
+        /** The global alpha, from 0 to 255. */
+        private int alpha;
+        /** The x-coordinate offset of the origin. */
+        private double translateX;
+        /** The y-coordinate offset of the origin. */
+        private double translateY;
+        /** Clip bounds: minimum x-coordinate. */
+        private int clipMinX;
+        /** Clip bounds: minimum y-coordinate. */
+        private int clipMinY;
+        /** Clip bounds: maximum x-coordinate. */
+        private int clipMaxX;
+        /** Clip bounds: maximum y-coordinate. */
+        private int clipMaxY;
+        /** The current fill paint. */
+        private Paint fill;
+
+        /**
+         * Creates a copy of this state.
+         * @return a State object.
+         */
+        private State copy() {
+            State state = new State();
+            state.alpha = this.alpha;
+            state.translateX = this.translateX;
+            state.translateY = this.translateY;
+            state.clipMinX = this.clipMinX;
+            state.clipMinY = this.clipMinY;
+            state.clipMaxX = this.clipMaxX;
+            state.clipMaxY = this.clipMaxY;
+            state.fill = this.fill;
+            return state;
+        }
+
+    }
+
+    /** Pixels of the images that were already converted. */
+    private static final Map<Image, int[]> IMAGE_PIXELS =
+            Collections.synchronizedMap(new WeakHashMap<Image, int[]>());
+
+    /** The width of the pixel buffer. */
+    private final int width;
+    /** The height of the pixel buffer. */
+    private final int height;
+    /** The pixels being drawn for the current frame. */
+    private final int[] backBuffer;
+    /** The pixels shown on screen. */
+    private final IntBuffer frontBuffer;
+    /** JFX: pixel buffer wrapping the pixels shown on screen. */
+    private final PixelBuffer<IntBuffer> pixelBuffer;
+    /** JFX: graphics context used for text and strokes. */
+    private final GraphicsContext overlay;
+    /** Callback which copies the changed rows to the screen. */
+    private final Callback<PixelBuffer<IntBuffer>, Rectangle2D> presenter;
+    /** Source column of each destination column of a blit. */
+    private int[] sourceColumns;
+    /** The current drawing state. */
+    private State state;
+    /** Drawing states saved by {@link #save()}. */
+    private ArrayDeque<State> savedStates;
+    /** Changed rows: minimum y-coordinate. */
+    private int changedMinY;
+    /** Changed rows: maximum y-coordinate. */
+    private int changedMaxY;
+
+    /**
+     * Constructs an instance of PixelBufferRenderer. The pixel buffer is
+     * placed right below the given canvas in the root node.
+     * @param root the root node containing the canvas.
+     * @param canvas the canvas used for text and strokes.
+     */
+    public PixelBufferRenderer(Group root, Canvas canvas) {
+        this.width = (int) canvas.getWidth();
+        this.height = (int) canvas.getHeight();
+        this.backBuffer = new int[this.width * this.height];
+        this.frontBuffer = ByteBuffer
+                .allocateDirect(this.width * this.height * Integer.BYTES)
+                .order(ByteOrder.nativeOrder())
+                .asIntBuffer();
+        this.pixelBuffer = new PixelBuffer<IntBuffer>(
+                this.width, this.height, this.frontBuffer,
+                PixelFormat.getIntArgbPreInstance());
+        this.overlay = canvas.getGraphicsContext2D();
+        this.overlay.setImageSmoothing(false);
+        this.presenter = new Callback<PixelBuffer<IntBuffer>, Rectangle2D>() {
+            @Override
+            public Rectangle2D call(PixelBuffer<IntBuffer> buffer) {
+                return PixelBufferRenderer.this.present();
+            }
+        };
+        this.sourceColumns = new int[this.width];
+
+        this.state = new State();
+        this.state.alpha = 255;
+        this.state.clipMaxX = this.width;
+        this.state.clipMaxY = this.height;
+        this.state.fill = Color.BLACK;
+        this.savedStates = new ArrayDeque<State>();
+        this.resetChangedRows();
+
+        ImageView view = new ImageView(new WritableImage(this.pixelBuffer));
+        root.getChildren().add(root.getChildren().indexOf(canvas), view);
+    }
+
+    @Override
+    public void beginFrame() {
+        this.resetChangedRows();
+    }
+
+    @Override
+    public void endFrame() {
+        if (this.changedMinY < this.changedMaxY) {
+            this.pixelBuffer.updateBuffer(this.presenter);
+        }
+    }
+
+    /**
+     * Copies the changed rows of the back buffer to the screen.
+     * @return the area of the pixel buffer that changed.
+     */
+    private Rectangle2D present() {
+        int offset = this.changedMinY * this.width;
+        int length = (this.changedMaxY - this.changedMinY) * this.width;
+        this.frontBuffer.position(offset);
+        this.frontBuffer.put(this.backBuffer, offset, length);
+        this.frontBuffer.rewind();
+        Rectangle2D changedArea = new Rectangle2D(0, this.changedMinY,
+                this.width, this.changedMaxY - this.changedMinY);
+        this.resetChangedRows();
+        return changedArea;
+    }
+
+    /**
+     * Marks all rows as unchanged.
+     */
+    private void resetChangedRows() {
+        this.changedMinY = this.height;
+        this.changedMaxY = 0;
+    }
+
+    /**
+     * Marks the given rows as changed.
+     * @param minY the first changed row.
+     * @param maxY the row after the last changed row.
+     */
+    private void markChangedRows(int minY, int maxY) {
+        this.changedMinY = Math.min(this.changedMinY, minY);
+        this.changedMaxY = Math.max(this.changedMaxY, maxY);
+    }
+
+    @Override
+    public void save() {
+        this.savedStates.push(this.state.copy());
+        this.overlay.save();
+    }
+
+    @Override
+    public void restore() {
+        if (!this.savedStates.isEmpty()) {
+            this.state = this.savedStates.pop();
+        }
+        this.overlay.restore();
+    }
+
+    @Override
+    public void translate(double x, double y) {
+        this.state.translateX += x;
+        this.state.translateY += y;
+        this.overlay.translate(x, y);
+    }
+
+    @Override
+    public void clip(double x, double y, double width, double height) {
+        int minX = (int) Math.floor(x + this.state.translateX);
+        int minY = (int) Math.floor(y + this.state.translateY);
+        int maxX = (int) Math.ceil(x + width + this.state.translateX);
+        int maxY = (int) Math.ceil(y + height + this.state.translateY);
+        this.state.clipMinX = Math.max(this.state.clipMinX, minX);
+        this.state.clipMinY = Math.max(this.state.clipMinY, minY);
+        this.state.clipMaxX = Math.min(this.state.clipMaxX, maxX);
+        this.state.clipMaxY = Math.min(this.state.clipMaxY, maxY);
+        this.overlay.beginPath();
+        this.overlay.rect(x, y, width, height);
+        this.overlay.clip();
+    }
+
+    @Override
+    public void setGlobalAlpha(double alpha) {
+        this.state.alpha = (int) Math.round(
+                Math.max(0, Math.min(1, alpha)) * 255);
+        this.overlay.setGlobalAlpha(alpha);
+    }
+
+    @Override
+    public void setFill(Paint paint) {
+        this.state.fill = paint;
+        this.overlay.setFill(paint);
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        this.overlay.setStroke(paint);
+    }
+
+    @Override
+    public void setLineWidth(double width) {
+        this.overlay.setLineWidth(width);
+    }
+
+    @Override
+    public void setFont(Font font) {
+        this.overlay.setFont(font);
+    }
+
+    @Override
+    public void clearRect(double x, double y, double width, double height) {
+        this.overlay.clearRect(x, y, width, height);
+        this.fill(x, y, width, height, 0, false);
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y) {
+        this.drawImage(image, 0, 0, image.getWidth(), image.getHeight(),
+                x, y, image.getWidth(), image.getHeight());
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y,
+            double width, double height) {
+        this.drawImage(image, 0, 0, image.getWidth(), image.getHeight(),
+                x, y, width, height);
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw,
+            double sh, double dx, double dy, double dw, double dh) {
+        int[] pixels = getPixels(image);
+        // The image is not ready yet, let the canvas handle it.
+        if (pixels == null) {
+            this.overlay.drawImage(image, sx, sy, sw, sh, dx, dy, dw, dh);
+            return;
+        }
+        int imageWidth = (int) image.getWidth();
+        int imageHeight = (int) image.getHeight();
+        int sourceX = Math.max(0, (int) sx);
+        int sourceY = Math.max(0, (int) sy);
+        int sourceWidth = Math.min((int) sw, imageWidth - sourceX);
+        int sourceHeight = Math.min((int) sh, imageHeight - sourceY);
+        this.blit(pixels, imageWidth, sourceX, sourceY,
+                sourceWidth, sourceHeight, dx, dy, dw, dh);
+    }
+
+    /**
+     * Copies an area of the given pixels to the back buffer, scaling it
+     * with nearest-neighbor sampling and blending it with what was
+     * already drawn.
+     * @param pixels the source pixels.
+     * @param stride the width of a row of source pixels.
+     * @param sx the x-coordinate position of the source area.
+     * @param sy the y-coordinate position of the source area.
+     * @param sw the width of the source area.
+     * @param sh the height of the source area.
+     * @param dx the x-coordinate position of the destination.
+     * @param dy the y-coordinate position of the destination.
+     * @param dw the width of the destination, negative if flipped.
+     * @param dh the height of the destination, negative if flipped.
+     */
+    private void blit(int[] pixels, int stride, int sx, int sy, int sw,
+            int sh, double dx, double dy, double dw, double dh) {
+        boolean flipX = dw < 0;
+        boolean flipY = dh < 0;
+        if (flipX) {
+            dx += dw;
+            dw = -dw;
+        }
+        if (flipY) {
+            dy += dh;
+            dh = -dh;
+        }
+
+        int destX = (int) Math.round(dx + this.state.translateX);
+        int destY = (int) Math.round(dy + this.state.translateY);
+        int destWidth = (int) Math.round(dw);
+        int destHeight = (int) Math.round(dh);
+        int minX = Math.max(destX, this.state.clipMinX);
+        int minY = Math.max(destY, this.state.clipMinY);
+        int maxX = Math.min(destX + destWidth, this.state.clipMaxX);
+        int maxY = Math.min(destY + destHeight, this.state.clipMaxY);
+        int alpha = this.state.alpha;
+        if (minX >= maxX || minY >= maxY || sw <= 0 || sh <= 0
+                || alpha == 0) {
+            return;
+        }
+
+        // Look up the source column of each destination column once.
+        for (int x = minX; x < maxX; x++) {
+            int column = ((x - destX) * sw) / destWidth;
+            this.sourceColumns[x] = sx + (flipX ? sw - 1 - column : column);
+        }
+
+        int[] columns = this.sourceColumns;
+        int[] target = this.backBuffer;
+        for (int y = minY; y < maxY; y++) {
+            int row = ((y - destY) * sh) / destHeight;
+            int sourceRow = (sy + (flipY ? sh - 1 - row : row)) * stride;
+            int targetRow = y * this.width;
+            for (int x = minX; x < maxX; x++) {
+                int color = pixels[sourceRow + columns[x]];
+                if (alpha != 255) {
+                    color = multiply(color, alpha);
+                }
+                int colorAlpha = color >>> 24;
+                if (colorAlpha == 255) {
+                    target[targetRow + x] = color;
+                } else if (colorAlpha != 0) {
+                    target[targetRow + x] = color
+                            + multiply(target[targetRow + x], 255 - colorAlpha);
+                }
+            }
+        }
+        this.markChangedRows(minY, maxY);
+    }
+
+    @Override
+    public void fillRect(double x, double y, double width, double height) {
+        if (!(this.state.fill instanceof Color)) {
+            this.overlay.fillRect(x, y, width, height);
+            return;
+        }
+        Color color = (Color) this.state.fill;
+        int alpha = (int) Math.round(color.getOpacity() * 255);
+        int argb = (alpha << 24)
+                | ((int) Math.round(color.getRed() * 255) << 16)
+                | ((int) Math.round(color.getGreen() * 255) << 8)
+                | (int) Math.round(color.getBlue() * 255);
+        // Premultiply the color with its own and the global alpha.
+        argb = (argb & 0xFF000000) | (multiply(argb, alpha) & 0x00FFFFFF);
+        this.fill(x, y, width, height,
+                multiply(argb, this.state.alpha), true);
+    }
+
+    /**
+     * Fills an area of the back buffer with the given color.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     * @param width the width of the area.
+     * @param height the height of the area.
+     * @param color a premultiplied ARGB color.
+     * @param blend whether the color is blended with what was drawn.
+     */
+    private void fill(double x, double y, double width, double height,
+            int color, boolean blend) {
+        int minX = Math.max(this.state.clipMinX,
+                (int) Math.round(x + this.state.translateX));
+        int minY = Math.max(this.state.clipMinY,
+                (int) Math.round(y + this.state.translateY));
+        int maxX = Math.min(this.state.clipMaxX,
+                (int) Math.round(x + width + this.state.translateX));
+        int maxY = Math.min(this.state.clipMaxY,
+                (int) Math.round(y + height + this.state.translateY));
+        if (minX >= maxX || minY >= maxY) {
+            return;
+        }
+
+        int colorAlpha = color >>> 24;
+        int[] target = this.backBuffer;
+        for (int row = minY; row < maxY; row++) {
+            int targetRow = row * this.width;
+            if (!blend || colorAlpha == 255) {
+                Arrays.fill(target, targetRow + minX,
+                        targetRow + maxX, color);
+                continue;
+            }
+            for (int column = minX; column < maxX; column++) {
+                target[targetRow + column] = color
+                        + multiply(target[targetRow + column], 255 - colorAlpha);
+            }
+        }
+        this.markChangedRows(minY, maxY);
+    }
+
+    @Override
+    public void fillRoundRect(double x, double y, double width,
+            double height, double arcWidth, double arcHeight) {
+        this.fillRect(x, y, width, height);
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double width, double height) {
+        this.overlay.strokeRect(x, y, width, height);
+    }
+
+    @Override
+    public void strokeRoundRect(double x, double y, double width,
+            double height, double arcWidth, double arcHeight) {
+        this.overlay.strokeRoundRect(x, y, width, height, arcWidth, arcHeight);
+    }
+
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        this.overlay.strokeLine(x1, y1, x2, y2);
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        this.overlay.fillText(text, x, y);
+    }
+
+    @Override
+    public void strokeText(String text, double x, double y) {
+        this.overlay.strokeText(text, x, y);
+    }
+
+    /**
+     * Multiplies each channel of a color by the given factor.
+     * @param color an ARGB color.
+     * @param factor a value from 0 to 255.
+     * @return the resulting color.
+     */
+    private static int multiply(int color, int factor) {
+        int redBlue = ((color & 0x00FF00FF) * factor) + 0x00800080;
+        redBlue = ((redBlue + ((redBlue >>> 8) & 0x00FF00FF)) >>> 8)
+                & 0x00FF00FF;
+        int alphaGreen = (((color >>> 8) & 0x00FF00FF) * factor) + 0x00800080;
+        alphaGreen = (alphaGreen + ((alphaGreen >>> 8) & 0x00FF00FF))
+                & 0xFF00FF00;
+        return alphaGreen | redBlue;
+    }
+
+    /**
+     * Retrieves the premultiplied ARGB pixels of the given image,
+     * converting them on first use.
+     * @param image an Image object.
+     * @return an integer array, or null if the image is not ready.
+     */
+    private static int[] getPixels(Image image) {
+        int[] pixels = IMAGE_PIXELS.get(image);
+        if (pixels != null) {
+            return pixels;
+        }
+        PixelReader reader = image.getPixelReader();
+        if (reader == null || image.getProgress() < 1 || image.isError()) {
+            return null;
+        }
+        int imageWidth = (int) image.getWidth();
+        int imageHeight = (int) image.getHeight();
+        pixels = new int[imageWidth * imageHeight];
+        reader.getPixels(0, 0, imageWidth, imageHeight,
+                PixelFormat.getIntArgbPreInstance(), pixels, 0, imageWidth);
+        IMAGE_PIXELS.put(image, pixels);
+        return pixels;
+    }
+
+}
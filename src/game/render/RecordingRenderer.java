@@ -0,0 +1,375 @@
+package game.render;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+
+/**
+ * This class counts the drawing operations and state changes made in
+ * each frame, optionally passing them on to another renderer. It can
+ * also capture the operations of each frame as text, which allows
+ * comparing draw streams without a visible window.
+ */
+public final class RecordingRenderer implements Renderer {
+
+    /** The operations of frames which weren't captured. */
+    private static final List<String> NO_COMMANDS = Collections.emptyList();
+
+    /** The renderer that actually draws, or null if none. */
+    private final Renderer delegate;
+    /** Counters of the frame being drawn. */
+    private final RenderStats currentStats;
+    /** Counters of the last completed frame. */
+    private final RenderStats lastStats;
+    /** Operations of the frame being drawn. */
+    private List<String> currentCommands;
+    /** Operations of the last completed frame. */
+    private List<String> lastCommands;
+    /** Whether operations are captured as text. */
+    private boolean capturing;
+    /** Number of completed frames. */
+    private long frameCount;
+
+    /**
+     * Constructs an instance of RecordingRenderer which only records.
+     */
+    public RecordingRenderer() {
+        this(null);
+    }
+
+    /**
+     * Constructs an instance of RecordingRenderer.
+     * @param delegate the renderer that actually draws, or null if none.
+     */
+    public RecordingRenderer(Renderer delegate) {
+        this.delegate = delegate;
+        this.currentStats = new RenderStats();
+        this.lastStats = new RenderStats();
+        this.currentCommands = NO_COMMANDS;
+        this.lastCommands = NO_COMMANDS;
+        this.capturing = false;
+        this.frameCount = 0;
+    }
+
+    /**
+     * Specifies whether operations are captured as text.
+     * @param capturing a boolean.
+     */
+    public void setCapturing(boolean capturing) {
+        this.capturing = capturing;
+        // Capturing may start in the middle of a frame.
+        if (capturing && this.currentCommands == NO_COMMANDS) {
+            this.currentCommands = new ArrayList<String>();
+        }
+    }
+
+    /**
+     * Retrieves the counters of the last completed frame.
+     * @return a RenderStats object.
+     */
+    public RenderStats getLastFrameStats() {
+        return this.lastStats;
+    }
+
+    /**
+     * Retrieves the operations of the last completed frame. This is
+     * empty unless capturing was enabled.
+     * @return an unmodifiable list of String objects.
+     */
+    public List<String> getLastFrameCommands() {
+        return this.lastCommands;
+    }
+
+    /**
+     * Retrieves the number of completed frames.
+     * @return a long.
+     */
+    public long getFrameCount() {
+        return this.frameCount;
+    }
+
+    /**
+     * Captures an operation and its arguments as text.
+     * @param name the operation name.
+     * @param args the operation arguments.
+     */
+    private void capture(String name, Object... args) {
+        StringBuilder command = new StringBuilder(name);
+        for (int i = 0; i < args.length; i++) {
+            command.append(i == 0 ? " " : ", ");
+            command.append(args[i]);
+        }
+        this.currentCommands.add(command.toString());
+    }
+
+    /**
+     * Retrieves a short description of the given image.
+     * @param image an Image object.
+     * @return a String object.
+     */
+    private static String describe(Image image) {
+        String url = (image == null) ? null : image.getUrl();
+        if (url == null) {
+            return "image";
+        }
+        return url.substring(url.lastIndexOf('/') + 1);
+    }
+
+    @Override
+    public void beginFrame() {
+        this.currentStats.reset();
+        // Frames which aren't captured don't allocate a list.
+        this.currentCommands = this.capturing
+                ? new ArrayList<String>()
+                : NO_COMMANDS;
+        if (this.delegate != null) {
+            this.delegate.beginFrame();
+        }
+    }
+
+    @Override
+    public void endFrame() {
+        if (this.delegate != null) {
+            this.delegate.endFrame();
+        }
+        this.lastStats.copyFrom(this.currentStats);
+        this.lastCommands = (this.currentCommands == NO_COMMANDS)
+                ? NO_COMMANDS
+                : Collections.unmodifiableList(this.currentCommands);
+        this.frameCount++;
+    }
+
+    @Override
+    public void save() {
+        this.currentStats.addSave();
+        if (this.capturing) {
+            this.capture("save");
+        }
+        if (this.delegate != null) {
+            this.delegate.save();
+        }
+    }
+
+    @Override
+    public void restore() {
+        this.currentStats.addRestore();
+        if (this.capturing) {
+            this.capture("restore");
+        }
+        if (this.delegate != null) {
+            this.delegate.restore();
+        }
+    }
+
+    @Override
+    public void translate(double x, double y) {
+        this.currentStats.addStateChange();
+        if (this.capturing) {
+            this.capture("translate", x, y);
+        }
+        if (this.delegate != null) {
+            this.delegate.translate(x, y);
+        }
+    }
+
+    @Override
+    public void clip(double x, double y, double width, double height) {
+        this.currentStats.addStateChange();
+        if (this.capturing) {
+            this.capture("clip", x, y, width, height);
+        }
+        if (this.delegate != null) {
+            this.delegate.clip(x, y, width, height);
+        }
+    }
+
+    @Override
+    public void setGlobalAlpha(double alpha) {
+        this.currentStats.addAlphaChange();
+        if (this.capturing) {
+            this.capture("setGlobalAlpha", alpha);
+        }
+        if (this.delegate != null) {
+            this.delegate.setGlobalAlpha(alpha);
+        }
+    }
+
+    @Override
+    public void setFill(Paint paint) {
+        this.currentStats.addStateChange();
+        if (this.capturing) {
+            this.capture("setFill", paint);
+        }
+        if (this.delegate != null) {
+            this.delegate.setFill(paint);
+        }
+    }
+
+    @Override
+    public void setStroke(Paint paint) {
+        this.currentStats.addStateChange();
+        if (this.capturing) {
+            this.capture("setStroke", paint);
+        }
+        if (this.delegate != null) {
+            this.delegate.setStroke(paint);
+        }
+    }
+
+    @Override
+    public void setLineWidth(double width) {
+        this.currentStats.addStateChange();
+        if (this.capturing) {
+            this.capture("setLineWidth", width);
+        }
+        if (this.delegate != null) {
+            this.delegate.setLineWidth(width);
+        }
+    }
+
+    @Override
+    public void setFont(Font font) {
+        this.currentStats.addStateChange();
+        if (this.capturing) {
+            this.capture("setFont", font.getName(), font.getSize());
+        }
+        if (this.delegate != null) {
+            this.delegate.setFont(font);
+        }
+    }
+
+    @Override
+    public void clearRect(double x, double y, double width, double height) {
+        this.currentStats.addFillCall();
+        if (this.capturing) {
+            this.capture("clearRect", x, y, width, height);
+        }
+        if (this.delegate != null) {
+            this.delegate.clearRect(x, y, width, height);
+        }
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y) {
+        this.currentStats.addDrawCall();
+        if (this.capturing) {
+            this.capture("drawImage", describe(image), x, y);
+        }
+        if (this.delegate != null) {
+            this.delegate.drawImage(image, x, y);
+        }
+    }
+
+    @Override
+    public void drawImage(Image image, double x, double y,
+            double width, double height) {
+        this.currentStats.addDrawCall();
+        if (this.capturing) {
+            this.capture("drawImage", describe(image), x, y, width, height);
+        }
+        if (this.delegate != null) {
+            this.delegate.drawImage(image, x, y, width, height);
+        }
+    }
+
+    @Override
+    public void drawImage(Image image, double sx, double sy, double sw,
+            double sh, double dx, double dy, double dw, double dh) {
+        this.currentStats.addDrawCall();
+        if (this.capturing) {
+            this.capture("drawImage", describe(image),
+                    sx, sy, sw, sh, dx, dy, dw, dh);
+        }
+        if (this.delegate != null) {
+            this.delegate.drawImage(image, sx, sy, sw, sh, dx, dy, dw, dh);
+        }
+    }
+
+    @Override
+    public void fillRect(double x, double y, double width, double height) {
+        this.currentStats.addFillCall();
+        if (this.capturing) {
+            this.capture("fillRect", x, y, width, height);
+        }
+        if (this.delegate != null) {
+            this.delegate.fillRect(x, y, width, height);
+        }
+    }
+
+    @Override
+    public void fillRoundRect(double x, double y, double width,
+            double height, double arcWidth, double arcHeight) {
+        this.currentStats.addFillCall();
+        if (this.capturing) {
+            this.capture("fillRoundRect",
+                    x, y, width, height, arcWidth, arcHeight);
+        }
+        if (this.delegate != null) {
+            this.delegate.fillRoundRect(x, y, width, height,
+                    arcWidth, arcHeight);
+        }
+    }
+
+    @Override
+    public void strokeRect(double x, double y, double width, double height) {
+        this.currentStats.addStrokeCall();
+        if (this.capturing) {
+            this.capture("strokeRect", x, y, width, height);
+        }
+        if (this.delegate != null) {
+            this.delegate.strokeRect(x, y, width, height);
+        }
+    }
+
+    @Override
+    public void strokeRoundRect(double x, double y, double width,
+            double height, double arcWidth, double arcHeight) {
+        this.currentStats.addStrokeCall();
+        if (this.capturing) {
+            this.capture("strokeRoundRect",
+                    x, y, width, height, arcWidth, arcHeight);
+        }
+        if (this.delegate != null) {
+            this.delegate.strokeRoundRect(x, y, width, height,
+                    arcWidth, arcHeight);
+        }
+    }
+
+    @Override
+    public void strokeLine(double x1, double y1, double x2, double y2) {
+        this.currentStats.addStrokeCall();
+        if (this.capturing) {
+            this.capture("strokeLine", x1, y1, x2, y2);
+        }
+        if (this.delegate != null) {
+            this.delegate.strokeLine(x1, y1, x2, y2);
+        }
+    }
+
+    @Override
+    public void fillText(String text, double x, double y) {
+        this.currentStats.addTextCall();
+        if (this.capturing) {
+            this.capture("fillText", text, x, y);
+        }
+        if (this.delegate != null) {
+            this.delegate.fillText(text, x, y);
+        }
+    }
+
+    @Override
+    public void strokeText(String text, double x, double y) {
+        this.currentStats.addTextCall();
+        if (this.capturing) {
+            this.capture("strokeText", text, x, y);
+        }
+        if (this.delegate != null) {
+            this.delegate.strokeText(text, x, y);
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+package game.render;
+
+/**
+ * This class holds the number of drawing operations and state changes
+ * made while drawing a single frame.
+ */
+public final class RenderStats {
+
+    /** Number of images drawn. */
+    private int drawCalls;
+    /** Number of shapes filled or cleared. */
+    private int fillCalls;
+    /** Number of shapes stroked. */
+    private int strokeCalls;
+    /** Number of text draws. */
+    private int textCalls;
+    /** Number of drawing states saved. */
+    private int saves;
+    /** Number of drawing states restored. */
+    private int restores;
+    /** Number of global alpha changes. */
+    private int alphaChanges;
+    /** Number of other state changes (paints, font, transform, clip). */
+    private int stateChanges;
+
+    /**
+     * Resets all counters to zero.
+     */
+    void reset() {
+        this.drawCalls = 0;
+        this.fillCalls = 0;
+        this.strokeCalls = 0;
+        this.textCalls = 0;
+        this.saves = 0;
+        this.restores = 0;
+        this.alphaChanges = 0;
+        this.stateChanges = 0;
+    }
+
+    /**
+     * Copies all counters from the given stats.
+     * @param other a RenderStats object.
+     */
+    void copyFrom(RenderStats other) {
+        this.drawCalls = other.drawCalls;
+        this.fillCalls = other.fillCalls;
+        this.strokeCalls = other.strokeCalls;
+        this.textCalls = other.textCalls;
+        this.saves = other.saves;
+        this.restores = other.restores;
+        this.alphaChanges = other.alphaChanges;
+        this.stateChanges = other.stateChanges;
+    }
+
+    /**
+     * Counts an image draw.
+     */
+    void addDrawCall() {
+        this.drawCalls++;
+    }
+
+    /**
+     * Counts a filled or cleared shape.
+     */
+    void addFillCall() {
+        this.fillCalls++;
+    }
+
+    /**
+     * Counts a stroked shape.
+     */
+    void addStrokeCall() {
+        this.strokeCalls++;
+    }
+
+    /**
+     * Counts a text draw.
+     */
+    void addTextCall() {
+        this.textCalls++;
+    }
+
+    /**
+     * Counts a saved drawing state.
+     */
+    void addSave() {
+        this.saves++;
+    }
+
+    /**
+     * Counts a restored drawing state.
+     */
+    void addRestore() {
+        this.restores++;
+    }
+
+    /**
+     * Counts a global alpha change.
+     */
+    void addAlphaChange() {
+        this.alphaChanges++;
+    }
+
+    /**
+     * Counts a state change other than the global alpha.
+     */
+    void addStateChange() {
+        this.stateChanges++;
+    }
+
+    /**
+     * Retrieves the number of images drawn.
+     * @return an integer.
+     */
+    public int getDrawCalls() {
+        return this.drawCalls;
+    }
+
+    /**
+     * Retrieves the number of shapes filled or cleared.
+     * @return an integer.
+     */
+    public int getFillCalls() {
+        return this.fillCalls;
+    }
+
+    /**
+     * Retrieves the number of shapes stroked.
+     * @return an integer.
+     */
+    public int getStrokeCalls() {
+        return this.strokeCalls;
+    }
+
+    /**
+     * Retrieves the number of text draws.
+     * @return an integer.
+     */
+    public int getTextCalls() {
+        return this.textCalls;
+    }
+
+    /**
+     * Retrieves the number of drawing states saved.
+     * @return an integer.
+     */
+    public int getSaves() {
+        return this.saves;
+    }
+
+    /**
+     * Retrieves the number of drawing states restored.
+     * @return an integer.
+     */
+    public int getRestores() {
+        return this.restores;
+    }
+
+    /**
+     * Retrieves the number of global alpha changes.
+     * @return an integer.
+     */
+    public int getAlphaChanges() {
+        return this.alphaChanges;
+    }
+
+    /**
+     * Retrieves the number of other state changes.
+     * @return an integer.
+     */
+    public int getStateChanges() {
+        return this.stateChanges;
+    }
+
+    @Override
+    public String toString() {
+        return "draws=" + this.drawCalls
+                + ", fills=" + this.fillCalls
+                + ", strokes=" + this.strokeCalls
+                + ", text=" + this.textCalls
+                + ", saves=" + this.saves
+                + ", restores=" + this.restores
+                + ", alpha=" + this.alphaChanges
+                + ", state=" + this.stateChanges;
+    }
+
+}
@@ -0,0 +1,193 @@
+package game.render;
+
+import javafx.scene.image.Image;
+import javafx.scene.paint.Paint;
+import javafx.scene.text.Font;
+
+/**
+ * This interface provides the drawing operations used by the game.
+ * Its methods mirror the ones in GraphicsContext, so a renderer can be
+ * used in place of a canvas regardless of how it produces the frame.
+ * Drawing a frame must be surrounded by {@link #beginFrame()} and
+ * {@link #endFrame()}.
+ */
+public interface Renderer {
+
+    /**
+     * Prepares this renderer for drawing a new frame.
+     */
+    void beginFrame();
+
+    /**
+     * Finishes drawing the current frame and presents it.
+     */
+    void endFrame();
+
+    /**
+     * Saves the current drawing state (alpha, transform, clip, paints).
+     */
+    void save();
+
+    /**
+     * Restores the drawing state saved by the last call to {@link #save()}.
+     */
+    void restore();
+
+    /**
+     * Moves the origin of all subsequent drawing.
+     * @param x the x-coordinate offset.
+     * @param y the y-coordinate offset.
+     */
+    void translate(double x, double y);
+
+    /**
+     * Limits all subsequent drawing to the given area.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     * @param width the width of the area.
+     * @param height the height of the area.
+     */
+    void clip(double x, double y, double width, double height);
+
+    /**
+     * Sets the opacity of all subsequent drawing.
+     * @param alpha a value from 0 (transparent) to 1 (opaque).
+     */
+    void setGlobalAlpha(double alpha);
+
+    /**
+     * Sets the paint used for filling shapes and text.
+     * @param paint a Paint object.
+     */
+    void setFill(Paint paint);
+
+    /**
+     * Sets the paint used for stroking shapes and text.
+     * @param paint a Paint object.
+     */
+    void setStroke(Paint paint);
+
+    /**
+     * Sets the width of stroked lines.
+     * @param width the line width.
+     */
+    void setLineWidth(double width);
+
+    /**
+     * Sets the font used for drawing text.
+     * @param font a Font object.
+     */
+    void setFont(Font font);
+
+    /**
+     * Clears the given area to transparent.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     * @param width the width of the area.
+     * @param height the height of the area.
+     */
+    void clearRect(double x, double y, double width, double height);
+
+    /**
+     * Draws an image at its original size.
+     * @param image an Image object.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     */
+    void drawImage(Image image, double x, double y);
+
+    /**
+     * Draws an image scaled to the given size.
+     * @param image an Image object.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     * @param width the width of the drawn image.
+     * @param height the height of the drawn image.
+     */
+    void drawImage(Image image, double x, double y,
+            double width, double height);
+
+    /**
+     * Draws part of an image scaled to the given size. A negative
+     * destination width or height flips the image on that axis.
+     * @param image an Image object.
+     * @param sx the x-coordinate position in the source image.
+     * @param sy the y-coordinate position in the source image.
+     * @param sw the width of the source area.
+     * @param sh the height of the source area.
+     * @param dx the x-coordinate position of the destination.
+     * @param dy the y-coordinate position of the destination.
+     * @param dw the width of the destination.
+     * @param dh the height of the destination.
+     */
+    void drawImage(Image image, double sx, double sy, double sw, double sh,
+            double dx, double dy, double dw, double dh);
+
+    /**
+     * Fills a rectangle with the current fill paint.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     * @param width the width of the rectangle.
+     * @param height the height of the rectangle.
+     */
+    void fillRect(double x, double y, double width, double height);
+
+    /**
+     * Fills a rounded rectangle with the current fill paint.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     * @param width the width of the rectangle.
+     * @param height the height of the rectangle.
+     * @param arcWidth the width of the corner arcs.
+     * @param arcHeight the height of the corner arcs.
+     */
+    void fillRoundRect(double x, double y, double width, double height,
+            double arcWidth, double arcHeight);
+
+    /**
+     * Strokes a rectangle with the current stroke paint.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     * @param width the width of the rectangle.
+     * @param height the height of the rectangle.
+     */
+    void strokeRect(double x, double y, double width, double height);
+
+    /**
+     * Strokes a rounded rectangle with the current stroke paint.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     * @param width the width of the rectangle.
+     * @param height the height of the rectangle.
+     * @param arcWidth the width of the corner arcs.
+     * @param arcHeight the height of the corner arcs.
+     */
+    void strokeRoundRect(double x, double y, double width, double height,
+            double arcWidth, double arcHeight);
+
+    /**
+     * Strokes a line with the current stroke paint.
+     * @param x1 the x-coordinate of the starting point.
+     * @param y1 the y-coordinate of the starting point.
+     * @param x2 the x-coordinate of the end point.
+     * @param y2 the y-coordinate of the end point.
+     */
+    void strokeLine(double x1, double y1, double x2, double y2);
+
+    /**
+     * Fills text with the current fill paint and font.
+     * @param text the text to be drawn.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     */
+    void fillText(String text, double x, double y);
+
+    /**
+     * Strokes text with the current stroke paint and font.
+     * @param text the text to be drawn.
+     * @param x the x-coordinate position.
+     * @param y the y-coordinate position.
+     */
+    void strokeText(String text, double x, double y);
+
+}
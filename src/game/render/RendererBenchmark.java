@@ -0,0 +1,129 @@
+package game.render;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import game.Game;
+import javafx.application.Platform;
+import javafx.scene.Group;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.canvas.Canvas;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+/**
+ * This class compares the frame times of the available renderers by
+ * drawing the same set of flipped and scaled sprites with each of them.
+ * Every frame is rendered to a snapshot, so the time spent by JavaFX
+ * on presenting the frame is included in the results.
+ * <p>
+ * Usage: {@code RendererBenchmark [sprites] [frames]}
+ */
+public final class RendererBenchmark {
+
+    /** Default number of sprites drawn in each frame. */
+    private static final int DEFAULT_SPRITES = 500;
+    /** Default number of measured frames. */
+    private static final int DEFAULT_FRAMES = 300;
+    /** Number of frames drawn before measuring. */
+    private static final int WARMUP_FRAMES = 60;
+    /** The width of a sprite frame in the sprite sheet. */
+    private static final int SPRITE_SIZE = 32;
+    /** The scale of each sprite. */
+    private static final int SPRITE_SCALE = 2;
+    /** Seed used for placing the sprites. */
+    private static final long SPRITE_SEED = 42;
+
+    /**
+     * The entry point of the benchmark.
+     * @param args the number of sprites and frames (optional).
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public static void main(String[] args) throws InterruptedException {
+        final int sprites = (args.length > 0)
+                ? Integer.parseInt(args[0]) : DEFAULT_SPRITES;
+        final int frames = (args.length > 1)
+                ? Integer.parseInt(args[1]) : DEFAULT_FRAMES;
+
+        final CountDownLatch done = new CountDownLatch(1);
+        Platform.startup(new Runnable() {
+            @Override
+            public void run() {
+                Image image = new Image(
+                        Game.getAsset("player_sheet_w.png"), false);
+                measure(Renderers.RENDERER_CANVAS, image, sprites, frames);
+                measure(Renderers.RENDERER_PIXEL, image, sprites, frames);
+                done.countDown();
+            }
+        });
+        done.await();
+        Platform.exit();
+    }
+
+    /**
+     * Measures the frame times of the given renderer.
+     * @param name the renderer name.
+     * @param image the sprite sheet image.
+     * @param sprites the number of sprites drawn in each frame.
+     * @param frames the number of measured frames.
+     */
+    private static void measure(String name, Image image, int sprites,
+            int frames) {
+        Group root = new Group();
+        Canvas canvas = new Canvas(Game.WINDOW_MAX_WIDTH,
+                Game.WINDOW_MAX_HEIGHT);
+        root.getChildren().add(canvas);
+        Renderer renderer = Renderers.create(name, root, canvas);
+        SnapshotParameters parameters = new SnapshotParameters();
+        WritableImage target = new WritableImage(
+                Game.WINDOW_MAX_WIDTH, Game.WINDOW_MAX_HEIGHT);
+
+        for (int i = 0; i < WARMUP_FRAMES; i++) {
+            drawFrame(renderer, image, sprites, i);
+            root.snapshot(parameters, target);
+        }
+
+        long start = System.nanoTime();
+        for (int i = 0; i < frames; i++) {
+            drawFrame(renderer, image, sprites, i);
+            root.snapshot(parameters, target);
+        }
+        long elapsed = System.nanoTime() - start;
+
+        double frameTime = (double) elapsed / frames
+                / TimeUnit.MILLISECONDS.toNanos(1);
+        System.out.println(String.format(
+                "%-8s %5d sprites, %5d frames: %.3f ms/frame",
+                name, sprites, frames, frameTime));
+    }
+
+    /**
+     * Draws a single frame of the benchmark scene.
+     * @param renderer the renderer being measured.
+     * @param image the sprite sheet image.
+     * @param sprites the number of sprites to draw.
+     * @param frame the frame number, used to move the sprites.
+     */
+    private static void drawFrame(Renderer renderer, Image image,
+            int sprites, int frame) {
+        Random rng = new Random(SPRITE_SEED);
+        int size = SPRITE_SIZE * SPRITE_SCALE;
+        int columns = Math.max(1, (int) image.getWidth() / SPRITE_SIZE);
+        renderer.beginFrame();
+        renderer.clearRect(0, 0, Game.WINDOW_MAX_WIDTH,
+                Game.WINDOW_MAX_HEIGHT);
+        for (int i = 0; i < sprites; i++) {
+            int x = (rng.nextInt(Game.WINDOW_MAX_WIDTH) + frame)
+                    % Game.WINDOW_MAX_WIDTH;
+            int y = rng.nextInt(Game.WINDOW_MAX_HEIGHT);
+            int column = (i + frame) % columns;
+            boolean flip = rng.nextBoolean();
+            renderer.drawImage(image,
+                    column * SPRITE_SIZE, 0, SPRITE_SIZE, SPRITE_SIZE,
+                    flip ? x + size : x, y, flip ? -size : size, size);
+        }
+        renderer.endFrame();
+    }
+
+}
@@ -0,0 +1,59 @@
+package game.render;
+
+import javafx.scene.Group;
+import javafx.scene.canvas.Canvas;
+
+/**
+ * This utility class creates the renderer selected at startup through
+ * the {@code deadwood.renderer} system property. Setting the
+ * {@code deadwood.renderer.record} system property to true also records
+ * the drawing operations of each frame.
+ */
+public final class Renderers {
+
+    /** The system property used to select the renderer. */
+    public static final String PROPERTY_RENDERER = "deadwood.renderer";
+    /** The system property used to enable recording. */
+    public static final String PROPERTY_RECORD = "deadwood.renderer.record";
+    /** Renderer name: draws on the canvas (default). */
+    public static final String RENDERER_CANVAS = "canvas";
+    /** Renderer name: draws into a pixel buffer. */
+    public static final String RENDERER_PIXEL = "pixel";
+
+    /** The name of the renderer selected at startup. */
+    private static final String SELECTED_RENDERER =
+            System.getProperty(PROPERTY_RENDERER, RENDERER_CANVAS);
+    /** Whether the drawing operations of each frame are recorded. */
+    private static final boolean RECORD =
+            Boolean.getBoolean(PROPERTY_RECORD);
+
+    /**
+     * Creates the selected renderer for the given canvas.
+     * @param root the root node containing the canvas.
+     * @param canvas the main canvas.
+     * @return a Renderer object.
+     */
+    public static Renderer create(Group root, Canvas canvas) {
+        Renderer renderer = create(SELECTED_RENDERER, root, canvas);
+        if (RECORD) {
+            return new RecordingRenderer(renderer);
+        }
+        return renderer;
+    }
+
+    /**
+     * Creates the renderer with the given name for the given canvas.
+     * Unknown names fall back to the canvas renderer.
+     * @param name the renderer name.
+     * @param root the root node containing the canvas.
+     * @param canvas the main canvas.
+     * @return a Renderer object.
+     */
+    public static Renderer create(String name, Group root, Canvas canvas) {
+        if (RENDERER_PIXEL.equalsIgnoreCase(name)) {
+            return new PixelBufferRenderer(root, canvas);
+        }
+        return new CanvasRenderer(canvas);
+    }
+
+}
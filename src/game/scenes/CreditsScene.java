@@ -9,7 +9,7 @@ import game.Game;
 import game.UIUtils;
 import game.entities.Button;
 import game.entities.Tile;
-import javafx.scene.canvas.GraphicsContext;
+import game.render.Renderer;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.StrokeType;
 import javafx.scene.text.Text;
@@ -58,7 +58,7 @@ public final class CreditsScene extends GameScene {
         backButton.setClickAction(new Runnable() {
             @Override
             public void run() {
-                Game.setGameScene(new MainMenuScene());
+                Game.setGameScene(Scenes.mainMenu());
             }
         });
         this.levelMap.addOverlay(backButton);
@@ -108,9 +108,9 @@ public final class CreditsScene extends GameScene {
 
     /**
      * Draws the rolling credits text on the specified context.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    private void drawScrollingNodes(GraphicsContext gc) {
+    private void drawScrollingNodes(Renderer gc) {
         double distanceFromTop = Game.WINDOW_MAX_HEIGHT;
 
         for (Text node : textNodes) {
@@ -121,7 +121,7 @@ public final class CreditsScene extends GameScene {
             // XXX: Setting the x/y coordinates of text nodes repeatedly
             // seems to cause performance issues, even with a fairly
             // capable PC. To workaround that, we'll just draw the text
-            // and its stroke via GraphicsContext and reuse the
+            // and its stroke via the renderer and reuse the
             // information that we have from the text nodes.
             gc.setFont(node.getFont());
             gc.setFill(node.getFill());
@@ -144,6 +144,18 @@ public final class CreditsScene extends GameScene {
         }
     }
 
+    @Override
+    public void enter() {
+        super.enter();
+        // Roll the credits from the start again.
+        this.rollPosition = 0;
+    }
+
+    @Override
+    public boolean isReusable() {
+        return true;
+    }
+
     @Override
     public void update(long now) {
         this.levelMap.update(now);
@@ -153,10 +165,12 @@ public final class CreditsScene extends GameScene {
 
     @Override
     public void draw(long now) {
-        this.gc.clearRect(0, 0, Game.WINDOW_MAX_WIDTH,
-                Game.WINDOW_MAX_HEIGHT);
-        this.levelMap.draw(gc);
+        // The rolling text moves every frame, so repaint everything.
+        this.dirtyRegion.markAll();
+        this.beginRepaint();
+        this.levelMap.draw(gc, this.dirtyRegion);
         drawScrollingNodes(gc);
+        this.endRepaint();
     }
 
     @Override
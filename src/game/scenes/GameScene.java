@@ -1,13 +1,24 @@
 package game.scenes;
 
 import game.ActionTimerManager;
+import game.DirtyRegion;
+import game.GCMonitor;
 import game.Game;
+import game.ImageRegistry;
+import game.InputBuffer;
 import game.LevelMap;
 import game.UIUtils;
+import game.entities.Button;
+import game.render.CanvasPool;
+import game.render.Renderer;
+import game.render.Renderers;
+import javafx.event.EventHandler;
 import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.canvas.Canvas;
-import javafx.scene.canvas.GraphicsContext;
+import javafx.scene.input.InputEvent;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 
 /**
  * This abstract class provides common features for handling
@@ -23,12 +34,24 @@ public abstract class GameScene {
     protected Group root;
     /** JFX: main canvas. */
     protected Canvas canvas;
-    /** JFX: graphics context from the main canvas. */
-    protected GraphicsContext gc;
+    /** The renderer drawing on the main canvas. */
+    protected Renderer gc;
     /** Action timer manager for timers associated with this scene. */
     protected ActionTimerManager timers;
     /** The game level map. */
     protected LevelMap levelMap;
+    /** The parts of the canvas that need to be repainted. */
+    protected DirtyRegion dirtyRegion;
+    /** Whether input was received since the last frame. */
+    private boolean inputReceived;
+    /** Whether the last repaint found nothing to be drawn. */
+    private boolean lastRepaintEmpty;
+    /** Key transitions waiting to be handled by this scene. */
+    private InputBuffer input;
+    /** Whether the back and escape keys return to the main menu. */
+    private boolean returnToMainMenu;
+    /** Whether this scene was already made current before. */
+    private boolean entered;
 
     /**
      * Constructs an empty instance of GameScene.
@@ -43,21 +66,175 @@ public abstract class GameScene {
      *        in the associated level map.
      */
     protected void initialize(boolean excludeProps) {
+        // Subclasses may initialize again, leaving the old canvas unused.
+        if (this.canvas != null) {
+            this.root.getChildren().remove(this.canvas);
+            CanvasPool.release(this.canvas);
+        }
+        // Images used while building this scene belong to it.
+        ImageRegistry.setScope(this);
         this.root = new Group();
         this.scene = new Scene(root, Game.WINDOW_MAX_WIDTH,
                 Game.WINDOW_MAX_HEIGHT, UIUtils.COLOR_PRIMARY);
-        this.canvas = new Canvas(Game.WINDOW_MAX_WIDTH,
+        this.canvas = CanvasPool.acquire(Game.WINDOW_MAX_WIDTH,
                 Game.WINDOW_MAX_HEIGHT);
         this.root.getChildren().add(canvas);
-        this.gc = canvas.getGraphicsContext2D();
-        this.gc.setImageSmoothing(false);
+        this.gc = Renderers.create(root, canvas);
+        // Wake the game timer whenever the player does something.
+        this.inputReceived = false;
+        this.lastRepaintEmpty = false;
+        this.scene.addEventFilter(InputEvent.ANY,
+                new EventHandler<InputEvent>() {
+            @Override
+            public void handle(InputEvent e) {
+                inputReceived = true;
+            }
+        });
+        // Key transitions are handled by the game loop instead.
+        this.input = new InputBuffer();
+        this.returnToMainMenu = false;
+        this.entered = false;
+        this.scene.addEventFilter(KeyEvent.ANY,
+                new EventHandler<KeyEvent>() {
+            @Override
+            public void handle(KeyEvent e) {
+                if (e.getEventType() == KeyEvent.KEY_PRESSED) {
+                    input.offer(e.getCode(), true, System.nanoTime());
+                } else if (e.getEventType() == KeyEvent.KEY_RELEASED) {
+                    input.offer(e.getCode(), false, System.nanoTime());
+                }
+            }
+        });
 
         this.timers = new ActionTimerManager();
-        this.levelMap = new LevelMap(excludeProps);
+        this.dirtyRegion = new DirtyRegion();
+        this.levelMap = this.createLevelMap(excludeProps);
+        this.levelMap.setDirtyRegion(this.dirtyRegion);
         this.levelMap.generate();
         this.levelMap.generateProps();
     }
 
+    /**
+     * Called when this scene becomes the current scene. Input received
+     * while the scene wasn't current is discarded, and time spent away
+     * from it isn't counted by its timers.
+     */
+    public void enter() {
+        ImageRegistry.setScope(this);
+        this.input.clear();
+        if (this.entered) {
+            this.timers.resync();
+        }
+        this.entered = true;
+        this.dirtyRegion.markAll();
+        this.inputReceived = true;
+    }
+
+    /**
+     * Called when another scene replaces this scene as the current scene.
+     */
+    public void exit() {
+    }
+
+    /**
+     * Releases the canvas and images held by this scene, which is no
+     * longer used afterwards. This is called once another scene replaces
+     * this scene, unless it is reusable.
+     */
+    public void dispose() {
+        this.timers.removeAll();
+        this.root.getChildren().remove(this.canvas);
+        CanvasPool.release(this.canvas);
+        ImageRegistry.releaseScope(this);
+    }
+
+    /**
+     * Called by the game timer after each frame of this scene, with the
+     * time spent handling input, updating, and rendering.
+     * @param start the time the frame started, in nanoseconds.
+     * @param end the time the frame ended, in nanoseconds.
+     */
+    public void recordFrame(long start, long end) {
+    }
+
+    /**
+     * Checks whether this scene is kept and shown again later, instead
+     * of being disposed once replaced.
+     * @return a boolean.
+     */
+    public boolean isReusable() {
+        return false;
+    }
+
+    /**
+     * Creates the level map used by this scene.
+     * @param excludeProps whether props should not be generated.
+     * @return a LevelMap object.
+     */
+    protected LevelMap createLevelMap(boolean excludeProps) {
+        return new LevelMap(excludeProps);
+    }
+
+    /**
+     * Handles the key transitions received since the last call. This is
+     * called by the game timer before updating this scene.
+     */
+    public void processInput() {
+        while (this.input.poll()) {
+            // Leave the remaining input if we switched to another scene.
+            if (Game.getGameScene() != this) {
+                return;
+            }
+            if (this.input.isPressed()) {
+                this.handleKeyPressed(this.input.getCode());
+            } else {
+                this.handleKeyReleased(this.input.getCode());
+            }
+        }
+    }
+
+    /**
+     * Handles a key press.
+     * @param code the KeyCode of the pressed key.
+     */
+    protected void handleKeyPressed(KeyCode code) {
+        if (!this.returnToMainMenu) {
+            return;
+        }
+        switch (code) {
+        case BACK_SPACE:
+        case ESCAPE:
+            Game.setGameScene(Scenes.mainMenu());
+            Game.playSFX(Button.SFX_BUTTON);
+            break;
+        default:
+            break;
+        }
+    }
+
+    /**
+     * Handles a key release.
+     * @param code the KeyCode of the released key.
+     */
+    protected void handleKeyReleased(KeyCode code) {
+    }
+
+    /**
+     * Makes the back and escape keys return to the main menu. Calling
+     * this more than once has no further effect.
+     */
+    public void enableReturnToMainMenu() {
+        this.returnToMainMenu = true;
+    }
+
+    /**
+     * Retrieves the buffer of key transitions received by this scene.
+     * @return an InputBuffer object.
+     */
+    public InputBuffer getInput() {
+        return this.input;
+    }
+
     /**
      * Updates this scene's state.
      * @param now The timestamp of the current frame given in nanoseconds.
@@ -70,6 +247,83 @@ public abstract class GameScene {
      */
     public abstract void draw(long now);
 
+    /**
+     * Draws this scene as a complete frame of the renderer.
+     * @param now The timestamp of the current frame given in nanoseconds.
+     */
+    public void render(long now) {
+        GCMonitor monitor = Game.getGCMonitor();
+        if (monitor != null) {
+            this.dirtyRegion.add(GCMonitor.OVERLAY_BOUNDS);
+        }
+        this.gc.beginFrame();
+        this.draw(now);
+        if (monitor != null) {
+            monitor.draw(this.gc);
+        }
+        this.gc.endFrame();
+    }
+
+    /**
+     * Retrieves the renderer drawing this scene.
+     * @return a Renderer object.
+     */
+    public Renderer getRenderer() {
+        return this.gc;
+    }
+
+    /**
+     * Prepares the canvas for repainting the damaged parts of this scene.
+     * Drawing is clipped to the damaged area and should be followed by
+     * a call to {@link #endRepaint()}.
+     * @return a boolean indicating if anything needs to be repainted.
+     */
+    protected boolean beginRepaint() {
+        this.levelMap.collectDamage();
+        this.lastRepaintEmpty = this.dirtyRegion.isEmpty();
+        if (this.lastRepaintEmpty) {
+            return false;
+        }
+        double x = this.dirtyRegion.getMinX();
+        double y = this.dirtyRegion.getMinY();
+        double width = this.dirtyRegion.getWidth();
+        double height = this.dirtyRegion.getHeight();
+        this.gc.save();
+        if (!this.dirtyRegion.isFull()) {
+            this.gc.clip(x, y, width, height);
+        }
+        this.gc.clearRect(x, y, width, height);
+        return true;
+    }
+
+    /**
+     * Finishes repainting the damaged parts of this scene.
+     */
+    protected void endRepaint() {
+        this.gc.restore();
+        this.dirtyRegion.clear();
+    }
+
+    /**
+     * Checks whether this scene is idle, meaning nothing on screen
+     * changes unless the player gives input. Idle scenes are updated
+     * less often by the game timer.
+     * @return a boolean.
+     */
+    public boolean isQuiescent() {
+        return this.lastRepaintEmpty;
+    }
+
+    /**
+     * Checks whether input was received since the last call.
+     * @return a boolean.
+     */
+    public boolean consumeInput() {
+        boolean value = this.inputReceived;
+        this.inputReceived = false;
+        return value;
+    }
+
     /**
      * Retrieves the inner JavaFX scene.
      * @return a Scene object.
@@ -37,7 +37,7 @@ public final class HelpScene extends GameScene {
         backButton.setClickAction(new Runnable() {
             @Override
             public void run() {
-                Game.setGameScene(new MainMenuScene());
+                Game.setGameScene(Scenes.mainMenu());
             }
         });
 
@@ -48,6 +48,11 @@ public final class HelpScene extends GameScene {
         this.levelMap.addOverlay(helpImage);
     }
 
+    @Override
+    public boolean isReusable() {
+        return true;
+    }
+
     @Override
     public void update(long now) {
         this.levelMap.update(now);
@@ -56,9 +61,11 @@ public final class HelpScene extends GameScene {
 
     @Override
     public void draw(long now) {
-        this.gc.clearRect(0, 0, Game.WINDOW_MAX_WIDTH,
-                Game.WINDOW_MAX_HEIGHT);
-        this.levelMap.draw(gc);
+        if (!this.beginRepaint()) {
+            return;
+        }
+        this.levelMap.draw(gc, this.dirtyRegion);
+        this.endRepaint();
     }
 
     @Override
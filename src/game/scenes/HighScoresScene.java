@@ -1,14 +1,19 @@
 package game.scenes;
 
+import java.util.List;
+
 import game.Game;
 import game.GameScore;
+import game.HighScoreStore;
 import game.UIUtils;
 import game.entities.Button;
 import game.entities.HeaderSprite;
 import game.entities.Sprite;
 import game.entities.Tile;
+import javafx.event.EventHandler;
 import javafx.geometry.HPos;
 import javafx.geometry.Insets;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.layout.ColumnConstraints;
 import javafx.scene.layout.GridPane;
 import javafx.scene.text.Text;
@@ -19,6 +24,16 @@ import javafx.scene.text.Text;
  */
 public final class HighScoresScene extends GameScene {
 
+    /** Display: number of scores shown per page. */
+    private static final int SCORES_PER_PAGE = 10;
+    /** Display: number of difficulties that can be shown. */
+    private static final int TOTAL_DIFFICULTIES =
+            HighScoreStore.TOTAL_DIFFICULTIES;
+
+    /** The difficulty whose scores are shown. */
+    private int difficulty;
+    /** The rank of the first score shown. */
+    private int offset;
     /** Control: grid that stores scores. */
     private GridPane scoresGrid;
     /** Control: scene header. */
@@ -31,8 +46,12 @@ public final class HighScoresScene extends GameScene {
      */
     public HighScoresScene() {
         super();
+        this.difficulty = LevelScene.DIFFICULTY_EASY;
+        this.offset = 0;
         this.addScoresGrid();
         this.addMenuControls();
+        this.addNavigationHandler();
+        this.showScores();
         UIUtils.handleReturnToMainMenu(this);
     }
 
@@ -78,45 +97,128 @@ public final class HighScoresScene extends GameScene {
         backButton.setClickAction(new Runnable() {
             @Override
             public void run() {
-                Game.setGameScene(new MainMenuScene());
+                Game.setGameScene(Scenes.mainMenu());
             }
         });
+    }
 
-        // Process the high scores list and add them to the grid.
-        for (int i = 0; i < Game.getHighScores().size(); i++) {
-            GameScore score = Game.getHighScores().get(i);
-            Text nameText = new Text(score.getName());
-            nameText.setFill(UIUtils.COLOR_PRIMARY);
-            nameText.setFont(UIUtils.FONT_48);
-
-            Text scoreText = new Text(Integer.toString(score.getScore()));
-            scoreText.setFill(UIUtils.COLOR_PRIMARY);
-            scoreText.setFont(UIUtils.FONT_48);
-
-            Text difficultyText = new Text();
-            difficultyText.setFill(UIUtils.COLOR_PRIMARY);
-            difficultyText.setFont(UIUtils.FONT_48);
-
-            switch (score.getDifficulty()) {
-            case LevelScene.DIFFICULTY_EASY:
-                difficultyText.setText("EASY");
-                break;
-            case LevelScene.DIFFICULTY_MEDIUM:
-                difficultyText.setText("MEDIUM");
-                break;
-            case LevelScene.DIFFICULTY_HARD:
-                difficultyText.setText("HARD");
-                break;
-            default:
-                difficultyText.setText("INVALID");
-                break;
+    /**
+     * Handles key presses used to switch difficulties and pages.
+     */
+    private void addNavigationHandler() {
+        this.scene.addEventHandler(KeyEvent.KEY_PRESSED,
+                new EventHandler<KeyEvent>() {
+            @Override
+            public void handle(KeyEvent e) {
+                int difficulty = HighScoresScene.this.difficulty;
+                int offset = HighScoresScene.this.offset;
+                switch (e.getCode()) {
+                case LEFT:
+                    difficulty = (difficulty + TOTAL_DIFFICULTIES - 1)
+                            % TOTAL_DIFFICULTIES;
+                    offset = 0;
+                    break;
+                case RIGHT:
+                    difficulty = (difficulty + 1) % TOTAL_DIFFICULTIES;
+                    offset = 0;
+                    break;
+                case UP:
+                case PAGE_UP:
+                    offset = Math.max(0, offset - SCORES_PER_PAGE);
+                    break;
+                case DOWN:
+                case PAGE_DOWN:
+                    if (offset + SCORES_PER_PAGE
+                            < Game.getHighScoreCount(difficulty)) {
+                        offset += SCORES_PER_PAGE;
+                    }
+                    break;
+                default:
+                    return;
+                }
+                if (difficulty != HighScoresScene.this.difficulty
+                        || offset != HighScoresScene.this.offset) {
+                    HighScoresScene.this.difficulty = difficulty;
+                    HighScoresScene.this.offset = offset;
+                    HighScoresScene.this.showScores();
+                    Game.playSFX(Button.SFX_BUTTON);
+                }
             }
-            this.scoresGrid.add(nameText, 0, i);
-            this.scoresGrid.add(scoreText, 1, i);
-            this.scoresGrid.add(difficultyText, 2, i);
+        });
+    }
+
+    /**
+     * Adds the current page of high scores to the grid.
+     */
+    private void showScores() {
+        this.scoresGrid.getChildren().clear();
+
+        List<GameScore> scores = Game.getHighScores(
+                this.difficulty, this.offset, SCORES_PER_PAGE);
+        // Show the difficulty even if there are no scores yet.
+        if (scores.isEmpty()) {
+            this.scoresGrid.add(createText("---"), 0, 0);
+            this.scoresGrid.add(createText("0"), 1, 0);
+            this.scoresGrid.add(createText(
+                    getDifficultyName(this.difficulty)), 2, 0);
+            return;
+        }
+
+        // Process the high scores page and add them to the grid.
+        for (int i = 0; i < scores.size(); i++) {
+            GameScore score = scores.get(i);
+            this.scoresGrid.add(createText(score.getName()), 0, i);
+            this.scoresGrid.add(createText(
+                    Integer.toString(score.getScore())), 1, i);
+            this.scoresGrid.add(createText(
+                    getDifficultyName(score.getDifficulty())), 2, i);
+        }
+    }
+
+    /**
+     * Creates a text node used in the scores grid.
+     * @param value the text contents.
+     * @return a Text object.
+     */
+    private static Text createText(String value) {
+        Text text = new Text(value);
+        text.setFill(UIUtils.COLOR_PRIMARY);
+        text.setFont(UIUtils.FONT_48);
+        return text;
+    }
+
+    /**
+     * Retrieves the display name of the given difficulty.
+     * @param difficulty the game difficulty.
+     * @return a String.
+     */
+    private static String getDifficultyName(int difficulty) {
+        switch (difficulty) {
+        case LevelScene.DIFFICULTY_EASY:
+            return "EASY";
+        case LevelScene.DIFFICULTY_MEDIUM:
+            return "MEDIUM";
+        case LevelScene.DIFFICULTY_HARD:
+            return "HARD";
+        default:
+            return "INVALID";
         }
     }
 
+    @Override
+    public void enter() {
+        super.enter();
+        // Start from the first page, including any new scores.
+        this.difficulty = LevelScene.DIFFICULTY_EASY;
+        this.offset = 0;
+        this.showScores();
+    }
+
+    @Override
+    public boolean isReusable() {
+        return true;
+    }
+
     @Override
     public void update(long now) {
         this.levelMap.update(now);
@@ -128,13 +230,19 @@ public final class HighScoresScene extends GameScene {
 
     @Override
     public void draw(long now) {
-        this.gc.clearRect(0, 0, Game.WINDOW_MAX_WIDTH,
-                Game.WINDOW_MAX_HEIGHT);
-        this.levelMap.draw(gc);
+        // These controls aren't part of the level map.
+        this.headerProp.collectDamage(this.dirtyRegion);
+        this.backButton.collectDamage(this.dirtyRegion);
+        if (!this.beginRepaint()) {
+            return;
+        }
+        this.levelMap.draw(gc, this.dirtyRegion);
 
-        UIUtils.drawMenuBackground(gc, 2, Tile.ALL_VERTICAL);
+        UIUtils.drawMenuBackground(gc, 2, Tile.ALL_VERTICAL,
+                this.dirtyRegion);
         this.headerProp.draw(gc);
         backButton.draw(gc);
+        this.endRepaint();
     }
 
     @Override
@@ -1,13 +1,24 @@
 package game.scenes;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
 import game.ActionTimer;
+import game.Camera;
+import game.FrameProfiler;
 import game.Game;
+import game.ImageRegistry;
 import game.LevelMap;
+import game.SessionReport;
 import game.UIUtils;
 import game.entities.Button;
+import game.entities.Entity;
 import game.entities.Mote;
 import game.entities.Outlaw;
 import game.entities.Sprite;
@@ -21,9 +32,8 @@ import game.entities.powerups.LampPowerup;
 import game.entities.powerups.Powerup;
 import game.entities.powerups.SnakeOilPowerup;
 import game.entities.powerups.WheelPowerup;
-import javafx.event.EventHandler;
+import game.render.RecordingRenderer;
 import javafx.scene.input.KeyCode;
-import javafx.scene.input.KeyEvent;
 
 /**
  * This class represents the Level scene logic.
@@ -68,6 +78,17 @@ public final class LevelScene extends GameScene {
             TimeUnit.SECONDS.toNanos(60);
     /** Tuning: player character's initial x-coordinate position. */
     private static final int OUTLAW_INITIAL_X = 100;
+    /** The system property used to set the width of the level world. */
+    public static final String PROPERTY_WORLD_WIDTH = "deadwood.world.width";
+    /** The system property used to set the height of the level world. */
+    public static final String PROPERTY_WORLD_HEIGHT =
+            "deadwood.world.height";
+    /** Tuning: width of the level world, never less than the window. */
+    private static final int WORLD_WIDTH = getWorldSize(
+            PROPERTY_WORLD_WIDTH, Game.WINDOW_MAX_WIDTH);
+    /** Tuning: height of the level world, never less than the window. */
+    private static final int WORLD_HEIGHT = getWorldSize(
+            PROPERTY_WORLD_HEIGHT, Game.WINDOW_MAX_HEIGHT);
 
     /** Path to available background music tracks. */
     private static final String[] MUSIC_REGULAR =
@@ -83,8 +104,13 @@ public final class LevelScene extends GameScene {
     /** The status overlay. */
     private StatusOverlay statusOverlay;
 
+    /** The performance report of the session in progress, or null. */
+    private SessionReport session;
+
     /** State: level difficulty. */
     private int difficulty;
+    /** State: random number generator state when the level was created. */
+    private long rngState;
     /** State: number of mobs to spawn at the start of the level. */
     private int mobCountAtStart;
     /** State: number of mobs to spawn at the end of the spawn interval. */
@@ -104,6 +130,16 @@ public final class LevelScene extends GameScene {
     private ActionTimer[] powerupTimers;
     /** State: action timer handling how long a level is. */
     private ActionTimer levelTimer;
+    /** State: action timer spawning the boss mob. */
+    private ActionTimer bossTimer;
+    /** State: action timer spawning mobs. */
+    private ActionTimer mobSpawnTimer;
+    /** State: action timer starting the max mob speed event. */
+    private ActionTimer maxSpeedTimer;
+    /** State: action timer ending the max mob speed event, or null. */
+    private ActionTimer maxSpeedEndTimer;
+    /** State: action timer spawning power-ups. */
+    private ActionTimer powerupSpawnTimer;
 
     /** Event: mobs move at maximum speed. */
     private boolean maxSpeed;
@@ -121,6 +157,19 @@ public final class LevelScene extends GameScene {
      * @param difficulty an integer indicating the starting difficulty.
      */
     public LevelScene(int difficulty) {
+        this(difficulty, false);
+    }
+
+    /**
+     * Constructs an instance of LevelScene.
+     * @param difficulty an integer indicating the starting difficulty.
+     * @param restoring whether the level state is restored afterwards
+     *                  using {@link #readState}, in which case no mobs
+     *                  are spawned.
+     */
+    LevelScene(int difficulty, boolean restoring) {
+        this.rngState = Game.RNG.getState();
+        this.session = null;
         this.difficulty = difficulty;
         switch (this.difficulty) {
         default:
@@ -153,8 +202,7 @@ public final class LevelScene extends GameScene {
         this.outlaw = new Outlaw(OUTLAW_INITIAL_X, 0, this);
         this.getOutlaw().setY(Game.RNG.nextInt(
                 (int) getOutlaw().getBounds().getHeight(),
-                Game.WINDOW_MAX_HEIGHT - (int) getOutlaw().getBounds().getHeight()));
-        this.getOutlaw().handleKeyPressEvent(this);
+                WORLD_HEIGHT - (int) getOutlaw().getBounds().getHeight()));
         this.bossMob = null;
         this.statusOverlay = new StatusOverlay(this);
 
@@ -170,20 +218,9 @@ public final class LevelScene extends GameScene {
 
         this.levelMap.addEntity(getOutlaw());
 
-        if (Game.DEBUG_MODE) {
-            scene.addEventHandler(KeyEvent.KEY_PRESSED, new EventHandler<KeyEvent>() {
-                @Override
-                public void handle(KeyEvent e) {
-                    KeyCode code = e.getCode();
-                    if (code == KeyCode.F1) {
-                        levelMap.generate(true);
-                    }
-                }
-            });
+        if (!restoring) {
+            this.spawnMobs(this.mobCountAtStart);
         }
-
-        this.spawnMobs(this.mobCountAtStart);
-        this.addPauseHandler();
     }
 
     /**
@@ -205,13 +242,14 @@ public final class LevelScene extends GameScene {
         });
         // Action: spawn boss.
         boolean spawnBossMultiple = (this.difficulty == DIFFICULTY_HARD);
-        timers.add(LEVEL_BOSS_TIME, spawnBossMultiple, new Callable<Boolean>() {
+        this.bossTimer = timers.add(LEVEL_BOSS_TIME, spawnBossMultiple, new Callable<Boolean>() {
             @Override
             public Boolean call() {
                 if (bossMob == null || !bossMob.isAlive()) {
+                    Camera camera = levelMap.getCamera();
                     bossMob = new CowboyMob(
-                            Game.WINDOW_MAX_WIDTH,
-                            Game.WINDOW_MAX_HEIGHT / 2,
+                            camera.getX() + camera.getViewportWidth(),
+                            camera.getY() + (camera.getViewportHeight() / 2),
                             LevelScene.this);
                     bossMob.addY((int) -bossMob.getBounds().getHeight() / 2);
                     bossMob.addX((int) -bossMob.getBounds().getWidth());
@@ -221,7 +259,7 @@ public final class LevelScene extends GameScene {
             }
         });
         // Action: spawn mobs every 3 seconds.
-        timers.add(MOB_SPAWN_INTERVAL, true, new Callable<Boolean>() {
+        this.mobSpawnTimer = timers.add(MOB_SPAWN_INTERVAL, true, new Callable<Boolean>() {
             @Override
             public Boolean call() {
                 spawnMobs(mobCountPerInterval);
@@ -229,24 +267,15 @@ public final class LevelScene extends GameScene {
             }
         });
         // Speed up mob movement every 15 seconds.
-        timers.add(MOB_MAX_SPEED_INTERVAL, true, new Callable<Boolean>() {
+        this.maxSpeedTimer = timers.add(MOB_MAX_SPEED_INTERVAL, true, new Callable<Boolean>() {
             @Override
             public Boolean call() {
-                maxSpeed = true;
-                // Reset back to normal speed after 3 seconds if we've
-                // sped up mob movement.
-                timers.add(MOB_MAX_SPEED_END_INTERVAL, false, new Callable<Boolean>() {
-                    @Override
-                    public Boolean call() {
-                        maxSpeed = false;
-                        return true;
-                    }
-                });
+                startMaxSpeed();
                 return true;
             }
         });
         // Spawn power-ups every 10 seconds.
-        timers.add(this.powerupSpawnInterval, true, new Callable<Boolean>() {
+        this.powerupSpawnTimer = timers.add(this.powerupSpawnInterval, true, new Callable<Boolean>() {
             @Override
             public Boolean call() {
                 spawnPowerups();
@@ -255,14 +284,37 @@ public final class LevelScene extends GameScene {
         });
     }
 
+    /**
+     * Applies the max mob speed event.
+     */
+    private void startMaxSpeed() {
+        this.maxSpeed = true;
+        // Reset back to normal speed after 3 seconds if we've
+        // sped up mob movement.
+        this.maxSpeedEndTimer = timers.add(MOB_MAX_SPEED_END_INTERVAL, false, new Callable<Boolean>() {
+            @Override
+            public Boolean call() {
+                maxSpeed = false;
+                return true;
+            }
+        });
+    }
+
     @Override
     public void update(long now) {
+        FrameProfiler.begin(FrameProfiler.PHASE_TIMERS);
         this.timers.update(now);
+        FrameProfiler.end();
+        FrameProfiler.begin(FrameProfiler.PHASE_OVERLAY);
         this.statusOverlay.update(now);
+        FrameProfiler.end();
         if (this.levelDone || this.levelPaused) {
             return;
         }
+        FrameProfiler.begin(FrameProfiler.PHASE_ENTITIES);
         this.levelMap.update(now);
+        this.levelMap.getCamera().follow(this.getOutlaw());
+        FrameProfiler.end();
     }
 
     @Override
@@ -270,10 +322,32 @@ public final class LevelScene extends GameScene {
         this.gc.clearRect(0, 0, Game.WINDOW_MAX_WIDTH,
                 Game.WINDOW_MAX_HEIGHT);
 
+        // The level map is drawn in world coordinates.
+        Camera camera = this.levelMap.getCamera();
+        this.gc.save();
+        this.gc.translate(-camera.getX(), -camera.getY());
         this.levelMap.draw(gc);
+        this.gc.restore();
         this.statusOverlay.draw(gc);
     }
 
+    /**
+     * Retrieves a dimension of the level world, which defaults to twice
+     * that of the window so the camera scrolls.
+     * @param property the system property overriding the dimension.
+     * @param windowSize the same dimension of the window.
+     * @return an integer.
+     */
+    private static int getWorldSize(String property, int windowSize) {
+        return Math.max(windowSize,
+                Integer.getInteger(property, windowSize * 2));
+    }
+
+    @Override
+    protected LevelMap createLevelMap(boolean excludeProps) {
+        return new LevelMap(excludeProps, WORLD_WIDTH, WORLD_HEIGHT);
+    }
+
     /**
      * Spawns a mote at the specified target sprite.
      * @param target the Sprite from which the mote originated.
@@ -292,6 +366,7 @@ public final class LevelScene extends GameScene {
      * @param mobCount the number of mobs to be spawned.
      */
     private void spawnMobs(int mobCount) {
+        Camera camera = this.levelMap.getCamera();
         for (int i = 0; i < mobCount; i++) {
             Mob mob = null;
             switch (Game.RNG.nextInt(0, Mob.TOTAL_MOBS)) {
@@ -312,12 +387,12 @@ public final class LevelScene extends GameScene {
             int mobWidth = (int) mob.getBounds().getWidth();
             int mobHeight = (int) mob.getBounds().getHeight();
 
-            mob.setX(Game.RNG.nextInt(
-                    Game.WINDOW_MAX_WIDTH / 2,
-                    Game.WINDOW_MAX_WIDTH - mobWidth));
-            mob.setY(Game.RNG.nextInt(
+            mob.setX(camera.getX() + Game.RNG.nextInt(
+                    camera.getViewportWidth() / 2,
+                    camera.getViewportWidth() - mobWidth));
+            mob.setY(camera.getY() + Game.RNG.nextInt(
                     0,
-                    Game.WINDOW_MAX_HEIGHT - mobHeight));
+                    camera.getViewportHeight() - mobHeight));
 
             this.levelMap.addEntity(mob);
         }
@@ -350,12 +425,13 @@ public final class LevelScene extends GameScene {
         int powerupWidth = (int) powerup.getBounds().getWidth();
         int powerupHeight = (int) powerup.getBounds().getHeight();
 
-        powerup.setX(Game.RNG.nextInt(
+        Camera camera = this.levelMap.getCamera();
+        powerup.setX(camera.getX() + Game.RNG.nextInt(
                 powerupWidth,
-                Game.WINDOW_MAX_WIDTH / 2));
-        powerup.setY(Game.RNG.nextInt(
+                camera.getViewportWidth() / 2));
+        powerup.setY(camera.getY() + Game.RNG.nextInt(
                 powerupHeight,
-                Game.WINDOW_MAX_HEIGHT - powerupHeight * 2));
+                camera.getViewportHeight() - powerupHeight * 2));
 
         this.levelMap.addEntity(powerup);
     }
@@ -439,47 +515,220 @@ public final class LevelScene extends GameScene {
      * Toggles the paused state event of this level.
      */
     public void togglePaused() {
-        if (!levelPaused) {
+        this.setPaused(!this.levelPaused);
+        Game.playSFX(Button.SFX_BUTTON);
+    }
+
+    /**
+     * Specifies the paused state event of this level.
+     * @param paused a boolean.
+     */
+    public void setPaused(boolean paused) {
+        if (this.levelPaused == paused) {
+            return;
+        }
+        if (paused) {
             getTimers().stopAll();
         } else {
             getTimers().startAll();
         }
         statusOverlay.togglePausedVisibility();
-        levelPaused = !levelPaused;
-        Game.playSFX(Button.SFX_BUTTON);
+        levelPaused = paused;
     }
 
-    /** Paused state event handler. */
-    private final EventHandler<KeyEvent> pauseEventHandler =
-            new EventHandler<KeyEvent>() {
-                @Override
-                public void handle(KeyEvent e) {
-                    KeyCode code = e.getCode();
-                    switch (code) {
-                    case BACK_SPACE:
-                    case ESCAPE:
-                        togglePaused();
-                        break;
-                    default:
-                        break;
-                    }
-                }
-            };
+    @Override
+    protected void handleKeyPressed(KeyCode code) {
+        // Returns to the main menu once the level is done.
+        super.handleKeyPressed(code);
+        if (!this.levelDone && !this.levelPaused) {
+            this.getOutlaw().startMoving(code);
+        }
+
+        if (!Game.DEBUG_MODE) {
+            return;
+        }
+        if (code == KeyCode.F1) {
+            levelMap.generate(true);
+        } else if (code == KeyCode.F2) {
+            System.out.println("Live entities: "
+                    + levelMap.getEntityCounts()
+                    + ", reaped: " + levelMap.getReapedCount()
+                    + ", timers: " + timers.getTimerCount());
+            if (gc instanceof RecordingRenderer) {
+                System.out.println("Last frame: "
+                        + ((RecordingRenderer) gc)
+                            .getLastFrameStats());
+            }
+            System.out.println("Input latency: " + this.getInput());
+            System.out.println("Images: " + ImageRegistry.getReport());
+        }
+    }
+
+    @Override
+    protected void handleKeyReleased(KeyCode code) {
+        this.getOutlaw().stopMoving(code);
+        // The level can't be paused anymore once it's done.
+        if (this.levelDone) {
+            return;
+        }
+        switch (code) {
+        case BACK_SPACE:
+        case ESCAPE:
+            togglePaused();
+            break;
+        default:
+            break;
+        }
+    }
 
     /**
-     * Adds the paused state event handler to the inner JavaFX scene.
+     * Retrieves whether this level can be suspended and resumed later.
+     * @return a boolean.
      */
-    private void addPauseHandler() {
-        getInner().addEventHandler(
-                KeyEvent.KEY_RELEASED, this.pauseEventHandler);
+    public boolean canSuspend() {
+        return !this.levelDone && this.getOutlaw().isAlive();
     }
 
     /**
-     * Removes the paused state event handler from the inner JavaFX scene.
+     * Writes the state of this level, excluding its difficulty.
+     * @param out a DataOutput object.
+     * @throws IOException if the state couldn't be written.
      */
-    private void removePauseHandler() {
-        getInner().removeEventHandler(
-                KeyEvent.KEY_RELEASED, this.pauseEventHandler);
+    void writeState(DataOutput out) throws IOException {
+        out.writeInt(this.score);
+        out.writeInt(this.mobKillCount);
+        for (int count : this.powerupCount) {
+            out.writeInt(count);
+        }
+
+        writeTimer(out, this.levelTimer);
+        writeTimer(out, this.bossTimer);
+        writeTimer(out, this.mobSpawnTimer);
+        writeTimer(out, this.maxSpeedTimer);
+        writeTimer(out, this.powerupSpawnTimer);
+        writeTimer(out, this.maxSpeed ? this.maxSpeedEndTimer : null);
+        for (ActionTimer timer : this.powerupTimers) {
+            boolean active = (timer != null && !timer.isClosed());
+            out.writeBoolean(active);
+            if (active) {
+                out.writeLong(timer.getInterval());
+                out.writeLong(timer.getElapsedTime());
+            }
+        }
+
+        // Tiles are generated from the seed, so they aren't stored.
+        out.writeLong(this.levelMap.getTileSeed());
+        List<Entity> entities = new ArrayList<Entity>();
+        for (Entity entity : this.levelMap.getEntities()) {
+            if (LevelSnapshot.isPersistent(entity)) {
+                entities.add(entity);
+            }
+        }
+        out.writeInt(entities.size());
+        for (Entity entity : entities) {
+            LevelSnapshot.writeEntity(out, entity);
+        }
+        out.writeInt(entities.indexOf(this.bossMob));
+    }
+
+    /**
+     * Reads the state previously written by {@link #writeState}.
+     * @param in a DataInput object.
+     * @throws IOException if the state couldn't be read.
+     */
+    void readState(DataInput in) throws IOException {
+        this.score = in.readInt();
+        this.mobKillCount = in.readInt();
+        for (int i = 0; i < this.powerupCount.length; i++) {
+            this.powerupCount[i] = in.readInt();
+        }
+
+        readTimer(in, this.levelTimer);
+        readTimer(in, this.bossTimer);
+        readTimer(in, this.mobSpawnTimer);
+        readTimer(in, this.maxSpeedTimer);
+        readTimer(in, this.powerupSpawnTimer);
+        long maxSpeedElapsed = in.readLong();
+        if (maxSpeedElapsed >= 0) {
+            this.startMaxSpeed();
+            this.maxSpeedEndTimer.setElapsedTime(maxSpeedElapsed);
+        }
+        for (int id = 0; id < this.powerupTimers.length; id++) {
+            if (!in.readBoolean()) {
+                continue;
+            }
+            long interval = in.readLong();
+            long elapsed = in.readLong();
+            switch (id) {
+            case HayPowerup.ID:
+                this.applyImmortality(interval);
+                break;
+            case WheelPowerup.ID:
+                this.applySlowMobSpeed(interval);
+                break;
+            case SnakeOilPowerup.ID:
+                this.applyZeroMobSpeed(interval);
+                break;
+            default:
+                continue;
+            }
+            this.powerupTimers[id].setElapsedTime(elapsed);
+        }
+
+        this.levelMap.setTileSeed(in.readLong());
+        // Replace the props generated for this level with the stored ones.
+        for (Entity entity : this.levelMap.getEntities()) {
+            if (entity != this.getOutlaw()) {
+                entity.remove();
+            }
+        }
+        int count = in.readInt();
+        List<Entity> entities = new ArrayList<Entity>(count);
+        for (int i = 0; i < count; i++) {
+            Entity entity = LevelSnapshot.readEntity(in, this);
+            entities.add(entity);
+            if (entity != this.getOutlaw()) {
+                this.levelMap.addEntity(entity);
+            }
+        }
+        int bossIndex = in.readInt();
+        if (bossIndex >= 0) {
+            this.bossMob = (Mob) entities.get(bossIndex);
+        }
+        this.levelMap.getCamera().follow(this.getOutlaw());
+    }
+
+    /**
+     * Writes the elapsed time of the given action timer, or -1 if it
+     * isn't running.
+     * @param out a DataOutput object.
+     * @param timer an ActionTimer object, or null.
+     * @throws IOException if the state couldn't be written.
+     */
+    private static void writeTimer(DataOutput out, ActionTimer timer)
+            throws IOException {
+        if (timer == null || timer.isClosed()) {
+            out.writeLong(-1);
+        } else {
+            out.writeLong(timer.getElapsedTime());
+        }
+    }
+
+    /**
+     * Reads the elapsed time of the given action timer, closing the
+     * timer if it wasn't running.
+     * @param in a DataInput object.
+     * @param timer an ActionTimer object.
+     * @throws IOException if the state couldn't be read.
+     */
+    private static void readTimer(DataInput in, ActionTimer timer)
+            throws IOException {
+        long elapsed = in.readLong();
+        if (elapsed < 0) {
+            timer.close();
+        } else {
+            timer.setElapsedTime(elapsed);
+        }
     }
 
     /**
@@ -616,8 +865,20 @@ public final class LevelScene extends GameScene {
             return;
         }
         this.getTimers().removeAll();
-        this.removePauseHandler();
-        if (Game.getHighScoreIndex(score) != -1) {
+        // Simulated levels have no player to show the results to.
+        if (!Game.isInitialized()) {
+            this.levelDone = true;
+            return;
+        }
+        // There's nothing left to resume.
+        Game.discardSuspendedLevel();
+        if (this.session != null) {
+            this.session.finish();
+            Game.saveSessionReport(this.session);
+            this.session = null;
+        }
+        if (Game.getHighScoreIndex(
+                this.score, this.getDifficulty()) != -1) {
             this.statusOverlay.toggleNameInputVisibility();
         } else {
             UIUtils.handleReturnToMainMenu(this);
@@ -626,6 +887,48 @@ public final class LevelScene extends GameScene {
         this.levelDone = true;
     }
 
+    @Override
+    public void enter() {
+        super.enter();
+        if (this.session == null && !this.levelDone) {
+            this.session = new SessionReport(this.difficulty,
+                    this.rngState);
+            this.session.start();
+        }
+    }
+
+    @Override
+    public void exit() {
+        super.exit();
+        // Sessions left before the level is done aren't reported.
+        if (this.session != null) {
+            this.session.stop();
+            this.session = null;
+        }
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        // A level which was left can't be resumed anymore. Only the
+        // level that is still current when the game quits is kept.
+        Game.discardSuspendedLevel();
+    }
+
+    @Override
+    public void recordFrame(long start, long end) {
+        if (this.session != null) {
+            this.session.recordFrame(end - start, this.levelMap,
+                    this.timers.getTimerCount());
+        }
+    }
+
+    @Override
+    public boolean isQuiescent() {
+        // Nothing moves while the pause or game end overlay is shown.
+        return this.levelPaused || this.levelDone;
+    }
+
     /**
      * Retrieves the level map associated with this scene.
      * @return a LevelMap.
@@ -644,6 +947,18 @@ public final class LevelScene extends GameScene {
         return MUSIC_REGULAR[index];
     }
 
+    /**
+     * Retrieves all background music tracks that can be played in levels.
+     * @return a list of BGM asset names.
+     */
+    public static List<String> getBGMTracks() {
+        List<String> tracks = new ArrayList<String>(
+                MUSIC_REGULAR.length + MUSIC_HARD.length);
+        tracks.addAll(Arrays.asList(MUSIC_REGULAR));
+        tracks.addAll(Arrays.asList(MUSIC_HARD));
+        return tracks;
+    }
+
     /**
      * Handles and receives the specified name from the player, which will
      * be used to save their high score in this level.
@@ -0,0 +1,240 @@
+package game.scenes;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+import game.Game;
+import game.entities.Bullet;
+import game.entities.Entity;
+import game.entities.Outlaw;
+import game.entities.mobs.CactusMob;
+import game.entities.mobs.CoffinMob;
+import game.entities.mobs.CowboyMob;
+import game.entities.mobs.CoyoteMob;
+import game.entities.mobs.Mob;
+import game.entities.powerups.HayPowerup;
+import game.entities.powerups.LampPowerup;
+import game.entities.powerups.SnakeOilPowerup;
+import game.entities.powerups.WheelPowerup;
+import game.entities.props.HouseProp;
+import game.entities.props.TreeProp;
+import game.entities.props.WagonProp;
+
+/**
+ * This class converts an in-progress level from and to a compact binary
+ * snapshot, which allows the level to be suspended and resumed later.
+ * @implNote The snapshot starts with a magic number, a version, and the
+ *           difficulty, followed by the level state, its entities (each
+ *           prefixed by a type tag), and the random number generator
+ *           state. Motes and effects are transient and aren't stored.
+ */
+public final class LevelSnapshot {
+
+    /** File format: magic number ("DWJL"). */
+    private static final int FILE_MAGIC = 0x44574A4C;
+    /** File format: current version. */
+    private static final short FILE_VERSION = 1;
+
+    /** Entity type: not stored. */
+    private static final byte TYPE_NONE = 0;
+    /** Entity type: player character. */
+    private static final byte TYPE_OUTLAW = 1;
+    /** Entity type: bullet. */
+    private static final byte TYPE_BULLET = 2;
+    /** Entity type: cactus mob. */
+    private static final byte TYPE_CACTUS_MOB = 3;
+    /** Entity type: coyote mob. */
+    private static final byte TYPE_COYOTE_MOB = 4;
+    /** Entity type: coffin mob. */
+    private static final byte TYPE_COFFIN_MOB = 5;
+    /** Entity type: cowboy (boss) mob. */
+    private static final byte TYPE_COWBOY_MOB = 6;
+    /** Entity type: lamp power-up. */
+    private static final byte TYPE_LAMP_POWERUP = 7;
+    /** Entity type: hay power-up. */
+    private static final byte TYPE_HAY_POWERUP = 8;
+    /** Entity type: wheel power-up. */
+    private static final byte TYPE_WHEEL_POWERUP = 9;
+    /** Entity type: snake oil power-up. */
+    private static final byte TYPE_SNAKE_OIL_POWERUP = 10;
+    /** Entity type: tree prop. */
+    private static final byte TYPE_TREE_PROP = 11;
+    /** Entity type: wagon prop. */
+    private static final byte TYPE_WAGON_PROP = 12;
+    /** Entity type: house prop. */
+    private static final byte TYPE_HOUSE_PROP = 13;
+
+    /**
+     * Converts the given level to a snapshot.
+     * @param level a LevelScene object.
+     * @return a byte array.
+     */
+    public static byte[] toBytes(LevelScene level) {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(buffer)) {
+            out.writeInt(FILE_MAGIC);
+            out.writeShort(FILE_VERSION);
+            out.writeByte(level.getDifficulty());
+            level.writeState(out);
+            out.writeLong(Game.RNG.getState());
+        } catch (IOException e) {
+            // This should not be reached with an in-memory stream.
+            throw new IllegalStateException(e);
+        }
+        return buffer.toByteArray();
+    }
+
+    /**
+     * Creates a level from the given snapshot. The level starts paused.
+     * @param data the snapshot contents.
+     * @return a LevelScene object.
+     * @throws IOException if the data is corrupted.
+     */
+    public static LevelScene fromBytes(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(data));
+        if (in.readInt() != FILE_MAGIC) {
+            throw new IOException("Not a level snapshot.");
+        }
+        short version = in.readShort();
+        if (version != FILE_VERSION) {
+            throw new IOException("Unsupported level snapshot version.");
+        }
+        LevelScene level = new LevelScene(in.readUnsignedByte(), true);
+        level.readState(in);
+        // Restore the generator last, since creating the level uses it.
+        Game.RNG.setState(in.readLong());
+        level.setPaused(true);
+        return level;
+    }
+
+    /**
+     * Retrieves whether the given entity is stored in snapshots.
+     * @param entity an Entity object.
+     * @return a boolean.
+     */
+    static boolean isPersistent(Entity entity) {
+        if (getType(entity) == TYPE_NONE || entity.getRemoved()
+                || entity.isExpired() || entity.isInert()) {
+            return false;
+        }
+        // Dying mobs are already counted as killed.
+        if (entity instanceof Mob) {
+            return ((Mob) entity).isAlive();
+        }
+        return true;
+    }
+
+    /**
+     * Writes the type tag and state of the given entity.
+     * @param out a DataOutput object.
+     * @param entity an Entity object.
+     * @throws IOException if the state couldn't be written.
+     */
+    static void writeEntity(DataOutput out, Entity entity)
+            throws IOException {
+        out.writeByte(getType(entity));
+        entity.writeState(out);
+    }
+
+    /**
+     * Creates an entity from its type tag and state. The player
+     * character isn't created again; its state is restored instead.
+     * @param in a DataInput object.
+     * @param level the LevelScene object owning the entity.
+     * @return an Entity object.
+     * @throws IOException if the state couldn't be read.
+     */
+    static Entity readEntity(DataInput in, LevelScene level)
+            throws IOException {
+        Entity entity = null;
+        byte type = in.readByte();
+        switch (type) {
+        case TYPE_OUTLAW:
+            entity = level.getOutlaw();
+            break;
+        case TYPE_BULLET:
+            entity = new Bullet(level);
+            break;
+        case TYPE_CACTUS_MOB:
+            entity = new CactusMob(0, 0, level);
+            break;
+        case TYPE_COYOTE_MOB:
+            entity = new CoyoteMob(0, 0, level);
+            break;
+        case TYPE_COFFIN_MOB:
+            entity = new CoffinMob(0, 0, level);
+            break;
+        case TYPE_COWBOY_MOB:
+            entity = new CowboyMob(0, 0, level);
+            break;
+        case TYPE_LAMP_POWERUP:
+            entity = new LampPowerup(0, 0, level);
+            break;
+        case TYPE_HAY_POWERUP:
+            entity = new HayPowerup(0, 0, level);
+            break;
+        case TYPE_WHEEL_POWERUP:
+            entity = new WheelPowerup(0, 0, level);
+            break;
+        case TYPE_SNAKE_OIL_POWERUP:
+            entity = new SnakeOilPowerup(0, 0, level);
+            break;
+        case TYPE_TREE_PROP:
+            entity = new TreeProp(0, 0);
+            break;
+        case TYPE_WAGON_PROP:
+            entity = new WagonProp(0, 0);
+            break;
+        case TYPE_HOUSE_PROP:
+            entity = new HouseProp(0, 0);
+            break;
+        default:
+            throw new IOException("Unknown entity type: " + type);
+        }
+        entity.readState(in);
+        return entity;
+    }
+
+    /**
+     * Retrieves the type tag of the given entity.
+     * @param entity an Entity object.
+     * @return the entity type (constant).
+     */
+    private static byte getType(Entity entity) {
+        if (entity instanceof Outlaw) {
+            return TYPE_OUTLAW;
+        } else if (entity instanceof Bullet) {
+            return TYPE_BULLET;
+        } else if (entity instanceof CactusMob) {
+            return TYPE_CACTUS_MOB;
+        } else if (entity instanceof CoyoteMob) {
+            return TYPE_COYOTE_MOB;
+        } else if (entity instanceof CoffinMob) {
+            return TYPE_COFFIN_MOB;
+        } else if (entity instanceof CowboyMob) {
+            return TYPE_COWBOY_MOB;
+        } else if (entity instanceof LampPowerup) {
+            return TYPE_LAMP_POWERUP;
+        } else if (entity instanceof HayPowerup) {
+            return TYPE_HAY_POWERUP;
+        } else if (entity instanceof WheelPowerup) {
+            return TYPE_WHEEL_POWERUP;
+        } else if (entity instanceof SnakeOilPowerup) {
+            return TYPE_SNAKE_OIL_POWERUP;
+        } else if (entity instanceof TreeProp) {
+            return TYPE_TREE_PROP;
+        } else if (entity instanceof WagonProp) {
+            return TYPE_WAGON_PROP;
+        } else if (entity instanceof HouseProp) {
+            return TYPE_HOUSE_PROP;
+        }
+        return TYPE_NONE;
+    }
+
+}
@@ -8,9 +8,7 @@ import game.entities.Button;
 import game.entities.HeaderSprite;
 import game.entities.Sprite;
 import game.entities.Tile;
-import javafx.event.EventHandler;
 import javafx.scene.input.KeyCode;
-import javafx.scene.input.KeyEvent;
 
 /**
  * This class handles the Main Menu scene logic.
@@ -61,19 +59,19 @@ public final class MainMenuScene extends GameScene {
             new Runnable() {
                 @Override
                 public void run() {
-                    Game.setGameScene(new HighScoresScene());
+                    Game.setGameScene(Scenes.highScores());
                 }
             },
             new Runnable() {
                 @Override
                 public void run() {
-                    Game.setGameScene(new HelpScene());
+                    Game.setGameScene(Scenes.help());
                 }
             },
             new Runnable() {
                 @Override
                 public void run() {
-                    Game.setGameScene(new CreditsScene());
+                    Game.setGameScene(Scenes.credits());
                 }
             },
             new Runnable() {
@@ -101,7 +99,6 @@ public final class MainMenuScene extends GameScene {
     public MainMenuScene() {
         super();
         this.addMenuControls();
-        this.handleKeyPressEvent();
     }
 
     /**
@@ -191,6 +188,11 @@ public final class MainMenuScene extends GameScene {
         actionButton.setClickAction(MENU_ACTIONS[menuIndex]);
     }
 
+    @Override
+    public boolean isReusable() {
+        return true;
+    }
+
     @Override
     public void update(long now) {
         this.levelMap.update(now);
@@ -199,35 +201,29 @@ public final class MainMenuScene extends GameScene {
 
     @Override
     public void draw(long now) {
-        this.gc.clearRect(0, 0, Game.WINDOW_MAX_WIDTH,
-                Game.WINDOW_MAX_HEIGHT);
-        this.levelMap.draw(gc);
+        if (!this.beginRepaint()) {
+            return;
+        }
+        this.levelMap.draw(gc, this.dirtyRegion);
+        this.endRepaint();
     }
 
-    /**
-     * Handles the key press events for this scene.
-     */
-    private void handleKeyPressEvent() {
-        this.scene.addEventHandler(KeyEvent.KEY_PRESSED, new EventHandler<KeyEvent>() {
-            @Override
-            public void handle(KeyEvent e) {
-                KeyCode code = e.getCode();
-                switch (code) {
-                case LEFT:
-                    previousButton.click();
-                    break;
-                case RIGHT:
-                    nextButton.click();
-                    break;
-                case ENTER:
-                case SPACE:
-                    actionButton.click();
-                    break;
-                default:
-                    break;
-                }
-            }
-        });
+    @Override
+    protected void handleKeyPressed(KeyCode code) {
+        switch (code) {
+        case LEFT:
+            previousButton.click();
+            break;
+        case RIGHT:
+            nextButton.click();
+            break;
+        case ENTER:
+        case SPACE:
+            actionButton.click();
+            break;
+        default:
+            break;
+        }
     }
 
     @Override
@@ -0,0 +1,64 @@
+package game.scenes;
+
+/**
+ * This utility class keeps a single instance of each menu scene, which
+ * is created when first shown and reset whenever it is shown again.
+ * Levels are always created anew and aren't kept here.
+ * @implNote Cached scenes are only used on the JavaFX application thread.
+ */
+public final class Scenes {
+
+    /** The cached main menu scene. */
+    private static MainMenuScene mainMenu = null;
+    /** The cached high scores scene. */
+    private static HighScoresScene highScores = null;
+    /** The cached help scene. */
+    private static HelpScene help = null;
+    /** The cached credits scene. */
+    private static CreditsScene credits = null;
+
+    /**
+     * Retrieves the main menu scene.
+     * @return a MainMenuScene object.
+     */
+    public static MainMenuScene mainMenu() {
+        if (Scenes.mainMenu == null) {
+            Scenes.mainMenu = new MainMenuScene();
+        }
+        return Scenes.mainMenu;
+    }
+
+    /**
+     * Retrieves the high scores scene.
+     * @return a HighScoresScene object.
+     */
+    public static HighScoresScene highScores() {
+        if (Scenes.highScores == null) {
+            Scenes.highScores = new HighScoresScene();
+        }
+        return Scenes.highScores;
+    }
+
+    /**
+     * Retrieves the help scene.
+     * @return a HelpScene object.
+     */
+    public static HelpScene help() {
+        if (Scenes.help == null) {
+            Scenes.help = new HelpScene();
+        }
+        return Scenes.help;
+    }
+
+    /**
+     * Retrieves the credits scene.
+     * @return a CreditsScene object.
+     */
+    public static CreditsScene credits() {
+        if (Scenes.credits == null) {
+            Scenes.credits = new CreditsScene();
+        }
+        return Scenes.credits;
+    }
+
+}
@@ -4,9 +4,11 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
 
 import game.Game;
+import game.ImageHandle;
 import game.UIUtils;
 import game.entities.Button;
 import game.entities.HeaderSprite;
+import game.entities.NineSlice;
 import game.entities.Sprite;
 import game.entities.Tile;
 import game.entities.powerups.HayPowerup;
@@ -14,8 +16,8 @@ import game.entities.powerups.LampPowerup;
 import game.entities.powerups.Powerup;
 import game.entities.powerups.SnakeOilPowerup;
 import game.entities.powerups.WheelPowerup;
+import game.render.Renderer;
 import javafx.event.EventHandler;
-import javafx.scene.canvas.GraphicsContext;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
@@ -30,20 +32,20 @@ public final class StatusOverlay {
 
     /* UI images. */
     /** Image: game paused. */
-    private static final Image GAME_PAUSED =
-            new Image(Game.getAsset("ui_paused.png"));
+    private static final ImageHandle GAME_PAUSED =
+            ImageHandle.of("ui_paused.png");
     /** Image: game over. */
-    private static final Image GAME_END_BAD =
-            new Image(Game.getAsset("ui_game_end_bad.png"));
+    private static final ImageHandle GAME_END_BAD =
+            ImageHandle.of("ui_game_end_bad.png");
     /** Image: game win. */
-    private static final Image GAME_END_GOOD =
-            new Image(Game.getAsset("ui_game_end_good.png"));
+    private static final ImageHandle GAME_END_GOOD =
+            ImageHandle.of("ui_game_end_good.png");
     /** Image: play another game standee. */
-    private static final Image STANDEE_PLAY =
-            new Image(Game.getAsset("ui_game_end_standee_play.png"));
+    private static final ImageHandle STANDEE_PLAY =
+            ImageHandle.of("ui_game_end_standee_play.png");
     /** Image: exit level scene standee. */
-    private static final Image STANDEE_EXIT =
-            new Image(Game.getAsset("ui_game_end_standee_exit.png"));
+    private static final ImageHandle STANDEE_EXIT =
+            ImageHandle.of("ui_game_end_standee_exit.png");
 
     /* HUD sizes and positions (except offsets) are in tiles. */
     /** Tuning: base HUD size. */
@@ -100,6 +102,9 @@ public final class StatusOverlay {
     private static final int TX_POWERUP_WHEEL = 16;
     /** TX: Snake Oil power-up icon. */
     private static final int TX_POWERUP_SNAKEOIL = 17;
+    /** Panel: base HUD background. */
+    private static final NineSlice HUD_BASE = NineSlice.horizontal(
+            UIUtils.TILE, TX_BASE_START, TX_BASE_MID, TX_BASE_END);
 
     /** Duration of HUD slide animation in milliseconds. */
     private static final long UI_SLIDE_INTERVAL =
@@ -206,9 +211,9 @@ public final class StatusOverlay {
 
     /**
      * Draws this overlay.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    public void draw(GraphicsContext gc) {
+    public void draw(Renderer gc) {
         gc.save();
         gc.setFont(UIUtils.FONT_32);
         gc.setFill(UIUtils.COLOR_PRIMARY);
@@ -235,9 +240,9 @@ public final class StatusOverlay {
 
     /**
      * Draws the HUD.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    private void drawHUD(GraphicsContext gc) {
+    private void drawHUD(Renderer gc) {
         this.drawHUDBase(gc);
 
         int powerupLampCount = level.getPowerupCount(LampPowerup.ID);
@@ -259,9 +264,9 @@ public final class StatusOverlay {
     /**
      * Draws the base HUD which contains the indicators for strength,
      * mob kill count, remaining level time, and score.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    private void drawHUDBase(GraphicsContext gc) {
+    private void drawHUDBase(Renderer gc) {
         int strength = level.getOutlaw().getStrength();
         int mobKillCount = level.getMobKillCount();
         String strengthText = Integer.toString(strength);
@@ -273,14 +278,8 @@ public final class StatusOverlay {
         }
 
         // Draw base HUD background.
-        int tileOffset = HUD_BASE_POS;
-        UIUtils.TILE.draw(gc, Tile.SIZE_MID, hudOffsetY, TX_BASE_START);
-        for (int i = 0; i < HUD_BASE_SIZE; i++) {
-            UIUtils.TILE.draw(gc, Tile.SIZE_MID * tileOffset++,
-                    hudOffsetY, TX_BASE_MID);
-        }
-        UIUtils.TILE.draw(gc, Tile.SIZE_MID * tileOffset++,
-                hudOffsetY, TX_BASE_END);
+        HUD_BASE.draw(gc, Tile.SIZE_MID * (HUD_BASE_POS - 1), hudOffsetY,
+                HUD_BASE_SIZE + 2, 1);
 
         // Base HUD: player strength.
         UIUtils.TILE.draw(gc, Tile.SIZE_MID * HUD_BASE_POS_HP,
@@ -319,14 +318,14 @@ public final class StatusOverlay {
 
     /**
      * Draws a part of the power-ups HUD.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      * @param tileOffset the tile index to start drawing.
      * @param iconIndex icon texture ID (constant).
      * @param value the number to be drawn beside the icon
      * @param powerupIndex the power-up ID (constant).
      * @return the updated tile offset as an integer.
      */
-    private int drawHUDPowerup(GraphicsContext gc,
+    private int drawHUDPowerup(Renderer gc,
             int tileOffset, int iconIndex, int value, int powerupIndex) {
         String valueText = Integer.toString(value);
         int startPartId = (powerupIndex == 0)
@@ -348,29 +347,29 @@ public final class StatusOverlay {
 
     /**
      * Draws game end overlay controls.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    private void drawGameEnd(GraphicsContext gc) {
+    private void drawGameEnd(Renderer gc) {
         UIUtils.drawMenuBackground(gc, Tile.ALL_VERTICAL / 3, 5);
 
         Image gameEndCenterImage = null;
         if (!level.getOutlaw().isAlive()) {
-            gameEndCenterImage = GAME_END_BAD;
+            gameEndCenterImage = GAME_END_BAD.get();
         } else {
-            gameEndCenterImage = GAME_END_GOOD;
+            gameEndCenterImage = GAME_END_GOOD.get();
         }
         gc.drawImage(
                 gameEndCenterImage,
                 (Game.WINDOW_MAX_WIDTH / 2) - gameEndCenterImage.getWidth() / 2,
                 (Game.WINDOW_MAX_HEIGHT / 2) - gameEndCenterImage.getHeight() / 2);
 
-        Image standeePlayImage = STANDEE_PLAY;
+        Image standeePlayImage = STANDEE_PLAY.get();
         gc.drawImage(
                 standeePlayImage,
                 (Game.WINDOW_MAX_WIDTH / 5) - standeePlayImage.getWidth() / 2,
                 (Game.WINDOW_MAX_HEIGHT / 2) - standeePlayImage.getHeight() / 2);
 
-        Image standeeExitImage = STANDEE_EXIT;
+        Image standeeExitImage = STANDEE_EXIT.get();
         gc.drawImage(
                 standeeExitImage,
                 (Game.WINDOW_MAX_WIDTH) - (Game.WINDOW_MAX_WIDTH / 5) - standeeExitImage.getWidth() / 2,
@@ -382,16 +381,16 @@ public final class StatusOverlay {
 
     /**
      * Draws paused game overlay controls.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    private void drawPaused(GraphicsContext gc) {
+    private void drawPaused(Renderer gc) {
         UIUtils.drawMenuBackground(gc, Tile.ALL_VERTICAL - 4, 1);
 
         gc.drawImage(
-                GAME_PAUSED,
+                GAME_PAUSED.get(),
                 Tile.SIZE_MID,
                 Game.WINDOW_MAX_HEIGHT
-                - GAME_PAUSED.getHeight()
+                - GAME_PAUSED.get().getHeight()
                 - (Tile.SIZE_MID * 2));
 
         resumeButton.draw(gc);
@@ -400,9 +399,9 @@ public final class StatusOverlay {
 
     /**
      * Draws high score player name input overlay controls.
-     * @param gc a GraphicsContext object.
+     * @param gc a Renderer object.
      */
-    private void drawNameInput(GraphicsContext gc) {
+    private void drawNameInput(Renderer gc) {
         UIUtils.drawMenuBackground(gc, (Tile.ALL_VERTICAL / 2), 1);
 
         goButton.draw(gc);
@@ -427,7 +426,7 @@ public final class StatusOverlay {
         exitButton.setClickAction(new Runnable() {
             @Override
             public void run() {
-                Game.setGameScene(new MainMenuScene());
+                Game.setGameScene(Scenes.mainMenu());
             }
         });
         resumeButton = new Button(0, 0, 3);
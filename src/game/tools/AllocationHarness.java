@@ -0,0 +1,162 @@
+package game.tools;
+
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import game.FrameProfiler;
+import game.Game;
+import game.entities.Outlaw;
+import game.scenes.LevelScene;
+import javafx.application.Platform;
+
+/**
+ * This class plays scripted levels without a window and measures the
+ * memory allocated by each steady-state frame, broken down by frame
+ * phase. A scenario fails if its frames allocate more than its budget
+ * on average, so new garbage in the frame loop is caught early.
+ * <p>
+ * Usage: {@code AllocationHarness [scenario...]}, where each scenario
+ * is one of the baselines ({@code easy}, {@code medium}, {@code hard},
+ * {@code boss}). All baselines are played if none is given. The process
+ * exits with status 1 if any scenario failed.
+ */
+public final class AllocationHarness {
+
+    /** The seed of every scenario, so runs are comparable. */
+    private static final long SEED = 42;
+    /** The simulated duration of each tick, matching the game timer. */
+    private static final long TICK_DURATION =
+            TimeUnit.SECONDS.toNanos(1) / 60;
+
+    /**
+     * The entry point of the harness.
+     * @param args the names of the scenarios to play (optional).
+     * @throws Exception if the harness was interrupted.
+     */
+    public static void main(String[] args) throws Exception {
+        // Images still need the toolkit, even if nothing is shown.
+        final CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+            }
+        });
+        started.await();
+
+        boolean passed = true;
+        try {
+            for (AllocationScenario scenario
+                    : AllocationScenario.getBaselines()) {
+                if (!isSelected(scenario, args)) {
+                    continue;
+                }
+                passed &= play(scenario);
+            }
+        } finally {
+            Platform.exit();
+        }
+        if (!passed) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Checks whether the given scenario was selected.
+     * @param scenario an AllocationScenario object.
+     * @param names the names of the selected scenarios, or none for all.
+     * @return a boolean.
+     */
+    private static boolean isSelected(AllocationScenario scenario,
+            String[] names) {
+        if (names.length == 0) {
+            return true;
+        }
+        for (String name : names) {
+            if (scenario.getName().equalsIgnoreCase(name)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Plays the given scenario on the calling thread and prints its
+     * results.
+     * @param scenario an AllocationScenario object.
+     * @return a boolean indicating if the scenario stayed within budget.
+     */
+    private static boolean play(AllocationScenario scenario) {
+        Game.RNG.setSeed(SEED);
+        LevelScene level = new LevelScene(scenario.getDifficulty());
+        OutlawController controller = new ScriptedController();
+        long warmupTicks = scenario.getWarmupTime() / TICK_DURATION;
+        long totalTicks = warmupTicks
+                + (scenario.getMeasuredTime() / TICK_DURATION);
+
+        FrameProfiler profiler = FrameProfiler.start();
+        long now = 0;
+        long tick = 0;
+        long measuredBytes = 0;
+        long maxFrameBytes = 0;
+        while (tick < totalTicks && !level.isLevelDone()) {
+            if (tick == warmupTicks) {
+                profiler.reset();
+            }
+            keepAlive(level.getOutlaw());
+            controller.update(level, tick);
+            now += TICK_DURATION;
+
+            long before = profiler.getAllocatedBytes();
+            level.update(now);
+            long frameBytes = profiler.getAllocatedBytes() - before;
+            if (tick >= warmupTicks) {
+                measuredBytes += frameBytes;
+                maxFrameBytes = Math.max(maxFrameBytes, frameBytes);
+            }
+            tick++;
+        }
+        FrameProfiler.stop();
+
+        long frames = tick - warmupTicks;
+        if (frames < totalTicks - warmupTicks) {
+            System.out.println(scenario.getName()
+                    + ": FAIL (the level ended after " + Math.max(frames, 0)
+                    + " of " + (totalTicks - warmupTicks)
+                    + " measured frames)");
+            return false;
+        }
+
+        long average = measuredBytes / frames;
+        StringBuilder phases = new StringBuilder();
+        long phaseTotal = 0;
+        for (int i = 0; i < FrameProfiler.TOTAL_PHASES; i++) {
+            long phaseBytes = profiler.getPhaseBytes(i);
+            phaseTotal += phaseBytes;
+            phases.append(String.format(Locale.ROOT, ", %s=%d",
+                    FrameProfiler.getPhaseName(i), phaseBytes / frames));
+        }
+        phases.append(String.format(Locale.ROOT, ", other=%d",
+                (measuredBytes - phaseTotal) / frames));
+
+        boolean passed = (average <= scenario.getBudget());
+        System.out.println(String.format(Locale.ROOT,
+                "%s: %s (%d frames, avg=%d B/frame, max=%d B, budget=%d B%s)",
+                scenario.getName(), passed ? "PASS" : "FAIL", frames,
+                average, maxFrameBytes, scenario.getBudget(), phases));
+        return passed;
+    }
+
+    /**
+     * Keeps the player character from dying, so the level doesn't end
+     * before all frames are measured.
+     * @param outlaw the player character.
+     */
+    private static void keepAlive(Outlaw outlaw) {
+        if (!outlaw.isImmortal()) {
+            outlaw.setImmortal(true);
+        }
+    }
+
+}
@@ -0,0 +1,120 @@
+package game.tools;
+
+import java.util.concurrent.TimeUnit;
+
+import game.scenes.LevelScene;
+
+/**
+ * This class describes a level played by the allocation harness: how
+ * long it is played before measuring, how long it is measured, and how
+ * many bytes each measured frame may allocate. The budget can be
+ * overridden through the {@code deadwood.alloc.budget.<name>} system
+ * property.
+ */
+public final class AllocationScenario {
+
+    /** The prefix of the system properties overriding budgets. */
+    public static final String PROPERTY_BUDGET_PREFIX =
+            "deadwood.alloc.budget.";
+
+    /** Default: simulated time before measuring. */
+    private static final long DEFAULT_WARMUP_TIME =
+            TimeUnit.SECONDS.toNanos(5);
+    /** Default: simulated time being measured. */
+    private static final long DEFAULT_MEASURED_TIME =
+            TimeUnit.SECONDS.toNanos(20);
+    /** Boss fight: simulated time before measuring, after the boss spawns. */
+    private static final long BOSS_WARMUP_TIME =
+            TimeUnit.SECONDS.toNanos(31);
+
+    /** Baseline scenarios. */
+    private static final AllocationScenario[] BASELINES = {
+            new AllocationScenario("easy", LevelScene.DIFFICULTY_EASY,
+                    DEFAULT_WARMUP_TIME, DEFAULT_MEASURED_TIME, 48 * 1024),
+            new AllocationScenario("medium", LevelScene.DIFFICULTY_MEDIUM,
+                    DEFAULT_WARMUP_TIME, DEFAULT_MEASURED_TIME, 64 * 1024),
+            new AllocationScenario("hard", LevelScene.DIFFICULTY_HARD,
+                    DEFAULT_WARMUP_TIME, DEFAULT_MEASURED_TIME, 96 * 1024),
+            new AllocationScenario("boss", LevelScene.DIFFICULTY_MEDIUM,
+                    BOSS_WARMUP_TIME, DEFAULT_MEASURED_TIME, 96 * 1024),
+    };
+
+    /** The scenario name. */
+    private final String name;
+    /** The level difficulty. */
+    private final int difficulty;
+    /** The simulated time before measuring, in nanoseconds. */
+    private final long warmupTime;
+    /** The simulated time being measured, in nanoseconds. */
+    private final long measuredTime;
+    /** The largest average number of bytes allocated per frame. */
+    private final long budget;
+
+    /**
+     * Constructs an instance of AllocationScenario.
+     * @param name the scenario name.
+     * @param difficulty the level difficulty.
+     * @param warmupTime the simulated time before measuring.
+     * @param measuredTime the simulated time being measured.
+     * @param defaultBudget the budget in bytes per frame, unless
+     *                      overridden by a system property.
+     */
+    public AllocationScenario(String name, int difficulty, long warmupTime,
+            long measuredTime, long defaultBudget) {
+        this.name = name;
+        this.difficulty = difficulty;
+        this.warmupTime = warmupTime;
+        this.measuredTime = measuredTime;
+        this.budget = Long.getLong(PROPERTY_BUDGET_PREFIX + name,
+                defaultBudget);
+    }
+
+    /**
+     * Retrieves the baseline scenarios.
+     * @return an array of AllocationScenario objects.
+     */
+    public static AllocationScenario[] getBaselines() {
+        return BASELINES.clone();
+    }
+
+    /**
+     * Retrieves the scenario name.
+     * @return a String object.
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Retrieves the level difficulty.
+     * @return an integer.
+     */
+    public int getDifficulty() {
+        return this.difficulty;
+    }
+
+    /**
+     * Retrieves the simulated time before measuring.
+     * @return a long containing the time in nanoseconds.
+     */
+    public long getWarmupTime() {
+        return this.warmupTime;
+    }
+
+    /**
+     * Retrieves the simulated time being measured.
+     * @return a long containing the time in nanoseconds.
+     */
+    public long getMeasuredTime() {
+        return this.measuredTime;
+    }
+
+    /**
+     * Retrieves the largest average number of bytes allocated per frame.
+     * @return a long.
+     */
+    public long getBudget() {
+        return this.budget;
+    }
+
+}
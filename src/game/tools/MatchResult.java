@@ -0,0 +1,100 @@
+package game.tools;
+
+import java.util.Locale;
+
+/**
+ * This class holds the outcome of a single simulated level.
+ */
+public final class MatchResult {
+
+    /** The CSV header matching {@link #toCsv()}. */
+    public static final String CSV_HEADER = "match,seed,difficulty,"
+            + "controller,score,kills,survived,survival_seconds,"
+            + "peak_entities,ticks,ticks_per_second";
+
+    /** The match number. */
+    private final int match;
+    /** The seed of the match. */
+    private final long seed;
+    /** The level difficulty. */
+    private final int difficulty;
+    /** The name of the controller playing the match. */
+    private final String controller;
+    /** The final score. */
+    private final int score;
+    /** The number of killed mobs. */
+    private final int kills;
+    /** Whether the player character was alive at the end. */
+    private final boolean survived;
+    /** The simulated time the player character stayed alive. */
+    private final long survivalTime;
+    /** The highest number of entities at once. */
+    private final int peakEntities;
+    /** The number of simulated ticks. */
+    private final long ticks;
+    /** The wall-clock time spent simulating, in nanoseconds. */
+    private final long wallTime;
+
+    /**
+     * Constructs an instance of MatchResult.
+     * @param match the match number.
+     * @param seed the seed of the match.
+     * @param difficulty the level difficulty.
+     * @param controller the name of the controller playing the match.
+     * @param score the final score.
+     * @param kills the number of killed mobs.
+     * @param survived whether the player character was alive at the end.
+     * @param survivalTime the simulated time the player character stayed
+     *                     alive, in nanoseconds.
+     * @param peakEntities the highest number of entities at once.
+     * @param ticks the number of simulated ticks.
+     * @param wallTime the wall-clock time spent simulating, in nanoseconds.
+     */
+    public MatchResult(int match, long seed, int difficulty,
+            String controller, int score, int kills, boolean survived,
+            long survivalTime, int peakEntities, long ticks, long wallTime) {
+        this.match = match;
+        this.seed = seed;
+        this.difficulty = difficulty;
+        this.controller = controller;
+        this.score = score;
+        this.kills = kills;
+        this.survived = survived;
+        this.survivalTime = survivalTime;
+        this.peakEntities = peakEntities;
+        this.ticks = ticks;
+        this.wallTime = wallTime;
+    }
+
+    /**
+     * Retrieves the number of simulated ticks.
+     * @return a long.
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * Retrieves the simulated ticks per second of wall-clock time.
+     * @return a double.
+     */
+    public double getTicksPerSecond() {
+        if (this.wallTime <= 0) {
+            return 0;
+        }
+        return this.ticks * 1e9 / this.wallTime;
+    }
+
+    /**
+     * Converts this result to a CSV line, without a line separator.
+     * @return a String object.
+     */
+    public String toCsv() {
+        return String.format(Locale.ROOT, "%d,%d,%d,%s,%d,%d,%b,%.3f,%d,%d,%.1f",
+                this.match, this.seed, this.difficulty, this.controller,
+                this.score, this.kills, this.survived,
+                this.survivalTime / 1e9, this.peakEntities, this.ticks,
+                this.getTicksPerSecond());
+    }
+
+}
@@ -0,0 +1,18 @@
+package game.tools;
+
+import game.scenes.LevelScene;
+
+/**
+ * This interface is implemented by classes which play a simulated level
+ * in place of the player, by pressing and releasing keys on each tick.
+ */
+public interface OutlawController {
+
+    /**
+     * Applies the input of a single tick, before the level is updated.
+     * @param level the simulated level.
+     * @param tick the number of the current tick, starting from 0.
+     */
+    void update(LevelScene level, long tick);
+
+}
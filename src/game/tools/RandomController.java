@@ -0,0 +1,74 @@
+package game.tools;
+
+import java.util.Random;
+
+import game.entities.Outlaw;
+import game.scenes.LevelScene;
+import javafx.scene.input.KeyCode;
+
+/**
+ * This class plays a simulated level by holding random directions for
+ * random durations and shooting at random.
+ */
+public final class RandomController implements OutlawController {
+
+    /** The keys which can be held for movement. */
+    private static final KeyCode[] MOVEMENT_KEYS = {
+        KeyCode.UP, KeyCode.DOWN, KeyCode.LEFT, KeyCode.RIGHT
+    };
+    /** Tuning: maximum number of ticks a direction is held. */
+    private static final int MAX_HOLD_TICKS = 60;
+    /** Tuning: chance of shooting on each tick. */
+    private static final double SHOOT_CHANCE = 0.1;
+
+    /** The random number generator deciding the input. */
+    private Random rng;
+    /** The keys currently held for movement. */
+    private boolean[] heldKeys;
+    /** The tick at which the held keys are changed. */
+    private long nextChangeTick;
+    /** Whether the shoot key is held. */
+    private boolean shooting;
+
+    /**
+     * Constructs an instance of RandomController.
+     * @param seed the seed of the input sequence.
+     */
+    public RandomController(long seed) {
+        this.rng = new Random(seed);
+        this.heldKeys = new boolean[MOVEMENT_KEYS.length];
+        this.nextChangeTick = 0;
+        this.shooting = false;
+    }
+
+    @Override
+    public void update(LevelScene level, long tick) {
+        Outlaw outlaw = level.getOutlaw();
+        // Release the shoot key on the tick after it was pressed.
+        if (this.shooting) {
+            outlaw.stopMoving(KeyCode.SPACE);
+            this.shooting = false;
+        } else if (this.rng.nextDouble() < SHOOT_CHANCE) {
+            outlaw.startMoving(KeyCode.SPACE);
+            this.shooting = true;
+        }
+
+        if (tick < this.nextChangeTick) {
+            return;
+        }
+        for (int i = 0; i < MOVEMENT_KEYS.length; i++) {
+            boolean held = this.rng.nextBoolean();
+            if (held == this.heldKeys[i]) {
+                continue;
+            }
+            if (held) {
+                outlaw.startMoving(MOVEMENT_KEYS[i]);
+            } else {
+                outlaw.stopMoving(MOVEMENT_KEYS[i]);
+            }
+            this.heldKeys[i] = held;
+        }
+        this.nextChangeTick = tick + 1 + this.rng.nextInt(MAX_HOLD_TICKS);
+    }
+
+}
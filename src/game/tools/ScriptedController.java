@@ -0,0 +1,69 @@
+package game.tools;
+
+import game.entities.Outlaw;
+import game.scenes.LevelScene;
+import javafx.scene.input.KeyCode;
+
+/**
+ * This class plays a simulated level with a fixed strategy: the player
+ * character sweeps up and down the world while shooting at a steady
+ * rate, which makes the results depend only on the level tuning.
+ */
+public final class ScriptedController implements OutlawController {
+
+    /** Tuning: number of ticks between shots. */
+    private static final int SHOOT_INTERVAL_TICKS = 10;
+    /** Tuning: distance kept from the top and bottom of the world. */
+    private static final int EDGE_MARGIN = 20;
+
+    /** Whether the player character is moving up. */
+    private boolean movingUp;
+    /** Whether the shoot key is held. */
+    private boolean shooting;
+    /** The y-coordinate of the player character on the previous tick. */
+    private int lastY;
+
+    /**
+     * Constructs an instance of ScriptedController.
+     */
+    public ScriptedController() {
+        this.movingUp = false;
+        this.shooting = false;
+        this.lastY = -1;
+    }
+
+    @Override
+    public void update(LevelScene level, long tick) {
+        Outlaw outlaw = level.getOutlaw();
+        if (tick == 0) {
+            outlaw.startMoving(KeyCode.DOWN);
+        }
+
+        // Turn around at the top and bottom of the world, or if
+        // something is in the way.
+        int worldHeight = level.getLevelMap().getWorldHeight();
+        boolean blocked = (outlaw.getY() == this.lastY);
+        this.lastY = outlaw.getY();
+        if (this.movingUp && (blocked
+                || outlaw.getBounds().getMinY() <= EDGE_MARGIN)) {
+            outlaw.stopMoving(KeyCode.UP);
+            outlaw.startMoving(KeyCode.DOWN);
+            this.movingUp = false;
+        } else if (!this.movingUp && (blocked
+                || outlaw.getBounds().getMaxY() >= worldHeight - EDGE_MARGIN)) {
+            outlaw.stopMoving(KeyCode.DOWN);
+            outlaw.startMoving(KeyCode.UP);
+            this.movingUp = true;
+        }
+
+        // Release the shoot key on the tick after it was pressed.
+        if (this.shooting) {
+            outlaw.stopMoving(KeyCode.SPACE);
+            this.shooting = false;
+        } else if (tick % SHOOT_INTERVAL_TICKS == 0) {
+            outlaw.startMoving(KeyCode.SPACE);
+            this.shooting = true;
+        }
+    }
+
+}
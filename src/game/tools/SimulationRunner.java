@@ -0,0 +1,200 @@
+package game.tools;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import game.Game;
+import game.scenes.LevelScene;
+import javafx.application.Platform;
+
+/**
+ * This class simulates many seeded levels without a window, spread
+ * across all processor cores, and writes the result of each level to
+ * CSV as soon as it finishes. It is used to study the level tuning and
+ * to track how fast the game logic runs.
+ * <p>
+ * Usage: {@code SimulationRunner [matches] [difficulty] [controller]
+ * [output] [threads] [seed]}, where the controller is either
+ * {@code random} or {@code scripted}, and the output is a file path or
+ * {@code -} for the standard output.
+ */
+public final class SimulationRunner {
+
+    /** Controller: random input. */
+    public static final String CONTROLLER_RANDOM = "random";
+    /** Controller: fixed strategy. */
+    public static final String CONTROLLER_SCRIPTED = "scripted";
+
+    /** Default number of simulated levels. */
+    private static final int DEFAULT_MATCHES = 1000;
+    /** Default seed of the first level; later levels add their number. */
+    private static final long DEFAULT_SEED = 42;
+    /** The simulated duration of each tick, matching the game timer. */
+    private static final long TICK_DURATION =
+            TimeUnit.SECONDS.toNanos(1) / 60;
+    /** The longest simulated time of a level before it is stopped. */
+    private static final long MAX_SIMULATED_TIME =
+            TimeUnit.MINUTES.toNanos(10);
+
+    /**
+     * The entry point of the runner.
+     * @param args the runner options (optional).
+     * @throws Exception if the runner was interrupted or couldn't write
+     *                   the results.
+     */
+    public static void main(String[] args) throws Exception {
+        int matches = (args.length > 0)
+                ? Integer.parseInt(args[0]) : DEFAULT_MATCHES;
+        int difficulty = (args.length > 1)
+                ? Integer.parseInt(args[1]) : LevelScene.DIFFICULTY_EASY;
+        String controller = (args.length > 2
+                && args[2].equals(CONTROLLER_SCRIPTED))
+                ? CONTROLLER_SCRIPTED : CONTROLLER_RANDOM;
+        String output = (args.length > 3) ? args[3] : "-";
+        int threads = (args.length > 4)
+                ? Integer.parseInt(args[4])
+                : Runtime.getRuntime().availableProcessors();
+        long seed = (args.length > 5)
+                ? Long.parseLong(args[5]) : DEFAULT_SEED;
+
+        // Images still need the toolkit, even if nothing is shown.
+        final CountDownLatch started = new CountDownLatch(1);
+        Platform.startup(new Runnable() {
+            @Override
+            public void run() {
+                started.countDown();
+            }
+        });
+        started.await();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads,
+                new ThreadFactory() {
+                    private final AtomicInteger count = new AtomicInteger();
+
+                    @Override
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r,
+                                "simulation-" + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        CompletionService<MatchResult> completion =
+                new ExecutorCompletionService<MatchResult>(executor);
+        long start = System.nanoTime();
+        for (int i = 0; i < matches; i++) {
+            final int match = i;
+            final long matchSeed = seed + i;
+            completion.submit(new Callable<MatchResult>() {
+                @Override
+                public MatchResult call() {
+                    return simulate(match, matchSeed, difficulty, controller);
+                }
+            });
+        }
+
+        boolean toFile = !output.equals("-");
+        long totalTicks = 0;
+        int completed = 0;
+        try (PrintWriter out = toFile
+                ? new PrintWriter(Files.newBufferedWriter(Path.of(output)))
+                : new PrintWriter(new OutputStreamWriter(System.out))) {
+            out.println(MatchResult.CSV_HEADER);
+            for (int i = 0; i < matches; i++) {
+                try {
+                    MatchResult result = completion.take().get();
+                    out.println(result.toCsv());
+                    totalTicks += result.getTicks();
+                    completed++;
+                } catch (ExecutionException e) {
+                    System.err.println("Failed to simulate a match.");
+                    if (Game.DEBUG_MODE) {
+                        e.printStackTrace();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Failed to write the simulation results.");
+            throw e;
+        } finally {
+            executor.shutdownNow();
+            Platform.exit();
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.err.println(String.format(Locale.ROOT,
+                "%d matches on %d threads in %.2f s: %.1f matches/s, "
+                + "%.0f ticks/s", completed, threads, seconds,
+                completed / seconds, totalTicks / seconds));
+    }
+
+    /**
+     * Simulates a single level on the calling thread.
+     * @param match the match number.
+     * @param seed the seed of the level and its controller.
+     * @param difficulty the level difficulty.
+     * @param controllerName the name of the controller playing the level.
+     * @return a MatchResult object.
+     */
+    private static MatchResult simulate(int match, long seed,
+            int difficulty, String controllerName) {
+        long start = System.nanoTime();
+        // The generator keeps a separate state for each thread.
+        Game.RNG.setSeed(seed);
+        OutlawController controller = createController(controllerName, seed);
+        LevelScene level = new LevelScene(difficulty);
+
+        long now = 0;
+        long tick = 0;
+        long survivalTime = -1;
+        int peakEntities = 0;
+        while (!level.isLevelDone() && now < MAX_SIMULATED_TIME) {
+            controller.update(level, tick);
+            now += TICK_DURATION;
+            level.update(now);
+            peakEntities = Math.max(peakEntities,
+                    level.getLevelMap().getEntities().size());
+            if (survivalTime < 0 && !level.getOutlaw().isAlive()) {
+                survivalTime = now;
+            }
+            tick++;
+        }
+        if (survivalTime < 0) {
+            survivalTime = now;
+        }
+
+        return new MatchResult(match, seed, difficulty, controllerName,
+                level.getScore(), level.getMobKillCount(),
+                level.getOutlaw().isAlive(), survivalTime, peakEntities,
+                tick, System.nanoTime() - start);
+    }
+
+    /**
+     * Creates the controller with the given name.
+     * @param name the controller name.
+     * @param seed the seed of the controller input.
+     * @return an OutlawController object.
+     */
+    private static OutlawController createController(String name,
+            long seed) {
+        if (CONTROLLER_SCRIPTED.equals(name)) {
+            return new ScriptedController();
+        }
+        return new RandomController(seed);
+    }
+
+}
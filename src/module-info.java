@@ -4,12 +4,17 @@ module FajardoProject {
     requires transitive javafx.controls;
     requires transitive javafx.graphics;
     requires transitive javafx.media;
+    requires java.management;
+    requires jdk.management;
+    requires jdk.httpserver;
 
     exports game;
     exports game.entities;
     exports game.entities.effects;
     exports game.entities.mobs;
     exports game.entities.powerups;
+    exports game.render;
     exports game.scenes;
+    exports game.tools;
 
 }
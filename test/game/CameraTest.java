@@ -0,0 +1,99 @@
+package game;
+
+import javafx.geometry.Rectangle2D;
+
+/**
+ * Checks how the camera scrolls over worlds of different sizes. No
+ * window is needed.
+ */
+public final class CameraTest {
+
+    /**
+     * Runs all tests.
+     * @param args unused.
+     */
+    public static void main(String[] args) {
+        testWindowSizedWorld();
+        testLargerWorld();
+        testVisibility();
+        System.out.println("CameraTest: PASS");
+    }
+
+    /**
+     * A world the size of the window never scrolls.
+     */
+    private static void testWindowSizedWorld() {
+        Camera camera = new Camera(Game.WINDOW_MAX_WIDTH,
+                Game.WINDOW_MAX_HEIGHT);
+        camera.moveTo(400, 300);
+        check(camera.getX() == 0 && camera.getY() == 0,
+                "window-sized world scrolled to " + position(camera));
+    }
+
+    /**
+     * A world larger than the window scrolls, but the viewport stays
+     * inside it.
+     */
+    private static void testLargerWorld() {
+        int worldWidth = Game.WINDOW_MAX_WIDTH * 2;
+        int worldHeight = Game.WINDOW_MAX_HEIGHT * 2;
+        Camera camera = new Camera(worldWidth, worldHeight);
+        check(camera.getViewportWidth() == Game.WINDOW_MAX_WIDTH
+                && camera.getViewportHeight() == Game.WINDOW_MAX_HEIGHT,
+                "viewport isn't window-sized");
+
+        camera.moveTo(300, 200);
+        check(camera.getX() == 300 && camera.getY() == 200,
+                "camera didn't scroll: " + position(camera));
+
+        camera.moveTo(-50, -50);
+        check(camera.getX() == 0 && camera.getY() == 0,
+                "camera left the top left of the world: "
+                + position(camera));
+
+        camera.moveTo(worldWidth, worldHeight);
+        check(camera.getX() == worldWidth - Game.WINDOW_MAX_WIDTH
+                && camera.getY() == worldHeight - Game.WINDOW_MAX_HEIGHT,
+                "camera left the bottom right of the world: "
+                + position(camera));
+    }
+
+    /**
+     * Areas are only visible within the viewport and its margin.
+     */
+    private static void testVisibility() {
+        Camera camera = new Camera(Game.WINDOW_MAX_WIDTH * 2,
+                Game.WINDOW_MAX_HEIGHT * 2);
+        camera.moveTo(Game.WINDOW_MAX_WIDTH, 0);
+        Rectangle2D origin = new Rectangle2D(0, 0, 32, 32);
+        check(!camera.isVisible(origin, 0),
+                "the origin is visible after scrolling away");
+        check(camera.isVisible(new Rectangle2D(
+                Game.WINDOW_MAX_WIDTH - 40, 0, 32, 32), 16),
+                "an area within the margin isn't visible");
+        check(camera.isVisible(new Rectangle2D(
+                Game.WINDOW_MAX_WIDTH + 100, 100, 32, 32), 0),
+                "an area inside the viewport isn't visible");
+    }
+
+    /**
+     * Formats the position of the camera.
+     * @param camera a Camera object.
+     * @return a String object.
+     */
+    private static String position(Camera camera) {
+        return camera.getX() + ", " + camera.getY();
+    }
+
+    /**
+     * Fails the test if the given condition doesn't hold.
+     * @param condition the condition.
+     * @param message the failure message.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+}
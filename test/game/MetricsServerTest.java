@@ -0,0 +1,119 @@
+package game;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+/**
+ * Scrapes the metrics server over the loopback interface and checks the
+ * response like a Prometheus collector would. No window is needed.
+ */
+public final class MetricsServerTest {
+
+    /**
+     * Runs all tests.
+     * @param args unused.
+     * @throws Exception if a test failed.
+     */
+    public static void main(String[] args) throws Exception {
+        MetricsServer server = new MetricsServer(0);
+        server.start();
+        try {
+            HttpClient client = HttpClient.newHttpClient();
+            URI uri = URI.create("http://127.0.0.1:" + server.getPort()
+                    + MetricsServer.PATH);
+            testScrape(client, uri);
+            testHead(client, uri);
+            testMethodNotAllowed(client, uri);
+        } finally {
+            server.stop();
+        }
+        System.out.println("MetricsServerTest: PASS");
+    }
+
+    /**
+     * A scrape returns every metric family in the Prometheus text format.
+     * @param client the HttpClient object.
+     * @param uri the metrics URI.
+     * @throws Exception if the request failed.
+     */
+    private static void testScrape(HttpClient client, URI uri)
+            throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(uri).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        check(response.statusCode() == 200,
+                "scrape status: " + response.statusCode());
+        String contentType = response.headers().firstValue("Content-Type")
+                .orElse("");
+        check(contentType.startsWith("text/plain; version=0.0.4"),
+                "scrape content type: " + contentType);
+
+        String body = response.body();
+        String[] families = {
+                "# TYPE deadwood_frames_rendered_total counter",
+                "# TYPE deadwood_frame_time_seconds histogram",
+                "deadwood_frame_time_seconds_bucket{le=\"+Inf\"} ",
+                "deadwood_frame_time_seconds_count ",
+                "# TYPE deadwood_entities gauge",
+                "# TYPE deadwood_action_timers gauge",
+                "# TYPE deadwood_audio_voices gauge",
+                "deadwood_heap_bytes{area=\"used\"} ",
+        };
+        for (String family : families) {
+            check(body.contains(family), "scrape is missing " + family
+                    + ":\n" + body);
+        }
+        check(body.endsWith("\n"), "scrape doesn't end with a newline");
+    }
+
+    /**
+     * A HEAD request has the headers of a scrape, but no body.
+     * @param client the HttpClient object.
+     * @param uri the metrics URI.
+     * @throws Exception if the request failed.
+     */
+    private static void testHead(HttpClient client, URI uri)
+            throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(uri)
+                        .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        check(response.statusCode() == 200,
+                "head status: " + response.statusCode());
+        check(response.body().isEmpty(), "head body: " + response.body());
+    }
+
+    /**
+     * Requests other than GET and HEAD are refused.
+     * @param client the HttpClient object.
+     * @param uri the metrics URI.
+     * @throws Exception if the request failed.
+     */
+    private static void testMethodNotAllowed(HttpClient client, URI uri)
+            throws Exception {
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(uri)
+                        .POST(HttpRequest.BodyPublishers.ofString("x"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        check(response.statusCode() == 405,
+                "post status: " + response.statusCode());
+        String allow = response.headers().firstValue("Allow").orElse("");
+        check(allow.equals("GET, HEAD"), "post allow header: " + allow);
+    }
+
+    /**
+     * Fails the test if the given condition doesn't hold.
+     * @param condition the condition.
+     * @param message the failure message.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+}
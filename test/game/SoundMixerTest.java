@@ -0,0 +1,91 @@
+package game;
+
+import java.util.concurrent.TimeUnit;
+
+import javafx.scene.media.AudioClip;
+
+/**
+ * Checks the decisions of the sound mixer. The clips are loaded, but
+ * never played, so no audio device is needed.
+ */
+public final class SoundMixerTest {
+
+    /**
+     * Runs all tests.
+     * @param args unused.
+     * @throws Exception if a test failed.
+     */
+    public static void main(String[] args) throws Exception {
+        AudioClip dead = loadClip("sfx_dead_mob.wav");
+        AudioClip powerUp = loadClip("sfx_powerup_collect.wav");
+        testFirstRequest(dead);
+        testCoalescing(dead, powerUp);
+        System.out.println("SoundMixerTest: PASS");
+    }
+
+    /**
+     * The first request of a clip is accepted, whatever the clock reads.
+     * @param clip an AudioClip object.
+     */
+    private static void testFirstRequest(AudioClip clip) {
+        long now = System.nanoTime();
+        check(new SoundMixer().accept(clip, SoundMixer.PRIORITY_NORMAL, now),
+                "first request was dropped at " + now);
+        check(new SoundMixer().accept(clip, SoundMixer.PRIORITY_NORMAL,
+                Long.MIN_VALUE), "first request was dropped at the minimum");
+        check(new SoundMixer().accept(clip, SoundMixer.PRIORITY_NORMAL,
+                Long.MAX_VALUE), "first request was dropped at the maximum");
+    }
+
+    /**
+     * Repeats of a clip within 40 ms are coalesced, but later repeats and
+     * other clips are not.
+     * @param clip an AudioClip object.
+     * @param other another AudioClip object.
+     */
+    private static void testCoalescing(AudioClip clip, AudioClip other) {
+        SoundMixer mixer = new SoundMixer();
+        long now = System.nanoTime();
+        check(mixer.accept(clip, SoundMixer.PRIORITY_NORMAL, now),
+                "first request was dropped");
+        check(!mixer.accept(clip, SoundMixer.PRIORITY_NORMAL,
+                now + millis(10)), "repeat within 10 ms wasn't coalesced");
+        check(!mixer.accept(clip, SoundMixer.PRIORITY_HIGH,
+                now + millis(39)), "repeat within 39 ms wasn't coalesced");
+        check(mixer.accept(other, SoundMixer.PRIORITY_NORMAL,
+                now + millis(10)), "another clip was coalesced");
+        check(mixer.accept(clip, SoundMixer.PRIORITY_NORMAL,
+                now + millis(50)), "repeat after 50 ms was dropped");
+    }
+
+    /**
+     * Loads a sound effect from the game assets.
+     * @param name the file name.
+     * @return an AudioClip object.
+     */
+    private static AudioClip loadClip(String name) {
+        return new AudioClip(SoundMixerTest.class
+                .getResource("assets/" + name).toExternalForm());
+    }
+
+    /**
+     * Converts milliseconds to nanoseconds.
+     * @param millis the duration in milliseconds.
+     * @return a long.
+     */
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+
+    /**
+     * Fails the test if the given condition doesn't hold.
+     * @param condition the condition.
+     * @param message the failure message.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+}
@@ -0,0 +1,195 @@
+package game.render;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import game.UIUtils;
+import javafx.application.Platform;
+import javafx.scene.paint.Color;
+
+/**
+ * Checks the draw streams captured by the recording renderer against
+ * known command lists. These tests need no window; the menu background
+ * test only needs the JavaFX toolkit, and is skipped where it can't be
+ * started.
+ */
+public final class RecordingRendererTest {
+
+    /**
+     * Runs all tests.
+     * @param args unused.
+     * @throws Exception if a test failed.
+     */
+    public static void main(String[] args) throws Exception {
+        testCapturedStream();
+        testDelegateStream();
+        testUncapturedFrames();
+        testCaptureStartedMidFrame();
+        testMenuBackgroundStream();
+        System.out.println("RecordingRendererTest: PASS");
+    }
+
+    /**
+     * The operations of a frame are captured in order, with their
+     * arguments.
+     */
+    private static void testCapturedStream() {
+        RecordingRenderer renderer = new RecordingRenderer();
+        renderer.setCapturing(true);
+        renderer.beginFrame();
+        drawShade(renderer);
+        renderer.endFrame();
+
+        check(renderer.getLastFrameCommands().equals(Arrays.asList(
+                "save",
+                "setGlobalAlpha 0.5",
+                "setFill 0x000000ff",
+                "fillRect 0.0, 0.0, 800.0, 600.0",
+                "restore")),
+                "captured stream: " + renderer.getLastFrameCommands());
+        RenderStats stats = renderer.getLastFrameStats();
+        check(stats.getSaves() == 1 && stats.getRestores() == 1,
+                "save/restore counts: " + stats);
+        check(stats.getFillCalls() == 1, "fill count: " + stats);
+        check(stats.getAlphaChanges() == 1, "alpha count: " + stats);
+        check(renderer.getFrameCount() == 1,
+                "frame count: " + renderer.getFrameCount());
+    }
+
+    /**
+     * A recording renderer passes the same stream on to its delegate.
+     */
+    private static void testDelegateStream() {
+        RecordingRenderer delegate = new RecordingRenderer();
+        delegate.setCapturing(true);
+        RecordingRenderer renderer = new RecordingRenderer(delegate);
+        renderer.setCapturing(true);
+        renderer.beginFrame();
+        drawShade(renderer);
+        renderer.translate(-16, 8);
+        renderer.clip(0, 0, 32, 32);
+        renderer.endFrame();
+
+        List<String> commands = renderer.getLastFrameCommands();
+        check(commands.size() == 7, "stream size: " + commands);
+        check(commands.get(5).equals("translate -16.0, 8.0"),
+                "translate: " + commands.get(5));
+        check(commands.get(6).equals("clip 0.0, 0.0, 32.0, 32.0"),
+                "clip: " + commands.get(6));
+        check(commands.equals(delegate.getLastFrameCommands()),
+                "delegate stream: " + delegate.getLastFrameCommands());
+    }
+
+    /**
+     * Frames which aren't captured are still counted, but share one
+     * empty command list.
+     */
+    private static void testUncapturedFrames() {
+        RecordingRenderer renderer = new RecordingRenderer();
+        renderer.beginFrame();
+        drawShade(renderer);
+        renderer.endFrame();
+        List<String> first = renderer.getLastFrameCommands();
+        renderer.beginFrame();
+        drawShade(renderer);
+        renderer.endFrame();
+
+        check(first.isEmpty(), "uncaptured stream: " + first);
+        check(first == renderer.getLastFrameCommands(),
+                "uncaptured frames allocated a command list");
+        check(renderer.getLastFrameStats().getFillCalls() == 1,
+                "uncaptured fill count: " + renderer.getLastFrameStats());
+    }
+
+    /**
+     * Capturing may be enabled in the middle of a frame.
+     */
+    private static void testCaptureStartedMidFrame() {
+        RecordingRenderer renderer = new RecordingRenderer();
+        renderer.beginFrame();
+        renderer.save();
+        renderer.setCapturing(true);
+        renderer.restore();
+        renderer.endFrame();
+
+        check(renderer.getLastFrameCommands().equals(
+                Arrays.asList("restore")),
+                "mid-frame stream: " + renderer.getLastFrameCommands());
+    }
+
+    /**
+     * A menu background is drawn as a single composed panel, or as the
+     * part of it overlapping the damaged region.
+     * @throws InterruptedException if the toolkit startup was interrupted.
+     */
+    private static void testMenuBackgroundStream()
+            throws InterruptedException {
+        if (!startToolkit()) {
+            System.out.println("RecordingRendererTest: menu background"
+                    + " skipped (no JavaFX toolkit)");
+            return;
+        }
+        try {
+            RecordingRenderer renderer = new RecordingRenderer();
+            renderer.setCapturing(true);
+            renderer.beginFrame();
+            UIUtils.drawMenuBackground(renderer, 2, 3);
+            renderer.endFrame();
+            check(renderer.getLastFrameCommands().equals(
+                    Arrays.asList("drawImage image, 0.0, 64.0")),
+                    "menu background: " + renderer.getLastFrameCommands());
+            check(renderer.getLastFrameStats().getDrawCalls() == 1,
+                    "menu background draw calls: "
+                    + renderer.getLastFrameStats());
+        } finally {
+            Platform.exit();
+        }
+    }
+
+    /**
+     * Draws a shade like {@link UIUtils#drawShade}, without needing the
+     * fonts and images that UIUtils loads.
+     * @param renderer a Renderer object.
+     */
+    private static void drawShade(Renderer renderer) {
+        renderer.save();
+        renderer.setGlobalAlpha(0.5);
+        renderer.setFill(Color.BLACK);
+        renderer.fillRect(0, 0, 800, 600);
+        renderer.restore();
+    }
+
+    /**
+     * Starts the JavaFX toolkit, which is needed to load images.
+     * @return a boolean indicating if the toolkit was started.
+     * @throws InterruptedException if the startup was interrupted.
+     */
+    private static boolean startToolkit() throws InterruptedException {
+        final CountDownLatch started = new CountDownLatch(1);
+        try {
+            Platform.startup(new Runnable() {
+                @Override
+                public void run() {
+                    started.countDown();
+                }
+            });
+        } catch (RuntimeException | LinkageError e) {
+            return false;
+        }
+        return started.await(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Fails the test if the given condition doesn't hold.
+     * @param condition the condition.
+     * @param message the failure message.
+     */
+    private static void check(boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(message);
+        }
+    }
+
+}